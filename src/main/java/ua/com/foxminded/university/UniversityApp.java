@@ -4,12 +4,14 @@ import java.util.List;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import ua.com.foxminded.university.view.controllers.resolvers.LectureArgumentResolver;
 
 @SpringBootApplication
+@EnableScheduling
 public class UniversityApp implements WebMvcConfigurer {
 
 	public static void main(String[] args) {
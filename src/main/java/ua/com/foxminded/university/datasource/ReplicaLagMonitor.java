@@ -0,0 +1,79 @@
+package ua.com.foxminded.university.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Only the thread finding the last answer outdated asks the replica; others keep that answer.
+ */
+public class ReplicaLagMonitor {
+
+	private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+	static final String LAG_QUERY = "select case when not pg_is_in_recovery() "
+			+ "or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+			+ "else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+
+	private final DataSource replica;
+	private final Duration maxLag;
+	private final long checkIntervalMillis;
+	private final Clock clock;
+
+	private final AtomicLong nextCheck = new AtomicLong(Long.MIN_VALUE);
+	private volatile boolean usable = true;
+
+	public ReplicaLagMonitor(DataSource replica, Duration maxLag, Duration checkInterval) {
+		this(replica, maxLag, checkInterval, Clock.systemUTC());
+	}
+
+	ReplicaLagMonitor(DataSource replica, Duration maxLag, Duration checkInterval, Clock clock) {
+		this.replica = replica;
+		this.maxLag = maxLag;
+		this.checkIntervalMillis = checkInterval.toMillis();
+		this.clock = clock;
+	}
+
+	public boolean isReplicaUsable() {
+		long now = clock.millis();
+		long scheduled = nextCheck.get();
+		if(now >= scheduled && nextCheck.compareAndSet(scheduled, now + checkIntervalMillis)) {
+			usable = check();
+		}
+		return usable;
+	}
+
+	public void markUnavailable() {
+		usable = false;
+		nextCheck.set(clock.millis() + checkIntervalMillis);
+	}
+
+	private boolean check() {
+		try(Connection connection = replica.getConnection();
+				Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+			resultSet.next();
+			double lagSeconds = resultSet.getDouble(1);
+			if(lagSeconds * 1000 > maxLag.toMillis()) {
+				log.warn("replica lags behind by [{}] s, reading from primary", lagSeconds);
+				return false;
+			}
+			if(!usable) {
+				log.info("replica caught up, lag [{}] s", lagSeconds);
+			}
+			return true;
+		} catch(SQLException e) {
+			log.warn("failed to check replica lag, reading from primary: {}", e.getMessage());
+			return false;
+		}
+	}
+}
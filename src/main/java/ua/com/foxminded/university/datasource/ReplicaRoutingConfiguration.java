@@ -0,0 +1,59 @@
+package ua.com.foxminded.university.datasource;
+
+import java.sql.Connection;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Pools are injected lazily, as the data source initializer looks up the primary early.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "university.datasource.replica", name = "url")
+public class ReplicaRoutingConfiguration {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.tomcat")
+	public org.apache.tomcat.jdbc.pool.DataSource primaryDataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder()
+				.type(org.apache.tomcat.jdbc.pool.DataSource.class)
+				.build();
+	}
+
+	@Bean
+	@ConfigurationProperties("university.datasource.replica")
+	public org.apache.tomcat.jdbc.pool.DataSource replicaDataSource() {
+		return DataSourceBuilder.create()
+				.type(org.apache.tomcat.jdbc.pool.DataSource.class)
+				.build();
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(@Lazy @Qualifier("primaryDataSource") DataSource primary,
+			@Lazy @Qualifier("replicaDataSource") DataSource replica,
+			@Value("${university.datasource.routing.max-lag:5s}") Duration maxLag,
+			@Value("${university.datasource.routing.lag-check-interval:1s}") Duration checkInterval,
+			@Value("${university.datasource.routing.fallback-to-primary:true}") boolean fallbackToPrimary) {
+		ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replica, maxLag, checkInterval);
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+		dataSource.setTargetDataSource(
+				new ReplicaRoutingDataSource(primary, replica, lagMonitor, fallbackToPrimary));
+		dataSource.setDefaultAutoCommit(true);
+		dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+		dataSource.afterPropertiesSet();
+		return dataSource;
+	}
+}
@@ -0,0 +1,59 @@
+package ua.com.foxminded.university.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Must sit behind a lazy connection proxy, as the read-only flag is bound after begin.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+	private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+	private final DataSource primary;
+	private final DataSource replica;
+	private final ReplicaLagMonitor lagMonitor;
+	private final boolean fallbackToPrimary;
+
+	public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+			boolean fallbackToPrimary) {
+		this.primary = primary;
+		this.replica = replica;
+		this.lagMonitor = lagMonitor;
+		this.fallbackToPrimary = fallbackToPrimary;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		if(!routesToReplica()) {
+			return primary.getConnection();
+		}
+		try {
+			return replica.getConnection();
+		} catch(SQLException e) {
+			if(!fallbackToPrimary) {
+				throw e;
+			}
+			log.warn("failed to connect to replica, reading from primary: {}", e.getMessage());
+			lagMonitor.markUnavailable();
+			return primary.getConnection();
+		}
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return primary.getConnection(username, password);
+	}
+
+	private boolean routesToReplica() {
+		return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+				&& (!fallbackToPrimary || lagMonitor.isReplicaUsable());
+	}
+}
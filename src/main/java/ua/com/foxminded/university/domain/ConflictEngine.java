@@ -0,0 +1,130 @@
+package ua.com.foxminded.university.domain;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import ua.com.foxminded.university.domain.entities.Lecture;
+
+public class ConflictEngine {
+
+	private final Map<Integer, LectureIntervalTree> memberIntervals = new HashMap<>();
+	private final StudentOccupancy studentOccupancy = new StudentOccupancy();
+
+
+	public void register(Lecture lecture) {
+		if(isRegistrable(lecture)) {
+			for(Integer memberId : getMemberIds(lecture)) {
+				memberIntervals.computeIfAbsent(memberId,
+						id -> new LectureIntervalTree()).add(lecture);
+			}
+			
+			for(Integer studentId : getStudentIds(lecture)) {
+				studentOccupancy.occupy(studentId, lecture.getDate(), lecture.getEndDate());
+			}
+		}
+	}
+
+
+	public void unregister(Lecture lecture) {
+		if(isRegistrable(lecture)) {
+			for(Integer memberId : getMemberIds(lecture)) {
+				LectureIntervalTree intervals = memberIntervals.get(memberId);
+
+				if(intervals != null && intervals.remove(lecture) && intervals.isEmpty()) {
+					memberIntervals.remove(memberId);
+				}
+			}
+			
+			for(Integer studentId : getStudentIds(lecture)) {
+				releaseOccupancy(studentId, lecture);
+			}
+		}
+	}
+	
+	
+	private void releaseOccupancy(int studentId, Lecture lecture) {
+		LocalDateTime from = StudentOccupancy.slotStart(lecture.getDate());
+		LocalDateTime to = StudentOccupancy.slotEnd(lecture.getEndDate());
+		
+		studentOccupancy.release(studentId, lecture.getDate(), lecture.getEndDate(),
+				findMemberLectures(studentId, from, to));
+	}
+
+
+	public List<Lecture> findMemberLectures(
+			int memberId, LocalDateTime from, LocalDateTime to) {
+		LectureIntervalTree intervals = memberIntervals.get(memberId);
+
+		if(intervals == null || !from.isBefore(to)) {
+			return Collections.emptyList();
+		}
+		return intervals.findOverlapping(from, to);
+	}
+
+
+	public List<Lecture> findTeacherConflicts(Lecture lecture) {
+		return findMemberLectures(
+				lecture.getTeacher().getMemberId(), lecture.getDate(), lecture.getEndDate());
+	}
+
+
+	public List<Lecture> findStudentConflicts(
+			Collection<Integer> studentIds, LocalDateTime from, LocalDateTime to) {
+		Set<Lecture> conflicts = new LinkedHashSet<>();
+
+		for(Integer studentId : studentIds) {
+			if(studentOccupancy.isOccupied(studentId, from, to)) {
+				conflicts.addAll(findMemberLectures(studentId, from, to));
+			}
+		}
+		return new LinkedList<>(conflicts);
+	}
+	
+	
+	public List<Lecture> findStudentConflicts(Lecture lecture) {
+		return findStudentConflicts(
+				getStudentIds(lecture), lecture.getDate(), lecture.getEndDate());
+	}
+
+
+	public List<Lecture> findConflicts(Lecture lecture) {
+		Set<Lecture> conflicts = new LinkedHashSet<>();
+
+		for(Integer memberId : getMemberIds(lecture)) {
+			conflicts.addAll(
+					findMemberLectures(memberId, lecture.getDate(), lecture.getEndDate()));
+		}
+		return new LinkedList<>(conflicts);
+	}
+
+
+	private boolean isRegistrable(Lecture lecture) {
+		return lecture.getDate() != null;
+	}
+
+
+	private Set<Integer> getStudentIds(Lecture lecture) {
+		Set<Integer> studentIds = new LinkedHashSet<>();
+		lecture.getStudents().forEach(student -> studentIds.add(student.getMemberId()));
+		return studentIds;
+	}
+	
+	
+	private Set<Integer> getMemberIds(Lecture lecture) {
+		Set<Integer> memberIds = new LinkedHashSet<>();
+
+		if(lecture.getTeacher() != null) {
+			memberIds.add(lecture.getTeacher().getMemberId());
+		}
+		memberIds.addAll(getStudentIds(lecture));
+
+		return memberIds;
+	}
+}
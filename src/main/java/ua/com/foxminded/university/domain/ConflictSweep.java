@@ -0,0 +1,128 @@
+package ua.com.foxminded.university.domain;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import ua.com.foxminded.university.domain.entities.Lecture;
+import ua.com.foxminded.university.domain.entities.Member;
+
+/**
+ * Finds every teacher and student clash of a schedule in one pass.
+ * Lectures are sorted by start once, split into per-member buckets that
+ * keep that order, and each bucket is swept keeping the latest end seen:
+ * a lecture starting before it joins the current conflict group.
+ * Large schedules are sorted and swept on the common fork-join pool.
+ */
+public class ConflictSweep {
+	
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+	
+	private static final Comparator<Lecture> BY_START = 
+			Comparator.comparing(Lecture::getDate);
+	private static final Comparator<ScheduleConflict> BY_FIRST_LECTURE = 
+			Comparator.comparing((ScheduleConflict c) -> c.getLectures().get(0).getDate())
+				.thenComparingInt(c -> c.getMember().getMemberId());
+	
+	private final int parallelThreshold;
+
+	public ConflictSweep() {
+		this(DEFAULT_PARALLEL_THRESHOLD);
+	}
+	
+	public ConflictSweep(int parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+	}
+	
+	public List<ScheduleConflict> findConflicts(Collection<Lecture> lectures) {
+		Lecture[] sorted = lectures.stream()
+				.filter(lecture -> lecture.getDate() != null)
+				.toArray(Lecture[]::new);
+		boolean parallel = sorted.length >= parallelThreshold;
+		
+		if(parallel) {
+			Arrays.parallelSort(sorted, BY_START);
+		} else {
+			Arrays.sort(sorted, BY_START);
+		}
+		
+		Map<Integer, MemberBucket> buckets = bucketByMember(sorted);
+		Stream<MemberBucket> bucketStream = parallel ? 
+				buckets.values().parallelStream() : buckets.values().stream();
+		
+		return bucketStream
+				.flatMap(bucket -> sweep(bucket).stream())
+				.sorted(BY_FIRST_LECTURE)
+				.collect(Collectors.toList());
+	}
+	
+	private Map<Integer, MemberBucket> bucketByMember(Lecture[] sortedLectures) {
+		Map<Integer, MemberBucket> buckets = new LinkedHashMap<>();
+		
+		for(Lecture lecture : sortedLectures) {
+			if(lecture.getTeacher() != null) {
+				addToBucket(buckets, lecture.getTeacher(), lecture);
+			}
+			for(Member student : lecture.getStudents()) {
+				addToBucket(buckets, student, lecture);
+			}
+		}
+		return buckets;
+	}
+	
+	private void addToBucket(Map<Integer, MemberBucket> buckets, Member member, Lecture lecture) {
+		List<Lecture> bucketLectures = buckets.computeIfAbsent(
+				member.getMemberId(), id -> new MemberBucket(member)).lectures;
+		
+		if(bucketLectures.isEmpty() || bucketLectures.get(bucketLectures.size() - 1) != lecture) {
+			bucketLectures.add(lecture);
+		}
+	}
+	
+	private List<ScheduleConflict> sweep(MemberBucket bucket) {
+		List<ScheduleConflict> conflicts = new ArrayList<>();
+		List<Lecture> group = new ArrayList<>();
+		LocalDateTime groupEnd = null;
+		
+		for(Lecture lecture : bucket.lectures) {
+			if(groupEnd != null && lecture.getDate().isBefore(groupEnd)) {
+				group.add(lecture);
+				if(lecture.getEndDate().isAfter(groupEnd)) {
+					groupEnd = lecture.getEndDate();
+				}
+			} else {
+				closeGroup(bucket.member, group, conflicts);
+				group = new ArrayList<>();
+				group.add(lecture);
+				groupEnd = lecture.getEndDate();
+			}
+		}
+		closeGroup(bucket.member, group, conflicts);
+		
+		return conflicts;
+	}
+	
+	private void closeGroup(Member member, List<Lecture> group, List<ScheduleConflict> conflicts) {
+		if(group.size() > 1) {
+			conflicts.add(new ScheduleConflict(member, group));
+		}
+	}
+	
+	
+	private static final class MemberBucket {
+		
+		private final Member member;
+		private final List<Lecture> lectures = new ArrayList<>();
+		
+		private MemberBucket(Member member) {
+			this.member = member;
+		}
+	}
+}
@@ -0,0 +1,197 @@
+package ua.com.foxminded.university.domain;
+
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import ua.com.foxminded.university.domain.entities.Lecture;
+
+/**
+ * Treap of lectures by start, augmented with the latest end of each subtree.
+ */
+public class LectureIntervalTree {
+
+	private final Random priorities = new Random();
+	private final Map<Lecture, Node> nodes = new IdentityHashMap<>();
+	private Node root;
+	private int size;
+
+
+	public void add(Lecture lecture) {
+		Node node = new Node(lecture, priorities.nextInt());
+		root = insert(root, node);
+		nodes.put(lecture, node);
+		size++;
+	}
+
+
+	public boolean remove(Lecture lecture) {
+		Node stored = nodes.get(lecture);
+		int initialSize = size;
+
+		if(stored != null) {
+			root = delete(root, stored.start, node -> node == stored);
+		} else if(lecture.getDate() != null) {
+			root = delete(root, lecture.getDate(), node -> node.lecture.equals(lecture));
+		}
+		return size < initialSize;
+	}
+
+
+	public List<Lecture> findOverlapping(LocalDateTime from, LocalDateTime to) {
+		List<Lecture> result = new LinkedList<>();
+		collectOverlapping(root, from, to, result);
+		return result;
+	}
+
+
+	public int size() {
+		return size;
+	}
+
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+
+	private Node insert(Node node, Node newNode) {
+		if(node == null) {
+			return newNode;
+		}
+
+		if(newNode.start.isBefore(node.start)) {
+			node.left = insert(node.left, newNode);
+			if(node.left.priority > node.priority) {
+				node = rotateRight(node);
+			}
+		} else {
+			node.right = insert(node.right, newNode);
+			if(node.right.priority > node.priority) {
+				node = rotateLeft(node);
+			}
+		}
+
+		node.update();
+		return node;
+	}
+
+
+	private Node delete(Node node, LocalDateTime start, Predicate<Node> target) {
+		if(node == null) {
+			return null;
+		}
+
+		int comparison = start.compareTo(node.start);
+
+		if(comparison < 0) {
+			node.left = delete(node.left, start, target);
+		} else if(comparison > 0) {
+			node.right = delete(node.right, start, target);
+		} else if(target.test(node)) {
+			nodes.remove(node.lecture, node);
+			size--;
+			return merge(node.left, node.right);
+		} else {
+			int initialSize = size;
+			node.left = delete(node.left, start, target);
+			if(size == initialSize) {
+				node.right = delete(node.right, start, target);
+			}
+		}
+
+		node.update();
+		return node;
+	}
+
+
+	private Node merge(Node left, Node right) {
+		if(left == null) {
+			return right;
+		}
+		if(right == null) {
+			return left;
+		}
+
+		if(left.priority > right.priority) {
+			left.right = merge(left.right, right);
+			left.update();
+			return left;
+		}
+
+		right.left = merge(left, right.left);
+		right.update();
+		return right;
+	}
+
+
+	private void collectOverlapping(Node node, LocalDateTime from, LocalDateTime to,
+			List<Lecture> result) {
+		if(node == null || !node.maxEnd.isAfter(from)) {
+			return;
+		}
+
+		collectOverlapping(node.left, from, to, result);
+
+		if(node.start.isBefore(to)) {
+			if(node.end.isAfter(from)) {
+				result.add(node.lecture);
+			}
+			collectOverlapping(node.right, from, to, result);
+		}
+	}
+
+
+	private Node rotateRight(Node node) {
+		Node pivot = node.left;
+		node.left = pivot.right;
+		pivot.right = node;
+		node.update();
+		pivot.update();
+		return pivot;
+	}
+
+
+	private Node rotateLeft(Node node) {
+		Node pivot = node.right;
+		node.right = pivot.left;
+		pivot.left = node;
+		node.update();
+		pivot.update();
+		return pivot;
+	}
+
+
+	private static final class Node {
+
+		private final Lecture lecture;
+		private final LocalDateTime start;
+		private final LocalDateTime end;
+		private final int priority;
+		private LocalDateTime maxEnd;
+		private Node left;
+		private Node right;
+
+		private Node(Lecture lecture, int priority) {
+			this.lecture = lecture;
+			this.start = lecture.getDate();
+			this.end = lecture.getEndDate();
+			this.priority = priority;
+			this.maxEnd = end;
+		}
+
+		private void update() {
+			maxEnd = end;
+			if(left != null && left.maxEnd.isAfter(maxEnd)) {
+				maxEnd = left.maxEnd;
+			}
+			if(right != null && right.maxEnd.isAfter(maxEnd)) {
+				maxEnd = right.maxEnd;
+			}
+		}
+	}
+}
@@ -1,32 +1,96 @@
 package ua.com.foxminded.university.domain;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 import ua.com.foxminded.university.domain.entities.Lecture;
+import ua.com.foxminded.university.domain.entities.Member;
 
 public class LectureSchedule {
 	
 	private List<Lecture> lectures;
+	private NavigableMap<LocalDateTime, List<Lecture>> calendar;
+	private ConflictEngine conflictEngine;
 
 	public LectureSchedule() {
 		lectures = new LinkedList<>();
+		calendar = new TreeMap<>();
+		conflictEngine = new ConflictEngine();
 	}
 	
 	public LectureSchedule (List<Lecture> lectures) {
-		this.lectures = new LinkedList<>(lectures);
+		this();
+		lectures.forEach(this::addLecture);
 	}
 	
 	public void addLecture(Lecture lecture) {
 		lectures.add(lecture);
+		
+		if(lecture.getDate() != null) {
+			calendar.computeIfAbsent(lecture.getDate(), 
+					date -> new LinkedList<>()).add(lecture);
+		}
+		
+		conflictEngine.register(lecture);
 	}
 	
 	public void removeLecture(Lecture lecture) {
-		lectures.remove(lecture);
+		if(!lectures.remove(lecture)) {
+			return;
+		}
+		
+		if(lecture.getDate() != null) {
+			removeIndexEntry(calendar, lecture.getDate(), lecture);
+		}
+		
+		conflictEngine.unregister(lecture);
+	}
+	
+	private <K> void removeIndexEntry(Map<K, List<Lecture>> index, K key, Lecture lecture) {
+		List<Lecture> indexedLectures = index.get(key);
+		indexedLectures.remove(lecture);
+		
+		if(indexedLectures.isEmpty()) {
+			index.remove(key);
+		}
+	}
+	
+	public List<Lecture> between(LocalDateTime from, LocalDateTime to) {
+		List<Lecture> result = new LinkedList<>();
+		
+		if(from.isBefore(to)) {
+			calendar.subMap(from, true, to, false).values().forEach(result::addAll);
+		}
+		return result;
+	}
+	
+	public List<Lecture> between(Member member, LocalDateTime from, LocalDateTime to) {
+		return conflictEngine.findMemberLectures(member.getMemberId(), from, to)
+				.stream()
+				.filter(lecture -> !lecture.getDate().isBefore(from))
+				.collect(Collectors.toList());
+	}
+	
+	public List<Lecture> findTeacherConflicts(Lecture lecture) {
+		return conflictEngine.findTeacherConflicts(lecture);
+	}
+	
+	public List<Lecture> findStudentConflicts(Lecture lecture) {
+		return conflictEngine.findStudentConflicts(lecture);
+	}
+	
+	public List<Lecture> findConflicts(Lecture lecture) {
+		return conflictEngine.findConflicts(lecture);
 	}
 	
 	public List<Lecture> getLectures() {
-		return this.lectures;
+		return Collections.unmodifiableList(this.lectures);
 	}
 	
 	public boolean contains(Lecture lecture) {
@@ -64,6 +128,5 @@ public class LectureSchedule {
 			return false;
 		return true;
 	}
-	
-	
+
 }
@@ -0,0 +1,71 @@
+package ua.com.foxminded.university.domain;
+
+import java.util.Collections;
+import java.util.List;
+
+import ua.com.foxminded.university.domain.entities.Lecture;
+import ua.com.foxminded.university.domain.entities.Member;
+
+/**
+ * Group of lectures booked for the same member whose time spans chain
+ * into one another, ordered by start.
+ */
+public class ScheduleConflict {
+	
+	private final Member member;
+	private final List<Lecture> lectures;
+
+	public ScheduleConflict(Member member, List<Lecture> lectures) {
+		this.member = member;
+		this.lectures = Collections.unmodifiableList(lectures);
+	}
+
+	public Member getMember() {
+		return member;
+	}
+
+	public List<Lecture> getLectures() {
+		return lectures;
+	}
+	
+	public boolean isTeacherConflict() {
+		return lectures.stream().anyMatch(lecture -> lecture.getTeacher() != null && 
+				lecture.getTeacher().getMemberId() == member.getMemberId());
+	}
+
+	@Override
+	public String toString() {
+		return "ScheduleConflict [member=" + member + ", lectures=" + lectures + "]";
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((lectures == null) ? 0 : lectures.hashCode());
+		result = prime * result + ((member == null) ? 0 : member.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ScheduleConflict other = (ScheduleConflict) obj;
+		if (lectures == null) {
+			if (other.lectures != null)
+				return false;
+		} else if (!lectures.equals(other.lectures))
+			return false;
+		if (member == null) {
+			if (other.member != null)
+				return false;
+		} else if (!member.equals(other.member))
+			return false;
+		return true;
+	}
+}
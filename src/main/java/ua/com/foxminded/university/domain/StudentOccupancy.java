@@ -0,0 +1,117 @@
+package ua.com.foxminded.university.domain;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import ua.com.foxminded.university.domain.entities.Lecture;
+
+/**
+ * Occupied hours per student and day; a set bit only means a lecture touches that hour.
+ */
+public class StudentOccupancy {
+
+	private static final int HOURS_PER_DAY = 24;
+
+	private final Map<Integer, NavigableMap<LocalDate, BitSet>> occupiedHours = new HashMap<>();
+
+
+	public void occupy(int studentId, LocalDateTime from, LocalDateTime to) {
+		NavigableMap<LocalDate, BitSet> days =
+				occupiedHours.computeIfAbsent(studentId, id -> new TreeMap<>());
+		setSlots(days, from, to);
+
+		if(days.isEmpty()) {
+			occupiedHours.remove(studentId);
+		}
+	}
+
+
+	public void release(int studentId, LocalDateTime from, LocalDateTime to,
+			List<Lecture> remainingLectures) {
+		NavigableMap<LocalDate, BitSet> days = occupiedHours.get(studentId);
+
+		if(days == null) {
+			return;
+		}
+
+		for(LocalDate day = slotStart(from).toLocalDate(); isBefore(day, to); day = day.plusDays(1)) {
+			BitSet hours = days.get(day);
+
+			if(hours != null) {
+				hours.clear(firstSlot(day, from), endSlot(day, to));
+			}
+		}
+		remainingLectures.forEach(lecture ->
+				setSlots(days, lecture.getDate(), lecture.getEndDate()));
+
+		days.values().removeIf(BitSet::isEmpty);
+		if(days.isEmpty()) {
+			occupiedHours.remove(studentId);
+		}
+	}
+
+
+	public boolean isOccupied(int studentId, LocalDateTime from, LocalDateTime to) {
+		NavigableMap<LocalDate, BitSet> days = occupiedHours.get(studentId);
+
+		if(days == null || !from.isBefore(to)) {
+			return false;
+		}
+
+		NavigableMap<LocalDate, BitSet> window = days.subMap(
+				slotStart(from).toLocalDate(), true, slotEnd(to).toLocalDate(), true);
+
+		for(Map.Entry<LocalDate, BitSet> entry : window.entrySet()) {
+			int nextOccupied = entry.getValue().nextSetBit(firstSlot(entry.getKey(), from));
+
+			if(nextOccupied >= 0 && nextOccupied < endSlot(entry.getKey(), to)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	public static LocalDateTime slotStart(LocalDateTime dateTime) {
+		return dateTime.truncatedTo(ChronoUnit.HOURS);
+	}
+
+
+	public static LocalDateTime slotEnd(LocalDateTime dateTime) {
+		return dateTime.minusNanos(1).truncatedTo(ChronoUnit.HOURS).plusHours(1);
+	}
+
+
+	private void setSlots(NavigableMap<LocalDate, BitSet> days, LocalDateTime from, LocalDateTime to) {
+		for(LocalDate day = slotStart(from).toLocalDate(); isBefore(day, to); day = day.plusDays(1)) {
+			int firstSlot = firstSlot(day, from);
+			int endSlot = endSlot(day, to);
+
+			if(firstSlot < endSlot) {
+				days.computeIfAbsent(day, date -> new BitSet(HOURS_PER_DAY)).set(firstSlot, endSlot);
+			}
+		}
+	}
+
+
+	private boolean isBefore(LocalDate day, LocalDateTime to) {
+		return day.atStartOfDay().isBefore(slotEnd(to));
+	}
+
+
+	private int firstSlot(LocalDate day, LocalDateTime from) {
+		return (int) Math.max(0, ChronoUnit.HOURS.between(day.atStartOfDay(), slotStart(from)));
+	}
+
+
+	private int endSlot(LocalDate day, LocalDateTime to) {
+		return (int) Math.min(HOURS_PER_DAY, ChronoUnit.HOURS.between(day.atStartOfDay(), slotEnd(to)));
+	}
+}
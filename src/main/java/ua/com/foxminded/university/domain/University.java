@@ -1,12 +1,11 @@
 package ua.com.foxminded.university.domain;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.Month;
-import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.function.Predicate;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -85,6 +84,7 @@ public class University {
 		if(
 				lecture == null || 
 				lecture.getDate() == null ||
+				lecture.getDuration() <= 0 ||
 				lecture.getCourse() ==null ||
 				lecture.getStudents().isEmpty() ||
 				lecture.getTeacher() == null
@@ -99,26 +99,42 @@ public class University {
 	
 	private boolean hasNoScheduleConflicts(Lecture newLecture) {
 		log.debug("checking for schedule conflict of [{}]", newLecture.stringify());
-		Member teacher = newLecture.getTeacher();
-		LocalDateTime lectureTime = newLecture.getDate();
 		
-		for(Lecture currentLecture : schedule.getLectures()) {
-			if(currentLecture.getTeacher().equals(teacher) && 
-					currentLecture.getDate().truncatedTo(ChronoUnit.HOURS)
-					.equals(lectureTime.truncatedTo(ChronoUnit.HOURS))
-				) {
-				
-				log.warn("\nlecture [{}]\nconflicts with [{}]", 
-						newLecture.stringify(), currentLecture.stringify());
-				
-				return false;
-			}
+		List<Lecture> conflictingLectures = schedule.findTeacherConflicts(newLecture);
+		
+		if(!conflictingLectures.isEmpty()) {
+			log.warn("\nlecture [{}]\nconflicts with [{}]", 
+					newLecture.stringify(), conflictingLectures.get(0).stringify());
+			
+			return false;
+		}
+		
+		conflictingLectures = findStudentConflicts(newLecture);
+		
+		if(!conflictingLectures.isEmpty()) {
+			log.warn("\nlecture [{}]\nhas students booked for [{}]", 
+					newLecture.stringify(), conflictingLectures.get(0).stringify());
+			
+			return false;
 		}
 		
 		log.debug("schedule conflict check passed for [{}]", newLecture.stringify());
 		return true;
 	}
 	
+	public List<Lecture> findStudentConflicts(Lecture lecture) {
+		log.debug("checking student conflicts of [{}]", lecture.stringify());
+		return schedule.findStudentConflicts(lecture);
+	}
+	
+	public List<ScheduleConflict> findAllConflicts() {
+		log.info("searching conflicts among {} lectures", schedule.getLectures().size());
+		List<ScheduleConflict> conflicts = new ConflictSweep().findConflicts(schedule.getLectures());
+		
+		log.debug("found {} conflict groups", conflicts.size());
+		return conflicts;
+	}
+	
 	public void cancelLecture(Lecture lecture) throws DomainException {
 		if(isValidLecture(lecture)) {
 			if(schedule.contains(lecture)) {
@@ -135,32 +151,35 @@ public class University {
 	
 	public LectureSchedule getMonthlySchedule(Member member) {
 		log.info("getting monthly schedule for member [{}]", member);
-		Month currentMonth = LocalDateTime.now().toLocalDate().getMonth();
-		return filterSchedule(
-				member, lecture -> lecture.getDate().getMonth().equals(currentMonth)
-			);
+		LocalDateTime monthStart = LocalDate.now().withDayOfMonth(1).atStartOfDay();
+		return filterSchedule(member, monthStart, monthStart.plusMonths(1));
+	}
+	
+	public LectureSchedule getWeeklySchedule(Member member) {
+		log.info("getting weekly schedule for member [{}]", member);
+		LocalDateTime weekStart = LocalDate.now()
+				.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+		return filterSchedule(member, weekStart, weekStart.plusWeeks(1));
 	}
 	
 	public LectureSchedule getDailySchedule(Member member) {
 		log.info("getting daily schedule for member [{}]", member);
-		LocalDate today = LocalDateTime.now().toLocalDate();
-		return filterSchedule(
-				member, lecture -> lecture.getDate().toLocalDate().equals(today)
-			);
+		LocalDateTime dayStart = LocalDate.now().atStartOfDay();
+		return filterSchedule(member, dayStart, dayStart.plusDays(1));
+	}
+	
+	public LectureSchedule getSchedule(LocalDateTime from, LocalDateTime to) {
+		log.info("getting schedule for period [{} - {}]", from, to);
+		return new LectureSchedule(schedule.between(from, to));
 	}
 	
-	private LectureSchedule filterSchedule(Member member, Predicate<Lecture> timeFilter) {
+	private LectureSchedule filterSchedule(
+			Member member, LocalDateTime from, LocalDateTime to) {
 		LectureSchedule resultingSchedule = new LectureSchedule();
 		
-		log.debug("picking lectures for member [{}] by supplied Predicate", member);
+		log.debug("picking lectures for member [{}] in period [{} - {}]", member, from, to);
 		
-		schedule.getLectures().stream()
-		.filter(timeFilter::test)
-		.filter(
-				lecture -> lecture.getTeacher().equals(member) || 
-				lecture.getStudents().contains(member)
-				)
-		.forEach(resultingSchedule::addLecture);
+		schedule.between(member, from, to).forEach(resultingSchedule::addLecture);
 		
 		log.debug("returning filtered schedule of {} lectures", 
 											resultingSchedule.getLectures().size());
@@ -2,19 +2,30 @@ package ua.com.foxminded.university.domain.entities;
 
 import java.util.Objects;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Course.CACHE_REGION)
 @Table(name = "courses")
 public class Course {
 	
+	public static final String CACHE_REGION = "university.courses";
+	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_course_id_seq")
+	@SequenceGenerator(name = "courses_course_id_seq", sequenceName = "courses_course_id_seq", 
+			allocationSize = 50)
 	@Column(name = "course_id")
 	private int courseId;
 	
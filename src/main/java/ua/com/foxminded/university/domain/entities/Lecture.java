@@ -13,25 +13,53 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedEntityGraphs;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.persistence.Transient;
 
 @Entity
-@Table(name = "lectures")
+@NamedEntityGraphs({
+	@NamedEntityGraph(name = Lecture.EDITOR_GRAPH, attributeNodes = {
+			@NamedAttributeNode("course"),
+			@NamedAttributeNode("teacher"),
+			@NamedAttributeNode("students")
+	}),
+	@NamedEntityGraph(name = Lecture.SCHEDULE_GRAPH, attributeNodes = {
+			@NamedAttributeNode("course"),
+			@NamedAttributeNode("teacher"),
+			@NamedAttributeNode("students")
+	})
+})
+@Table(name = "lectures", indexes = 
+		@Index(name = "lectures_teacher_id_date_idx", columnList = "teacher_id, date"))
 public class Lecture {
 	
+	public static final int DEFAULT_DURATION = 60;
+	public static final int MAX_DURATION = 28 * 24 * 60;
+	public static final String EDITOR_GRAPH = "Lecture.editor";
+	public static final String SCHEDULE_GRAPH = "Lecture.schedule";
+	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lectures_lecture_id_seq")
+	@SequenceGenerator(name = "lectures_lecture_id_seq", sequenceName = "lectures_lecture_id_seq", 
+			allocationSize = 50)
 	@Column(name = "lecture_id")
 	private int lectureId;
 	
 	@Column(name = "date", nullable = false)
 	private LocalDateTime date;
 	
+	@Column(name = "duration", nullable = false)
+	private int duration = DEFAULT_DURATION;
+	
 	@ManyToOne
 	@JoinColumn(name = "course_id", nullable = false)
 	private Course course;
@@ -40,10 +68,12 @@ public class Lecture {
 	@JoinColumn(name = "teacher_id", nullable = false)
 	private Member teacher;
 	
-	@ManyToMany(fetch = FetchType.EAGER)
+	@ManyToMany(fetch = FetchType.LAZY)
 	@JoinTable(name = "lecture_student", 
 			joinColumns = @JoinColumn(name = "lecture_id"),
-			inverseJoinColumns = @JoinColumn(name = "student_id"))
+			inverseJoinColumns = @JoinColumn(name = "student_id"),
+			indexes = @Index(name = "lecture_student_student_id_idx", 
+					columnList = "student_id, lecture_id"))
 	private Set<Member> students = new HashSet<>();
 
 	@Transient
@@ -80,6 +110,18 @@ public class Lecture {
 		this.date = LocalDateTime.parse(date, formatter);
 	}
 
+	public int getDuration() {
+		return duration;
+	}
+
+	public void setDuration(int duration) {
+		this.duration = duration;
+	}
+	
+	public LocalDateTime getEndDate() {
+		return (date == null)? null : date.plusMinutes(duration);
+	}
+
 	public Course getCourse() {
 		return course;
 	}
@@ -115,6 +157,7 @@ public class Lecture {
 		StringBuilder outputBuilder = new StringBuilder();
 		outputBuilder.append("Lecture ID: " + this.lectureId + "\n");
 		outputBuilder.append("Date: " + this.date + "\n");
+		outputBuilder.append("Duration: " + this.duration + "\n");
 		outputBuilder.append(this.course + "\n");
 		outputBuilder.append(this.teacher + "\n");
 		students.stream().forEach(student -> outputBuilder.append(student + "\n"));
@@ -122,7 +165,8 @@ public class Lecture {
 	}
 	
 	public String stringify() {
-		return "\nId: " + lectureId + ", Date: " + date + ", " + teacher + ", "
+		return "\nId: " + lectureId + ", Date: " + date + ", Duration: " + duration 
+				+ ", " + teacher + ", "
 				+ " " + course +", Students: " + students.size();
 	}
 
@@ -132,7 +176,7 @@ public class Lecture {
 		int result = 1;
 		result = prime * result + ((course == null) ? 0 : course.hashCode());
 		result = prime * result + ((date == null) ? 0 : date.hashCode());
-		result = prime * result + ((students == null) ? 0 : students.hashCode());
+		result = prime * result + duration;
 		result = prime * result + ((teacher == null) ? 0 : teacher.hashCode());
 		return result;
 	}
@@ -156,6 +200,8 @@ public class Lecture {
 				return false;
 		} else if (!date.equals(other.date))
 			return false;
+		if (duration != other.duration)
+			return false;
 		if (students == null) {
 			if (other.students != null)
 				return false;
@@ -3,23 +3,32 @@ package ua.com.foxminded.university.domain.entities;
 import java.util.HashSet;
 import java.util.Set;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
-import javax.persistence.JoinColumn;
-import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Member.CACHE_REGION)
 @Table(name = "members")
 public class Member {
 	
+	public static final String CACHE_REGION = "university.members";
+	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "members_member_id_seq")
+	@SequenceGenerator(name = "members_member_id_seq", sequenceName = "members_member_id_seq", 
+			allocationSize = 50)
 	@Column(name = "member_id")
 	private int memberId;
 	
@@ -32,10 +41,7 @@ public class Member {
 	@Column(name = "last_name", nullable = false)
 	private String lastName;
 	
-	@ManyToMany(fetch = FetchType.EAGER)
-	@JoinTable(name = "lecture_student", 
-			joinColumns = @JoinColumn(name = "student_id"), 
-			inverseJoinColumns = @JoinColumn(name = "lecture_id"))
+	@ManyToMany(mappedBy = "students", fetch = FetchType.LAZY)
 	private Set<Lecture> lectures = new HashSet<>();
 	
 	public Member() {
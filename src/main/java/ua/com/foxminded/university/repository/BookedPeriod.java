@@ -0,0 +1,16 @@
+package ua.com.foxminded.university.repository;
+
+import java.time.LocalDateTime;
+
+public interface BookedPeriod {
+	
+	Integer getLectureId();
+	
+	Integer getMemberId();
+	
+	Boolean getTeaching();
+	
+	LocalDateTime getDate();
+	
+	Integer getDuration();
+}
@@ -1,10 +1,25 @@
 package ua.com.foxminded.university.repository;
 
-import org.springframework.data.repository.CrudRepository;
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.PagingAndSortingRepository;
 
 import ua.com.foxminded.university.domain.entities.Course;
 
-public interface CourseRepository extends CrudRepository<Course, Integer>{
+public interface CourseRepository extends PagingAndSortingRepository<Course, Integer>{
 	
 	Iterable<Course> findAllByOrderByCourseIdAsc();
+	
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+	@Query(value = "select new ua.com.foxminded.university.repository.CourseRow("
+			+ "c.courseId, c.subject, c.description) "
+			+ "from Course c order by c.courseId asc",
+			countQuery = "select count(c) from Course c")
+	Page<CourseRow> findRows(Pageable pageable);
 }
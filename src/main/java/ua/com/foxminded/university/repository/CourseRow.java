@@ -0,0 +1,74 @@
+package ua.com.foxminded.university.repository;
+
+import ua.com.foxminded.university.domain.entities.Course;
+
+public final class CourseRow {
+	
+	private final int courseId;
+	private final String subject;
+	private final String description;
+	
+	public CourseRow(int courseId, String subject, String description) {
+		this.courseId = courseId;
+		this.subject = subject;
+		this.description = description;
+	}
+
+	public int getCourseId() {
+		return courseId;
+	}
+
+	public String getSubject() {
+		return subject;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+	
+	public Course toCourse() {
+		Course course = new Course(subject, description);
+		course.setCourseId(courseId);
+		return course;
+	}
+
+	@Override
+	public String toString() {
+		return "CourseRow [courseId=" + courseId + ", subject=" + subject 
+				+ ", description=" + description + "]";
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + courseId;
+		result = prime * result + ((description == null) ? 0 : description.hashCode());
+		result = prime * result + ((subject == null) ? 0 : subject.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		CourseRow other = (CourseRow) obj;
+		if (courseId != other.courseId)
+			return false;
+		if (description == null) {
+			if (other.description != null)
+				return false;
+		} else if (!description.equals(other.description))
+			return false;
+		if (subject == null) {
+			if (other.subject != null)
+				return false;
+		} else if (!subject.equals(other.subject))
+			return false;
+		return true;
+	}
+}
@@ -0,0 +1,38 @@
+package ua.com.foxminded.university.repository;
+
+public final class EnrollmentRow {
+	
+	private final int lectureId;
+	private final int studentId;
+	private final String studentFirstName;
+	private final String studentLastName;
+	
+	public EnrollmentRow(int lectureId, int studentId, String studentFirstName, 
+			String studentLastName) {
+		this.lectureId = lectureId;
+		this.studentId = studentId;
+		this.studentFirstName = studentFirstName;
+		this.studentLastName = studentLastName;
+	}
+
+	public int getLectureId() {
+		return lectureId;
+	}
+
+	public int getStudentId() {
+		return studentId;
+	}
+
+	public String getStudentFirstName() {
+		return studentFirstName;
+	}
+
+	public String getStudentLastName() {
+		return studentLastName;
+	}
+
+	@Override
+	public String toString() {
+		return "EnrollmentRow [lectureId=" + lectureId + ", studentId=" + studentId + "]";
+	}
+}
@@ -0,0 +1,151 @@
+package ua.com.foxminded.university.repository;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Seek page position; its string form, e.g. "date<2020-09-01T10:00,42", is the page cursor.
+ */
+public final class Keyset {
+
+	public enum Order { ID, DATE }
+
+	private static final char AFTER = '>';
+	private static final char BEFORE = '<';
+	private static final char KEY_SEPARATOR = ',';
+
+	private final Order order;
+	private final boolean backward;
+	private final LocalDateTime date;
+	private final Integer id;
+
+	private Keyset(Order order, boolean backward, LocalDateTime date, Integer id) {
+		this.order = order;
+		this.backward = backward;
+		this.date = date;
+		this.id = id;
+	}
+
+	public static Keyset first(Order order) {
+		return new Keyset(Objects.requireNonNull(order), false, null, null);
+	}
+
+	public static Keyset after(int id) {
+		return new Keyset(Order.ID, false, null, id);
+	}
+
+	public static Keyset before(int id) {
+		return new Keyset(Order.ID, true, null, id);
+	}
+
+	public static Keyset after(LocalDateTime date, int id) {
+		return new Keyset(Order.DATE, false, Objects.requireNonNull(date), id);
+	}
+
+	public static Keyset before(LocalDateTime date, int id) {
+		return new Keyset(Order.DATE, true, Objects.requireNonNull(date), id);
+	}
+
+	public static Keyset parse(String cursor) {
+		if(cursor == null) {
+			throw new IllegalArgumentException("Cursor can't be null");
+		}
+
+		for(Order order : Order.values()) {
+			String prefix = order.name().toLowerCase();
+
+			if(cursor.equals(prefix)) {
+				return first(order);
+			} else if(cursor.length() > prefix.length() + 1 && cursor.startsWith(prefix)) {
+				char direction = cursor.charAt(prefix.length());
+
+				if(direction == AFTER || direction == BEFORE) {
+					return parseKey(order, direction == BEFORE,
+							cursor.substring(prefix.length() + 1));
+				}
+			}
+		}
+		throw new IllegalArgumentException("Malformed cursor: " + cursor);
+	}
+
+	private static Keyset parseKey(Order order, boolean backward, String key) {
+		try {
+			if(order == Order.ID) {
+				return new Keyset(order, backward, null, Integer.valueOf(key));
+			}
+
+			int separator = key.lastIndexOf(KEY_SEPARATOR);
+			return new Keyset(order, backward,
+					LocalDateTime.parse(key.substring(0, Math.max(separator, 0))),
+					Integer.valueOf(key.substring(separator + 1)));
+		} catch(NumberFormatException | DateTimeParseException e) {
+			throw new IllegalArgumentException("Malformed cursor key: " + key, e);
+		}
+	}
+
+	public Order getOrder() {
+		return order;
+	}
+
+	public boolean isBackward() {
+		return backward;
+	}
+
+	public boolean isFirst() {
+		return id == null;
+	}
+
+	public LocalDateTime getDate() {
+		return date;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public <T> List<T> toDisplayOrder(List<T> scannedRows) {
+		if(!backward) {
+			return scannedRows;
+		}
+
+		List<T> rows = new ArrayList<>(scannedRows);
+		Collections.reverse(rows);
+		return rows;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder cursor = new StringBuilder(order.name().toLowerCase());
+
+		if(!isFirst()) {
+			cursor.append(backward? BEFORE : AFTER);
+			if(order == Order.DATE) {
+				cursor.append(date).append(KEY_SEPARATOR);
+			}
+			cursor.append(id);
+		}
+		return cursor.toString();
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(order, backward, date, id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		Keyset other = (Keyset) obj;
+		return order == other.order && backward == other.backward
+				&& Objects.equals(date, other.date) && Objects.equals(id, other.id);
+	}
+}
@@ -0,0 +1,65 @@
+package ua.com.foxminded.university.repository;
+
+import java.time.LocalDateTime;
+
+public final class LectureExportRow {
+	
+	private final int lectureId;
+	private final LocalDateTime date;
+	private final int duration;
+	private final int courseId;
+	private final String courseSubject;
+	private final int teacherId;
+	private final String teacherFirstName;
+	private final String teacherLastName;
+	
+	public LectureExportRow(int lectureId, LocalDateTime date, int duration, int courseId, 
+			String courseSubject, int teacherId, String teacherFirstName, String teacherLastName) {
+		this.lectureId = lectureId;
+		this.date = date;
+		this.duration = duration;
+		this.courseId = courseId;
+		this.courseSubject = courseSubject;
+		this.teacherId = teacherId;
+		this.teacherFirstName = teacherFirstName;
+		this.teacherLastName = teacherLastName;
+	}
+
+	public int getLectureId() {
+		return lectureId;
+	}
+
+	public LocalDateTime getDate() {
+		return date;
+	}
+
+	public int getDuration() {
+		return duration;
+	}
+
+	public int getCourseId() {
+		return courseId;
+	}
+
+	public String getCourseSubject() {
+		return courseSubject;
+	}
+
+	public int getTeacherId() {
+		return teacherId;
+	}
+
+	public String getTeacherFirstName() {
+		return teacherFirstName;
+	}
+
+	public String getTeacherLastName() {
+		return teacherLastName;
+	}
+
+	@Override
+	public String toString() {
+		return "LectureExportRow [lectureId=" + lectureId + ", date=" + date + ", duration=" + duration
+				+ ", courseId=" + courseId + ", teacherId=" + teacherId + "]";
+	}
+}
@@ -1,18 +1,160 @@
 package ua.com.foxminded.university.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import ua.com.foxminded.university.domain.entities.Lecture;
 
-public interface LectureRepository extends CrudRepository<Lecture, Integer>{
+public interface LectureRepository extends JpaRepository<Lecture, Integer>, LectureRepositoryCustom {
 	
+	@EntityGraph(Lecture.SCHEDULE_GRAPH)
+	@Query("select distinct l from Lecture l order by l.lectureId asc")
 	Iterable<Lecture> findAllByOrderByLectureIdAsc();
 	
+	String ROW_SELECT = "select new ua.com.foxminded.university.repository.LectureRow("
+			+ "l.lectureId, l.date, l.duration, c.subject, t.firstName, t.lastName, size(l.students)) "
+			+ "from Lecture l join l.course c join l.teacher t ";
+	
+	@Query(ROW_SELECT + "order by l.lectureId asc")
+	List<LectureRow> findRows(Pageable pageable);
+	
+	@Query(ROW_SELECT + "where l.lectureId > :lectureId order by l.lectureId asc")
+	List<LectureRow> findRowsAfter(@Param("lectureId") int lectureId, Pageable pageable);
+	
+	@Query(ROW_SELECT + "where l.lectureId < :lectureId order by l.lectureId desc")
+	List<LectureRow> findRowsBefore(@Param("lectureId") int lectureId, Pageable pageable);
+	
+	@Query(ROW_SELECT + "order by l.date asc, l.lectureId asc")
+	List<LectureRow> findFirstRowsByDate(Pageable pageable);
+	
+	@Query(ROW_SELECT + "where (l.date, l.lectureId) > (:date, :lectureId) "
+			+ "order by l.date asc, l.lectureId asc")
+	List<LectureRow> findRowsByDateAfter(@Param("date") LocalDateTime date, 
+			@Param("lectureId") int lectureId, Pageable pageable);
+	
+	@Query(ROW_SELECT + "where (l.date, l.lectureId) < (:date, :lectureId) "
+			+ "order by l.date desc, l.lectureId desc")
+	List<LectureRow> findRowsByDateBefore(@Param("date") LocalDateTime date, 
+			@Param("lectureId") int lectureId, Pageable pageable);
+	
+	String EXPORT_FETCH_SIZE = "1000";
+	
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+	@Query("select new ua.com.foxminded.university.repository.LectureExportRow("
+			+ "l.lectureId, l.date, l.duration, c.courseId, c.subject, t.memberId, t.firstName, t.lastName) "
+			+ "from Lecture l join l.course c join l.teacher t order by l.lectureId asc")
+	Stream<LectureExportRow> streamExportRows();
+	
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+	@Query("select new ua.com.foxminded.university.repository.EnrollmentRow("
+			+ "l.lectureId, s.memberId, s.firstName, s.lastName) "
+			+ "from Lecture l join l.students s order by l.lectureId asc, s.memberId asc")
+	Stream<EnrollmentRow> streamEnrollmentRows();
+	
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+	@Query("select new ua.com.foxminded.university.repository.LectureExportRow("
+			+ "l.lectureId, l.date, l.duration, c.courseId, c.subject, t.memberId, t.firstName, t.lastName) "
+			+ "from Lecture l join l.course c join l.teacher t "
+			+ "where l.date >= :from and l.date < :to order by l.lectureId asc")
+	Stream<LectureExportRow> streamExportRows(
+			@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+	
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+	@Query("select new ua.com.foxminded.university.repository.EnrollmentRow("
+			+ "l.lectureId, s.memberId, s.firstName, s.lastName) "
+			+ "from Lecture l join l.students s "
+			+ "where l.date >= :from and l.date < :to order by l.lectureId asc, s.memberId asc")
+	Stream<EnrollmentRow> streamEnrollmentRows(
+			@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+	
+	@Query("select min(l.date) from Lecture l where l.date < :date")
+	LocalDateTime findFirstDateBefore(@Param("date") LocalDateTime date);
+	
+	@Query(value = "select cast(coalesce(sum(greatest(c.reltuples, 0)), 0) as bigint) "
+			+ "from pg_inherits i join pg_class c on c.oid = i.inhrelid "
+			+ "where i.inhparent = cast('lectures' as regclass)", 
+			nativeQuery = true)
+	long estimateCount();
+	
+	@Override
+	@EntityGraph(Lecture.EDITOR_GRAPH)
+	Optional<Lecture> findById(Integer id);
+	
 	Integer countByStudentsMemberIdEquals(int id);
 	
+	@EntityGraph(Lecture.SCHEDULE_GRAPH)
+	@Query("select distinct l from Lecture l where l.date >= :from and l.date < :to")
 	Iterable<Lecture> findByDateBetween(
-			LocalDateTime from, LocalDateTime to);
+			@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+	
+	@EntityGraph(Lecture.SCHEDULE_GRAPH)
+	@Query("select distinct l from Lecture l where l.teacher.memberId = :memberId "
+			+ "and l.date >= :from and l.date < :to order by l.date asc")
+	List<Lecture> findTaughtBetween(@Param("memberId") int memberId, 
+			@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+	
+	@EntityGraph(Lecture.SCHEDULE_GRAPH)
+	@Query("select distinct l from Lecture l join l.students s where s.memberId = :memberId "
+			+ "and l.date >= :from and l.date < :to order by l.date asc")
+	List<Lecture> findAttendedBetween(@Param("memberId") int memberId, 
+			@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+	
+	String PERIOD_OVERLAPS = "l.period && tsrange(cast(:from as timestamp), cast(:to as timestamp)) "
+			+ "and l.date > cast(:from as timestamp) - interval '" + Lecture.MAX_DURATION + " minutes' "
+			+ "and l.date < cast(:to as timestamp) ";
+	
+	@Query(value = "select exists (select 1 from lectures l "
+			+ "where l.teacher_id = :teacherId "
+			+ "and " + PERIOD_OVERLAPS
+			+ "and l.lecture_id <> :lectureId)", 
+			nativeQuery = true)
+	boolean existsTeacherConflict(
+			@Param("teacherId") int teacherId, 
+			@Param("from") LocalDateTime from, 
+			@Param("to") LocalDateTime to, 
+			@Param("lectureId") int lectureId);
+	
+	@Query(value = "select exists (select 1 from lecture_student ls "
+			+ "join lectures l on l.lecture_id = ls.lecture_id "
+			+ "where ls.student_id in (:studentIds) "
+			+ "and " + PERIOD_OVERLAPS
+			+ "and l.lecture_id <> :lectureId)", 
+			nativeQuery = true)
+	boolean existsStudentConflict(
+			@Param("studentIds") Collection<Integer> studentIds, 
+			@Param("from") LocalDateTime from, 
+			@Param("to") LocalDateTime to, 
+			@Param("lectureId") int lectureId);
+	
+	@Query(value = "select l.lecture_id as \"lectureId\", l.teacher_id as \"memberId\", "
+			+ "true as \"teaching\", l.date as \"date\", l.duration as \"duration\" "
+			+ "from lectures l "
+			+ "where l.teacher_id in (:memberIds) "
+			+ "and " + PERIOD_OVERLAPS
+			+ "union all "
+			+ "select l.lecture_id, ls.student_id, false, l.date, l.duration "
+			+ "from lecture_student ls "
+			+ "join lectures l on l.lecture_id = ls.lecture_id "
+			+ "where ls.student_id in (:memberIds) "
+			+ "and " + PERIOD_OVERLAPS, 
+			nativeQuery = true)
+	List<BookedPeriod> findBookedPeriods(
+			@Param("memberIds") Collection<Integer> memberIds, 
+			@Param("from") LocalDateTime from, 
+			@Param("to") LocalDateTime to);
 	
 }
@@ -0,0 +1,11 @@
+package ua.com.foxminded.university.repository;
+
+import java.time.LocalDateTime;
+
+public interface LectureRepositoryCustom {
+	
+	int deleteEnrollmentsBetween(LocalDateTime from, LocalDateTime to);
+	
+	int deleteBetween(LocalDateTime from, LocalDateTime to);
+
+}
@@ -0,0 +1,42 @@
+package ua.com.foxminded.university.repository;
+
+import static ua.com.foxminded.university.repository.MemberRepositoryCustomImpl.ENROLLMENTS_TABLE;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.query.NativeQuery;
+
+import ua.com.foxminded.university.domain.entities.Lecture;
+
+public class LectureRepositoryCustomImpl implements LectureRepositoryCustom {
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public int deleteEnrollmentsBetween(LocalDateTime from, LocalDateTime to) {
+		return entityManager
+				.createNativeQuery("delete from lecture_student ls using lectures l "
+						+ "where l.lecture_id = ls.lecture_id and l.date >= :from and l.date < :to")
+				.unwrap(NativeQuery.class)
+				.addSynchronizedQuerySpace(ENROLLMENTS_TABLE)
+				.setParameter("from", from)
+				.setParameter("to", to)
+				.executeUpdate();
+	}
+
+	@Override
+	public int deleteBetween(LocalDateTime from, LocalDateTime to) {
+		return entityManager
+				.createNativeQuery("delete from lectures where date >= :from and date < :to")
+				.unwrap(NativeQuery.class)
+				.addSynchronizedEntityClass(Lecture.class)
+				.setParameter("from", from)
+				.setParameter("to", to)
+				.executeUpdate();
+	}
+
+}
@@ -0,0 +1,112 @@
+package ua.com.foxminded.university.repository;
+
+import java.time.LocalDateTime;
+
+public final class LectureRow {
+	
+	private final int lectureId;
+	private final LocalDateTime date;
+	private final int duration;
+	private final String courseSubject;
+	private final String teacherFirstName;
+	private final String teacherLastName;
+	private final int studentCount;
+	
+	public LectureRow(int lectureId, LocalDateTime date, int duration, String courseSubject,
+			String teacherFirstName, String teacherLastName, int studentCount) {
+		this.lectureId = lectureId;
+		this.date = date;
+		this.duration = duration;
+		this.courseSubject = courseSubject;
+		this.teacherFirstName = teacherFirstName;
+		this.teacherLastName = teacherLastName;
+		this.studentCount = studentCount;
+	}
+
+	public int getLectureId() {
+		return lectureId;
+	}
+
+	public LocalDateTime getDate() {
+		return date;
+	}
+
+	public int getDuration() {
+		return duration;
+	}
+
+	public String getCourseSubject() {
+		return courseSubject;
+	}
+
+	public String getTeacherFirstName() {
+		return teacherFirstName;
+	}
+
+	public String getTeacherLastName() {
+		return teacherLastName;
+	}
+
+	public int getStudentCount() {
+		return studentCount;
+	}
+
+	@Override
+	public String toString() {
+		return "LectureRow [lectureId=" + lectureId + ", date=" + date + ", duration=" + duration
+				+ ", courseSubject=" + courseSubject + ", teacher=" + teacherFirstName + " " 
+				+ teacherLastName + ", studentCount=" + studentCount + "]";
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + lectureId;
+		result = prime * result + ((date == null) ? 0 : date.hashCode());
+		result = prime * result + duration;
+		result = prime * result + ((courseSubject == null) ? 0 : courseSubject.hashCode());
+		result = prime * result + ((teacherFirstName == null) ? 0 : teacherFirstName.hashCode());
+		result = prime * result + ((teacherLastName == null) ? 0 : teacherLastName.hashCode());
+		result = prime * result + studentCount;
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		LectureRow other = (LectureRow) obj;
+		if (lectureId != other.lectureId)
+			return false;
+		if (date == null) {
+			if (other.date != null)
+				return false;
+		} else if (!date.equals(other.date))
+			return false;
+		if (duration != other.duration)
+			return false;
+		if (courseSubject == null) {
+			if (other.courseSubject != null)
+				return false;
+		} else if (!courseSubject.equals(other.courseSubject))
+			return false;
+		if (teacherFirstName == null) {
+			if (other.teacherFirstName != null)
+				return false;
+		} else if (!teacherFirstName.equals(other.teacherFirstName))
+			return false;
+		if (teacherLastName == null) {
+			if (other.teacherLastName != null)
+				return false;
+		} else if (!teacherLastName.equals(other.teacherLastName))
+			return false;
+		if (studentCount != other.studentCount)
+			return false;
+		return true;
+	}
+}
@@ -1,11 +1,47 @@
 package ua.com.foxminded.university.repository;
 
-import org.springframework.data.repository.CrudRepository;
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+import java.util.List;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
 import ua.com.foxminded.university.domain.entities.Member;
 
-public interface MemberRepository extends CrudRepository<Member, Integer>{
+public interface MemberRepository extends PagingAndSortingRepository<Member, Integer>, MemberRepositoryCustom {
 	
 	Iterable<Member> findAllByOrderByMemberIdAsc();
+	
+	String ROW_SELECT = "select new ua.com.foxminded.university.repository.MemberRow("
+			+ "m.memberId, m.typeId, m.firstName, m.lastName) from Member m ";
+	
+	@Query(ROW_SELECT + "order by m.memberId asc")
+	List<MemberRow> findRows(Pageable pageable);
+	
+	@Query(ROW_SELECT + "where m.memberId > :memberId order by m.memberId asc")
+	List<MemberRow> findRowsAfter(@Param("memberId") int memberId, Pageable pageable);
+	
+	@Query(ROW_SELECT + "where m.memberId < :memberId order by m.memberId desc")
+	List<MemberRow> findRowsBefore(@Param("memberId") int memberId, Pageable pageable);
+	
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+	@Query(value = ROW_SELECT + "where m.typeId = :typeId order by m.memberId asc",
+			countQuery = "select count(m) from Member m where m.typeId = :typeId")
+	Page<MemberRow> findRowsByTypeId(@Param("typeId") int typeId, Pageable pageable);
+	
+	@Query(value = "select cast(reltuples as bigint) from pg_class "
+			+ "where oid = cast('members' as regclass)", 
+			nativeQuery = true)
+	long estimateCount();
+	
+	@Query("select count(l) from Lecture l where l.teacher.memberId = :memberId")
+	long countTaughtLectures(@Param("memberId") int memberId);
 
 }
@@ -0,0 +1,7 @@
+package ua.com.foxminded.university.repository;
+
+public interface MemberRepositoryCustom {
+	
+	int deleteEnrollments(int memberId);
+
+}
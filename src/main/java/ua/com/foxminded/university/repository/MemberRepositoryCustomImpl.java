@@ -0,0 +1,25 @@
+package ua.com.foxminded.university.repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.query.NativeQuery;
+
+public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
+	
+	static final String ENROLLMENTS_TABLE = "lecture_student";
+	
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public int deleteEnrollments(int memberId) {
+		return entityManager
+				.createNativeQuery("delete from lecture_student where student_id = :memberId")
+				.unwrap(NativeQuery.class)
+				.addSynchronizedQuerySpace(ENROLLMENTS_TABLE)
+				.setParameter("memberId", memberId)
+				.executeUpdate();
+	}
+
+}
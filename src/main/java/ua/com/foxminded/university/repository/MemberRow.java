@@ -0,0 +1,88 @@
+package ua.com.foxminded.university.repository;
+
+import ua.com.foxminded.university.domain.entities.Member;
+import ua.com.foxminded.university.domain.entities.Student;
+import ua.com.foxminded.university.domain.entities.Teacher;
+
+public final class MemberRow {
+	
+	private final int memberId;
+	private final int typeId;
+	private final String firstName;
+	private final String lastName;
+	
+	public MemberRow(int memberId, int typeId, String firstName, String lastName) {
+		this.memberId = memberId;
+		this.typeId = typeId;
+		this.firstName = firstName;
+		this.lastName = lastName;
+	}
+
+	public int getMemberId() {
+		return memberId;
+	}
+
+	public int getTypeId() {
+		return typeId;
+	}
+
+	public String getFirstName() {
+		return firstName;
+	}
+
+	public String getLastName() {
+		return lastName;
+	}
+	
+	public Member toMember() {
+		Member member = (typeId == Teacher.MEMBER_TYPE)? new Teacher() : new Student();
+		member.setMemberId(memberId);
+		member.setTypeId(typeId);
+		member.setFirstName(firstName);
+		member.setLastName(lastName);
+		return member;
+	}
+
+	@Override
+	public String toString() {
+		return "MemberRow [memberId=" + memberId + ", typeId=" + typeId 
+				+ ", firstName=" + firstName + ", lastName=" + lastName + "]";
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((firstName == null) ? 0 : firstName.hashCode());
+		result = prime * result + ((lastName == null) ? 0 : lastName.hashCode());
+		result = prime * result + memberId;
+		result = prime * result + typeId;
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		MemberRow other = (MemberRow) obj;
+		if (firstName == null) {
+			if (other.firstName != null)
+				return false;
+		} else if (!firstName.equals(other.firstName))
+			return false;
+		if (lastName == null) {
+			if (other.lastName != null)
+				return false;
+		} else if (!lastName.equals(other.lastName))
+			return false;
+		if (memberId != other.memberId)
+			return false;
+		if (typeId != other.typeId)
+			return false;
+		return true;
+	}
+}
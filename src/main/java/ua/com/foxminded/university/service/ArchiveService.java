@@ -0,0 +1,17 @@
+package ua.com.foxminded.university.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.results.ArchivedLecture;
+
+public interface ArchiveService {
+
+	List<YearMonth> archiveBefore(YearMonth cutoff) throws ServiceException;
+
+	List<ArchivedLecture> retrieveArchivedLectures(int memberId, LocalDate from, LocalDate to) 
+			throws ServiceException;
+
+}
@@ -0,0 +1,207 @@
+package ua.com.foxminded.university.service;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import ua.com.foxminded.university.repository.EnrollmentRow;
+import ua.com.foxminded.university.repository.LectureExportRow;
+import ua.com.foxminded.university.repository.LectureRepository;
+import ua.com.foxminded.university.service.archives.ArchiveStore;
+import ua.com.foxminded.university.service.archives.ArchiveStore.PendingArchive;
+import ua.com.foxminded.university.service.caches.LectureWindowCache;
+import ua.com.foxminded.university.service.caches.ReferenceCache;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.partitions.LecturePartitionMaintenance;
+import ua.com.foxminded.university.service.results.ArchivedLecture;
+
+/**
+ * A month archive is published after the transaction deleting its rows commits,
+ * and discarded on rollback.
+ */
+@Service
+public class ArchiveServiceImpl implements ArchiveService {
+
+	@Autowired
+	private LectureRepository repository;
+
+	@Autowired
+	private ArchiveStore store;
+
+	@Autowired
+	private LecturePartitionMaintenance partitions;
+
+	@Autowired
+	private ReferenceCache referenceCache;
+
+	@Autowired
+	private LectureWindowCache windowCache;
+
+	@Value("${university.archive.active-months:0}")
+	private int activeMonths;
+
+	private Clock clock = Clock.systemDefaultZone();
+
+	private static final Logger log = LoggerFactory.getLogger(ArchiveServiceImpl.class);
+
+
+	@Scheduled(cron = "${university.archive.cron:0 0 4 * * *}")
+	@Transactional(rollbackFor = Exception.class)
+	public void archiveInactive() throws ServiceException {
+		if(activeMonths > 0) {
+			archiveBefore(YearMonth.now(clock).minusMonths(activeMonths));
+		}
+	}
+
+
+	@Override
+	@Transactional(rollbackFor = Exception.class)
+	public List<YearMonth> archiveBefore(YearMonth cutoff) throws ServiceException {
+		if(cutoff == null || cutoff.isAfter(YearMonth.now(clock))) {
+			log.error("Failed to archive lectures before [{}]", cutoff);
+			throw new ServiceException("Lectures can only be archived before the current month");
+		}
+
+		log.info("Archiving lectures before {}", cutoff);
+
+		List<YearMonth> archived = new ArrayList<>();
+		try {
+			LocalDateTime first = repository.findFirstDateBefore(cutoff.atDay(1).atStartOfDay());
+			if(first == null) {
+				log.info("No lectures to archive");
+				return archived;
+			}
+
+			for(YearMonth month = YearMonth.from(first); month.isBefore(cutoff); month = month.plusMonths(1)) {
+				if(archiveMonth(month) > 0) {
+					archived.add(month);
+				}
+			}
+
+			windowCache.invalidate();
+			referenceCache.evictQueryResults();
+
+			log.info("Archived {}", archived);
+			return archived;
+		} catch(IOException | DataAccessException e) {
+			log.error(e.getMessage(), e);
+			throw new ServiceException("Failed to archive lectures", e);
+		}
+	}
+
+
+	@Override
+	public List<ArchivedLecture> retrieveArchivedLectures(int memberId, LocalDate from, LocalDate to) 
+			throws ServiceException {
+		if(memberId < 1) {
+			log.error("Failed to retrieve archived lectures of member [{}]", memberId);
+			throw new ServiceException("Invalid member id of archived lectures");
+		}
+		if(from == null || to == null || from.isAfter(to)) {
+			log.error("Failed to retrieve archived lectures from [{}] to [{}]", from, to);
+			throw new ServiceException("Invalid period of archived lectures");
+		}
+
+		log.debug("Retrieving archived lectures of member [{}] from {} to {}", memberId, from, to);
+
+		try {
+			return store.find(memberId, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+		} catch(IOException e) {
+			log.error(e.getMessage(), e);
+			throw new ServiceException("Failed to read archived lectures", e);
+		}
+	}
+
+
+	private int archiveMonth(YearMonth month) throws IOException {
+		LocalDateTime from = month.atDay(1).atStartOfDay();
+		LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+
+		List<ArchivedLecture> lectures = readLectures(from, to);
+		if(lectures.isEmpty()) {
+			return 0;
+		}
+
+		publishAfterCommit(store.prepare(month, lectures));
+
+		int enrollments = repository.deleteEnrollmentsBetween(from, to);
+		partitions.dropPartition(month);
+		repository.deleteBetween(from, to);
+
+		log.info("{} lectures and {} enrollments of {} archived", lectures.size(), enrollments, month);
+		return lectures.size();
+	}
+
+
+	private void publishAfterCommit(PendingArchive archive) throws IOException {
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			store.publish(archive);
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCommit() {
+				try {
+					store.publish(archive);
+				} catch(IOException e) {
+					log.error("Archive of [{}] not published, kept at [{}]", 
+							archive.getMonth(), archive.getData(), e);
+				}
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				if(status == TransactionSynchronization.STATUS_COMMITTED) {
+					return;
+				}
+				try {
+					store.discard(archive);
+				} catch(IOException e) {
+					log.warn("Failed to discard archive of [{}]", archive.getMonth(), e);
+				}
+			}
+		});
+	}
+
+
+	private List<ArchivedLecture> readLectures(LocalDateTime from, LocalDateTime to) {
+		List<ArchivedLecture> lectures = new ArrayList<>();
+		try(Stream<LectureExportRow> rows = repository.streamExportRows(from, to);
+				Stream<EnrollmentRow> enrollmentRows = repository.streamEnrollmentRows(from, to)) {
+			Iterator<EnrollmentRow> enrollments = enrollmentRows.iterator();
+			EnrollmentRow enrollment = enrollments.hasNext() ? enrollments.next() : null;
+
+			for(Iterator<LectureExportRow> iterator = rows.iterator(); iterator.hasNext();) {
+				LectureExportRow row = iterator.next();
+				List<Integer> studentIds = new ArrayList<>();
+				while(enrollment != null && enrollment.getLectureId() == row.getLectureId()) {
+					studentIds.add(enrollment.getStudentId());
+					enrollment = enrollments.hasNext() ? enrollments.next() : null;
+				}
+				lectures.add(new ArchivedLecture(row.getLectureId(), row.getDate(), row.getDuration(), 
+						row.getCourseId(), row.getCourseSubject(), row.getTeacherId(), 
+						row.getTeacherFirstName(), row.getTeacherLastName(), studentIds));
+			}
+		}
+		return lectures;
+	}
+}
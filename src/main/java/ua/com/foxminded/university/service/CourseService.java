@@ -2,7 +2,11 @@ package ua.com.foxminded.university.service;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import ua.com.foxminded.university.domain.entities.Course;
+import ua.com.foxminded.university.repository.CourseRow;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
 
 public interface CourseService {
@@ -13,6 +17,8 @@ public interface CourseService {
 
 	List<Course> retrieveAll() throws ServiceException;
 
+	Page<CourseRow> retrieveRows(Pageable pageable) throws ServiceException;
+
 	void update(Course course) throws ServiceException;
 
 	void delete(Course course) throws ServiceException;
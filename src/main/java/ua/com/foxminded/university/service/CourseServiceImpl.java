@@ -9,10 +9,15 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import ua.com.foxminded.university.domain.entities.Course;
 import ua.com.foxminded.university.repository.CourseRepository;
+import ua.com.foxminded.university.repository.CourseRow;
+import ua.com.foxminded.university.service.caches.ReferenceCache;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
 import ua.com.foxminded.university.service.validators.ConfigurableEntityValidator;
 import ua.com.foxminded.university.service.validators.EntityValidator;
@@ -28,6 +33,9 @@ public class CourseServiceImpl implements CourseService, InitializingBean {
 	@Qualifier("courseValidator")
 	private EntityValidator<Course> validator;
 	
+	@Autowired
+	private ReferenceCache referenceCache;
+	
 	private static final Logger log = LoggerFactory.getLogger(CourseServiceImpl.class);
 	
 	@Override
@@ -53,6 +61,7 @@ public class CourseServiceImpl implements CourseService, InitializingBean {
 	
 	
 	@Override
+	@Transactional(readOnly = true)
 	public Course retrieveById(int id) throws ServiceException {
 		validator.validateId(id);
 		log.debug("retrieving course by id [{}]", id);
@@ -68,6 +77,7 @@ public class CourseServiceImpl implements CourseService, InitializingBean {
 	
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<Course> retrieveAll() throws ServiceException {
 		log.debug("retrieving all courses");
 		try {
@@ -81,6 +91,19 @@ public class CourseServiceImpl implements CourseService, InitializingBean {
 	}
 	
 	
+	@Override
+	@Transactional(readOnly = true)
+	public Page<CourseRow> retrieveRows(Pageable pageable) throws ServiceException {
+		log.debug("retrieving course rows [{}]", pageable);
+		try {
+			return repository.findRows(pageable);
+		} catch (DataAccessException e) {
+			log.error(e.getMessage(), e);
+			throw new ServiceException("Failed to retrieve courses", e);
+		}
+	}
+	
+	
 	@Override
 	public void update(Course course) throws ServiceException {
 		validator.validateUpdatable(course);
@@ -93,6 +116,7 @@ public class CourseServiceImpl implements CourseService, InitializingBean {
 			log.error(e.getMessage(), e);
 			throw new ServiceException("Failed to update course", e);
 		}
+		referenceCache.evict(Course.class);
 		log.info("course updated with data [{}]", course);
 	}
 
@@ -109,6 +133,7 @@ public class CourseServiceImpl implements CourseService, InitializingBean {
 			log.error(e.getMessage(), e);
 			throw new ServiceException("Failed to delete course", e);
 		}
+		referenceCache.evict(Course.class);
 	}
 	
 	
@@ -0,0 +1,13 @@
+package ua.com.foxminded.university.service;
+
+import java.io.Writer;
+
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+
+public interface ExportService {
+
+	long exportLectures(Writer writer) throws ServiceException;
+
+	long exportEnrollments(Writer writer) throws ServiceException;
+
+}
@@ -0,0 +1,90 @@
+package ua.com.foxminded.university.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import ua.com.foxminded.university.repository.EnrollmentRow;
+import ua.com.foxminded.university.repository.LectureExportRow;
+import ua.com.foxminded.university.repository.LectureRepository;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.exports.CsvWriter;
+
+/**
+ * The read-only transaction keeps the forward-only cursor open until the export ends.
+ */
+@Service
+public class ExportServiceImpl implements ExportService {
+	
+	@Autowired
+	private LectureRepository repository;
+	
+	private static final Object[] LECTURE_HEADER = {"lecture_id", "date", "duration", 
+			"course_id", "course_subject", "teacher_id", "teacher_first_name", "teacher_last_name"};
+	
+	private static final Object[] ENROLLMENT_HEADER = {"lecture_id", "student_id", 
+			"student_first_name", "student_last_name"};
+	
+	private static final Logger log = LoggerFactory.getLogger(ExportServiceImpl.class);
+	
+	
+	@Override
+	@Transactional(readOnly = true)
+	public long exportLectures(Writer writer) throws ServiceException {
+		log.info("Exporting lectures");
+		
+		try(Stream<LectureExportRow> rows = repository.streamExportRows()) {
+			CsvWriter csv = new CsvWriter(writer);
+			csv.writeRow(LECTURE_HEADER);
+			
+			long count = 0;
+			for(Iterator<LectureExportRow> iterator = rows.iterator(); iterator.hasNext(); count++) {
+				LectureExportRow row = iterator.next();
+				csv.writeRow(row.getLectureId(), row.getDate(), row.getDuration(), 
+						row.getCourseId(), row.getCourseSubject(), row.getTeacherId(), 
+						row.getTeacherFirstName(), row.getTeacherLastName());
+			}
+			csv.flush();
+			
+			log.info("{} lectures exported", count);
+			return count;
+		} catch(IOException | DataAccessException e) {
+			log.error(e.getMessage(), e);
+			throw new ServiceException("Failed to export lectures", e);
+		}
+	}
+	
+	
+	@Override
+	@Transactional(readOnly = true)
+	public long exportEnrollments(Writer writer) throws ServiceException {
+		log.info("Exporting enrollments");
+		
+		try(Stream<EnrollmentRow> rows = repository.streamEnrollmentRows()) {
+			CsvWriter csv = new CsvWriter(writer);
+			csv.writeRow(ENROLLMENT_HEADER);
+			
+			long count = 0;
+			for(Iterator<EnrollmentRow> iterator = rows.iterator(); iterator.hasNext(); count++) {
+				EnrollmentRow row = iterator.next();
+				csv.writeRow(row.getLectureId(), row.getStudentId(), 
+						row.getStudentFirstName(), row.getStudentLastName());
+			}
+			csv.flush();
+			
+			log.info("{} enrollments exported", count);
+			return count;
+		} catch(IOException | DataAccessException e) {
+			log.error(e.getMessage(), e);
+			throw new ServiceException("Failed to export enrollments", e);
+		}
+	}
+}
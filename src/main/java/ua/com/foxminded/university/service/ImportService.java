@@ -0,0 +1,14 @@
+package ua.com.foxminded.university.service;
+
+import java.io.InputStream;
+import java.util.Map;
+
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.imports.ImportFile;
+import ua.com.foxminded.university.service.results.ImportReport;
+
+public interface ImportService {
+
+	ImportReport importCsv(Map<ImportFile, InputStream> files) throws ServiceException;
+
+}
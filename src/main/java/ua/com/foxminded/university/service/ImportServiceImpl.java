@@ -0,0 +1,87 @@
+package ua.com.foxminded.university.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import ua.com.foxminded.university.domain.entities.Course;
+import ua.com.foxminded.university.domain.entities.Member;
+import ua.com.foxminded.university.service.caches.LectureWindowCache;
+import ua.com.foxminded.university.service.caches.ReferenceCache;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.imports.ImportFile;
+import ua.com.foxminded.university.service.imports.StagingArea;
+import ua.com.foxminded.university.service.results.ImportReport;
+import ua.com.foxminded.university.service.results.RowRejection;
+
+/**
+ * Rows failing validation are reported and left out; the rest is imported in one transaction.
+ */
+@Service
+public class ImportServiceImpl implements ImportService {
+
+	@Autowired
+	private StagingArea stagingArea;
+
+	@Autowired
+	private ReferenceCache referenceCache;
+
+	@Autowired
+	private LectureWindowCache windowCache;
+
+	private static final Logger log = LoggerFactory.getLogger(ImportServiceImpl.class);
+
+	@Override
+	@Transactional(rollbackFor = Exception.class)
+	public ImportReport importCsv(Map<ImportFile, InputStream> files) throws ServiceException {
+		if(files == null || files.isEmpty()) {
+			log.error("Failed to import from [{}]", files);
+			throw new ServiceException("No files to import");
+		}
+
+		log.info("Importing {}", files.keySet());
+
+		try {
+			stagingArea.create();
+
+			for(Map.Entry<ImportFile, InputStream> file : files.entrySet()) {
+				copy(file.getKey(), file.getValue());
+			}
+
+			stagingArea.validate();
+			Map<ImportFile, Long> imported = stagingArea.merge();
+			List<RowRejection> rejections = stagingArea.getRejections();
+
+			windowCache.invalidate();
+			referenceCache.evict(Member.class);
+			referenceCache.evict(Course.class);
+			referenceCache.evictQueryResults();
+
+			log.info("Imported {}, {} rows rejected", imported, rejections.size());
+			return new ImportReport(imported, rejections);
+		} catch(DataAccessException e) {
+			log.error(e.getMessage(), e);
+			throw new ServiceException("Failed to import files", e);
+		}
+	}
+
+
+	private void copy(ImportFile file, InputStream csv) throws ServiceException {
+		try {
+			stagingArea.copy(file, csv);
+		} catch(SQLException | IOException e) {
+			log.error(e.getMessage(), e);
+			throw new ServiceException("Failed to read " + file.name().toLowerCase() 
+					+ " file: " + e.getMessage(), e);
+		}
+	}
+}
@@ -2,18 +2,30 @@ package ua.com.foxminded.university.service;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import ua.com.foxminded.university.domain.entities.Lecture;
 import ua.com.foxminded.university.domain.entities.Member;
+import ua.com.foxminded.university.repository.Keyset;
+import ua.com.foxminded.university.repository.LectureRow;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.results.SchedulingResult;
 
 public interface LectureService {
 
 	Lecture create(Lecture lecture) throws ServiceException;
 
+	List<SchedulingResult> createAll(List<Lecture> lectures) throws ServiceException;
+
 	Lecture retrieveById(int id) throws ServiceException;
 
 	List<Lecture> retrieveAll() throws ServiceException;
 
+	Page<LectureRow> retrieveRows(Pageable pageable) throws ServiceException;
+
+	List<LectureRow> retrieveRows(Keyset keyset, int limit) throws ServiceException;
+
 	void update(Lecture lecture) throws ServiceException;
 
 	void delete(Lecture lecture) throws ServiceException;
@@ -24,4 +36,8 @@ public interface LectureService {
 
 	List<Lecture> retrieveDailyLectures();
 
+	List<Lecture> retrieveMonthlyLectures(Member member) throws ServiceException;
+
+	List<Lecture> retrieveDailyLectures(Member member) throws ServiceException;
+
 }
\ No newline at end of file
@@ -1,10 +1,19 @@
 package ua.com.foxminded.university.service;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,12 +21,28 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import ua.com.foxminded.university.domain.ConflictEngine;
 import ua.com.foxminded.university.domain.entities.Lecture;
 import ua.com.foxminded.university.domain.entities.Member;
+import ua.com.foxminded.university.domain.entities.Student;
+import ua.com.foxminded.university.domain.entities.Teacher;
+import ua.com.foxminded.university.repository.BookedPeriod;
+import ua.com.foxminded.university.repository.Keyset;
 import ua.com.foxminded.university.repository.LectureRepository;
+import ua.com.foxminded.university.repository.LectureRow;
+import ua.com.foxminded.university.repository.MemberRepository;
+import ua.com.foxminded.university.service.caches.LectureWindowCache;
+import ua.com.foxminded.university.service.counters.RowCounter;
+import ua.com.foxminded.university.service.exceptions.ScheduleConflictException;
+import ua.com.foxminded.university.service.exceptions.EntityValidationException;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.results.SchedulingResult;
 import ua.com.foxminded.university.service.validators.ConfigurableEntityValidator;
 import ua.com.foxminded.university.service.validators.EntityValidator;
 import ua.com.foxminded.university.service.validators.ValidationRules.LectureRules;
@@ -28,10 +53,22 @@ public class LectureServiceImpl implements LectureService, InitializingBean {
 	@Autowired
 	private LectureRepository repository;
 	
+	@Autowired
+	private RowCounter rowCounter;
+	
+	@Autowired
+	private LectureWindowCache windowCache;
+	
+	@Autowired
+	private MemberRepository memberRepository;
+	
 	@Autowired
 	@Qualifier("lectureValidator")
 	private EntityValidator<Lecture> validator;
 	
+	private static final String EXCLUSION_VIOLATION = "23P01";
+	private static final int MEMBER_IDS_PER_QUERY = 5000;
+	
 	private static final Logger log = LoggerFactory.getLogger(LectureServiceImpl.class);
 	
 	@Override
@@ -41,22 +78,199 @@ public class LectureServiceImpl implements LectureService, InitializingBean {
 	
 	
 	@Override
+	@Transactional(rollbackFor = Exception.class)
 	public Lecture create(final Lecture lecture) throws ServiceException {
+		loadStudents(Collections.singletonList(lecture));
 		validator.validateCreateable(lecture);
 		if(log.isDebugEnabled()) {
 			log.debug("Creating lecture [{}]", lecture.stringify());
 		}
 		
 		try {
-			return repository.save(lecture);
+			verifyNoScheduleConflicts(lecture);
+			windowCache.invalidate();
+			return repository.saveAndFlush(lecture);
 		} catch(DataAccessException e) {
 			log.error(e.getMessage(), e);
-			throw new ServiceException("Failed to create Lecture", e);
+			throw translateWriteFailure(e, "Failed to create Lecture");
 		}
 	}
 	
 	
 	@Override
+	@Transactional(rollbackFor = Exception.class)
+	public List<SchedulingResult> createAll(final List<Lecture> lectures) throws ServiceException {
+		if(lectures == null) {
+			log.error("Failed to create lectures from null list");
+			throw new ServiceException("Lecture list is null");
+		}
+		
+		log.debug("Creating batch of {} lectures", lectures.size());
+		loadStudents(lectures);
+		
+		List<SchedulingResult> results = new ArrayList<>(lectures.size());
+		List<Lecture> validLectures = new ArrayList<>(lectures.size());
+		
+		for(Lecture lecture : lectures) {
+			try {
+				validator.validateCreateable(lecture);
+				validLectures.add(lecture);
+				results.add(null);
+			} catch(EntityValidationException e) {
+				results.add(SchedulingResult.rejected(lecture, e.getMessage()));
+			}
+		}
+		
+		try {
+			ConflictEngine conflictEngine = loadBookedPeriods(validLectures);
+			List<Lecture> acceptedLectures = new ArrayList<>(validLectures.size());
+			
+			for(int i = 0; i < results.size(); i++) {
+				if(results.get(i) == null) {
+					Lecture lecture = lectures.get(i);
+					SchedulingResult result = checkBatchConflicts(conflictEngine, lecture);
+					
+					if(result.isScheduled()) {
+						conflictEngine.register(lecture);
+						acceptedLectures.add(lecture);
+					}
+					results.set(i, result);
+				}
+			}
+			
+			windowCache.invalidate();
+			repository.saveAll(acceptedLectures);
+			repository.flush();
+			
+			log.info("{} of {} lectures created", acceptedLectures.size(), lectures.size());
+			return results;
+		} catch(DataAccessException e) {
+			log.error(e.getMessage(), e);
+			throw translateWriteFailure(e, "Failed to create lectures");
+		}
+	}
+	
+	
+	private void loadStudents(List<Lecture> lectures) throws ServiceException {
+		Set<Integer> studentIds = new LinkedHashSet<>();
+		
+		for(Lecture lecture : lectures) {
+			if(lecture != null) {
+				lecture.getStudents().forEach(student -> studentIds.add(student.getMemberId()));
+			}
+		}
+		
+		if(studentIds.isEmpty()) {
+			return;
+		}
+		
+		log.debug("Loading {} students of {} lectures", studentIds.size(), lectures.size());
+		
+		Map<Integer, Member> students = new HashMap<>();
+		List<Integer> ids = new ArrayList<>(studentIds);
+		
+		try {
+			for(int i = 0; i < ids.size(); i += MEMBER_IDS_PER_QUERY) {
+				memberRepository.findAllById(ids.subList(i, Math.min(ids.size(), i + MEMBER_IDS_PER_QUERY)))
+					.forEach(member -> students.put(member.getMemberId(), member));
+			}
+		} catch(DataAccessException e) {
+			log.error(e.getMessage(), e);
+			throw new ServiceException("Failed to load lecture students", e);
+		}
+		
+		for(Lecture lecture : lectures) {
+			if(lecture != null) {
+				for(Member student : lecture.getStudents()) {
+					Member loaded = students.get(student.getMemberId());
+					
+					if(loaded != null) {
+						lecture.removeStudent(student);
+						lecture.addStudent(loaded);
+					}
+				}
+			}
+		}
+	}
+	
+	
+	private ConflictEngine loadBookedPeriods(List<Lecture> lectures) {
+		ConflictEngine conflictEngine = new ConflictEngine();
+		
+		if(lectures.isEmpty()) {
+			return conflictEngine;
+		}
+		
+		Set<Integer> memberIds = new LinkedHashSet<>();
+		LocalDateTime from = lectures.get(0).getDate();
+		LocalDateTime to = lectures.get(0).getEndDate();
+		
+		for(Lecture lecture : lectures) {
+			memberIds.add(lecture.getTeacher().getMemberId());
+			lecture.getStudents().forEach(student -> memberIds.add(student.getMemberId()));
+			
+			if(lecture.getDate().isBefore(from)) {
+				from = lecture.getDate();
+			}
+			if(lecture.getEndDate().isAfter(to)) {
+				to = lecture.getEndDate();
+			}
+		}
+		
+		log.debug("Loading booked periods of {} members in [{} - {}]", memberIds.size(), from, to);
+		
+		Map<Integer, Lecture> bookedLectures = new HashMap<>();
+		List<Integer> ids = new ArrayList<>(memberIds);
+		
+		for(int i = 0; i < ids.size(); i += MEMBER_IDS_PER_QUERY) {
+			List<Integer> chunk = ids.subList(i, Math.min(ids.size(), i + MEMBER_IDS_PER_QUERY));
+			
+			for(BookedPeriod period : repository.findBookedPeriods(chunk, from, to)) {
+				addBookedPeriod(bookedLectures, period);
+			}
+		}
+		
+		bookedLectures.values().forEach(conflictEngine::register);
+		return conflictEngine;
+	}
+	
+	
+	private void addBookedPeriod(Map<Integer, Lecture> bookedLectures, BookedPeriod period) {
+		Lecture booked = bookedLectures.computeIfAbsent(period.getLectureId(), id -> {
+			Lecture lecture = new Lecture();
+			lecture.setLectureId(id);
+			lecture.setDate(period.getDate());
+			lecture.setDuration(period.getDuration());
+			return lecture;
+		});
+		
+		Member member = new Member();
+		member.setMemberId(period.getMemberId());
+		
+		if(Boolean.TRUE.equals(period.getTeaching())) {
+			booked.setTeacher(member);
+		} else {
+			booked.addStudent(member);
+		}
+	}
+	
+	
+	private SchedulingResult checkBatchConflicts(ConflictEngine conflictEngine, Lecture lecture) {
+		if(!conflictEngine.findTeacherConflicts(lecture).isEmpty()) {
+			return SchedulingResult.rejected(lecture, "Teacher already has a lecture scheduled between " 
+					+ lecture.getDate() + " and " + lecture.getEndDate());
+		}
+		
+		if(!conflictEngine.findStudentConflicts(lecture).isEmpty()) {
+			return SchedulingResult.rejected(lecture, "Student(s) already have a lecture scheduled between " 
+					+ lecture.getDate() + " and " + lecture.getEndDate());
+		}
+		return SchedulingResult.scheduled(lecture);
+	}
+	
+	
+	@Override
+	@Transactional(readOnly = true)
 	public Lecture retrieveById(int id) throws ServiceException {
 		validator.validateId(id);
 		log.debug("Retrieving lecture by id {}", id);
@@ -72,6 +286,7 @@ public class LectureServiceImpl implements LectureService, InitializingBean {
 	
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<Lecture> retrieveAll() throws ServiceException {
 		log.debug("Retrieving all lectures");
 		
@@ -88,7 +303,60 @@ public class LectureServiceImpl implements LectureService, InitializingBean {
 	
 	
 	@Override
+	@Transactional(readOnly = true)
+	public Page<LectureRow> retrieveRows(Pageable pageable) throws ServiceException {
+		log.debug("Retrieving lecture rows [{}]", pageable);
+		
+		try {
+			return rowCounter.toPage(repository.findRows(pageable), pageable, 
+					repository::estimateCount, repository::count);
+		} catch(DataAccessException e) {
+			log.error(e.getMessage(), e);
+			throw new ServiceException("Failed to retrieve all lectures", e);
+		}
+	}
+	
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<LectureRow> retrieveRows(Keyset keyset, int limit) throws ServiceException {
+		log.debug("Retrieving [{}] lecture rows from [{}]", limit, keyset);
+		Pageable pageable = PageRequest.of(0, limit);
+		
+		try {
+			List<LectureRow> rows;
+			
+			if(keyset.getOrder() == Keyset.Order.DATE) {
+				if(keyset.isFirst()) {
+					rows = repository.findFirstRowsByDate(pageable);
+				} else if(keyset.isBackward()) {
+					rows = repository.findRowsByDateBefore(keyset.getDate(), keyset.getId(), pageable);
+				} else {
+					rows = repository.findRowsByDateAfter(keyset.getDate(), keyset.getId(), pageable);
+				}
+			} else {
+				if(keyset.isFirst()) {
+					rows = repository.findRows(pageable);
+				} else if(keyset.isBackward()) {
+					rows = repository.findRowsBefore(keyset.getId(), pageable);
+				} else {
+					rows = repository.findRowsAfter(keyset.getId(), pageable);
+				}
+			}
+			
+			return keyset.toDisplayOrder(rows);
+			
+		} catch(DataAccessException e) {
+			log.error(e.getMessage(), e);
+			throw new ServiceException("Failed to retrieve lectures", e);
+		}
+	}
+	
+	
+	@Override
+	@Transactional(rollbackFor = Exception.class)
 	public void update(Lecture lecture) throws ServiceException {
+		loadStudents(Collections.singletonList(lecture));
 		validator.validateUpdatable(lecture);
 		
 		if(log.isDebugEnabled()) {
@@ -96,10 +364,12 @@ public class LectureServiceImpl implements LectureService, InitializingBean {
 		}
 		
 		try {
-			repository.save(lecture);
+			verifyNoScheduleConflicts(lecture);
+			windowCache.invalidate();
+			repository.saveAndFlush(lecture);
 		} catch(DataAccessException e) {
 			log.error(e.getMessage(), e);
-			throw new ServiceException("Failed to update lecture", e);
+			throw translateWriteFailure(e, "Failed to update lecture");
 		}
 		
 		if(log.isInfoEnabled()) {
@@ -123,40 +393,126 @@ public class LectureServiceImpl implements LectureService, InitializingBean {
 			log.error(e.getMessage(), e);
 			throw new ServiceException(e.getMessage(), e);
 		}
+		windowCache.invalidate();
+	}
+	
+	private void verifyNoScheduleConflicts(Lecture lecture) throws ScheduleConflictException {
+		LocalDateTime from = lecture.getDate();
+		LocalDateTime to = lecture.getEndDate();
+		
+		log.debug("Checking schedule conflicts for period [{} - {}]", from, to);
+		
+		if(repository.existsTeacherConflict(
+				lecture.getTeacher().getMemberId(), from, to, lecture.getLectureId())) {
+			log.error("Teacher schedule conflict for lecture [{}]", lecture.stringify());
+			throw new ScheduleConflictException(
+					"Teacher already has a lecture scheduled between " + from + " and " + to);
+		}
+		
+		List<Integer> studentIds = lecture.getStudents().stream()
+				.map(Member::getMemberId)
+				.collect(Collectors.toList());
+		
+		if(!studentIds.isEmpty() && repository.existsStudentConflict(
+				studentIds, from, to, lecture.getLectureId())) {
+			log.error("Student schedule conflict for lecture [{}]", lecture.stringify());
+			throw new ScheduleConflictException(
+					"Student(s) already have a lecture scheduled between " + from + " and " + to);
+		}
+	}
+	
+	
+	private ServiceException translateWriteFailure(DataAccessException e, String message) {
+		Throwable cause = e.getMostSpecificCause();
+		
+		if(cause instanceof SQLException && 
+				EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+			return new ScheduleConflictException(
+					"Teacher already has a lecture scheduled for this time", e);
+		}
+		return new ServiceException(message, e);
 	}
 	
+	
 	@Override
+	@Transactional
 	public List<Lecture> retrieveMonthlyLectures() {
+		return retrieveByDateRange(currentMonthStart(), nextMonthStart());
+	}
+	
+	@Override
+	@Transactional
+	public List<Lecture> retrieveDailyLectures() {
+		return retrieveByDateRange(currentDayStart(), nextDayStart());
+	}
+	
+	@Override
+	@Transactional
+	public List<Lecture> retrieveMonthlyLectures(Member member) throws ServiceException {
+		return retrieveByDateRange(member, currentMonthStart(), nextMonthStart());
+	}
+	
+	@Override
+	@Transactional
+	public List<Lecture> retrieveDailyLectures(Member member) throws ServiceException {
+		return retrieveByDateRange(member, currentDayStart(), nextDayStart());
+	}
+	
+	private List<Lecture> retrieveByDateRange(Member member, LocalDateTime from, 
+			LocalDateTime to) throws ServiceException {
+		log.debug("Retrieving lectures of member [{}] between [{}] and [{}]", 
+				member.getMemberId(), from, to);
 		
-		LocalDateTime monthStart = LocalDateTime.now()
+		try {
+			return windowCache.get(member.getMemberId(), from, to, () -> {
+				List<Lecture> lectures = new ArrayList<>();
+				
+				if(member.getTypeId() != Student.MEMBER_TYPE) {
+					lectures.addAll(repository.findTaughtBetween(member.getMemberId(), from, to));
+				}
+				if(member.getTypeId() != Teacher.MEMBER_TYPE) {
+					lectures.addAll(repository.findAttendedBetween(member.getMemberId(), from, to));
+					lectures.sort(Comparator.comparing(Lecture::getDate));
+				}
+				return lectures;
+			});
+		} catch(DataAccessException e) {
+			log.error(e.getMessage(), e);
+			throw new ServiceException("Failed to retrieve lectures of member", e);
+		}
+	}
+	
+	private static LocalDateTime currentMonthStart() {
+		return LocalDateTime.now()
 				.with(TemporalAdjusters.firstDayOfMonth())
 				.truncatedTo(ChronoUnit.DAYS);
-		
-		LocalDateTime nextMonthStart = LocalDateTime.now()
+	}
+	
+	private static LocalDateTime nextMonthStart() {
+		return LocalDateTime.now()
 				.with(TemporalAdjusters.lastDayOfMonth())
 				.plusDays(1)
 				.truncatedTo(ChronoUnit.DAYS);
-
-		return retrieveByDateRange(monthStart, nextMonthStart);
 	}
 	
-	@Override
-	public List<Lecture> retrieveDailyLectures() {
-		
-		LocalDateTime currentDayStart = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
-		LocalDateTime nextDayStart = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
-
-		return retrieveByDateRange(currentDayStart, nextDayStart);
+	private static LocalDateTime currentDayStart() {
+		return LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+	}
+	
+	private static LocalDateTime nextDayStart() {
+		return LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
 	}
 	
 	private List<Lecture> retrieveByDateRange(LocalDateTime from, LocalDateTime to){
-		List<Lecture> lectures = new LinkedList<>();
-		repository.findByDateBetween(from, to).forEach(lectures::add);
-		return lectures;
-		
+		return windowCache.get(from, to, () -> {
+			List<Lecture> lectures = new LinkedList<>();
+			repository.findByDateBetween(from, to).forEach(lectures::add);
+			return lectures;
+		});
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
 	public Integer getLectureCountFor(Member member) {
 		return repository.countByStudentsMemberIdEquals(member.getMemberId());
 	}
@@ -168,11 +524,15 @@ public class LectureServiceImpl implements LectureService, InitializingBean {
 				(ConfigurableEntityValidator<Lecture>) this.validator;
 		
 		config.addCreationRule(LectureRules.HAS_DATE);
+		config.addCreationRule(LectureRules.HAS_DURATION);
 		config.addCreationRule(LectureRules.HAS_COURSE);
 		config.addCreationRule(LectureRules.HAS_TEACHER);
+		config.addCreationRule(LectureRules.HAS_VALID_STUDENTS);
 		config.addUpdateRule(LectureRules.HAS_DATE);
+		config.addUpdateRule(LectureRules.HAS_DURATION);
 		config.addUpdateRule(LectureRules.HAS_COURSE);
 		config.addUpdateRule(LectureRules.HAS_TEACHER);
+		config.addUpdateRule(LectureRules.HAS_VALID_STUDENTS);
 	}
 
 }
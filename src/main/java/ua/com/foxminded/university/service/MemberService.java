@@ -2,7 +2,12 @@ package ua.com.foxminded.university.service;
 
 import java.util.List;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import ua.com.foxminded.university.domain.entities.Member;
+import ua.com.foxminded.university.repository.Keyset;
+import ua.com.foxminded.university.repository.MemberRow;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
 
 public interface MemberService {
@@ -13,6 +18,12 @@ public interface MemberService {
 
 	List<Member> retrieveAll() throws ServiceException;
 
+	Page<MemberRow> retrieveRows(Pageable pageable) throws ServiceException;
+
+	Page<MemberRow> retrieveRows(int typeId, Pageable pageable) throws ServiceException;
+
+	List<MemberRow> retrieveRows(Keyset keyset, int limit) throws ServiceException;
+
 	void update(Member member) throws ServiceException;
 
 	void delete(Member member) throws ServiceException;
@@ -11,14 +11,21 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import ua.com.foxminded.university.domain.entities.Lecture;
 import ua.com.foxminded.university.domain.entities.Member;
 import ua.com.foxminded.university.domain.entities.Student;
 import ua.com.foxminded.university.domain.entities.Teacher;
+import ua.com.foxminded.university.repository.Keyset;
 import ua.com.foxminded.university.repository.MemberRepository;
+import ua.com.foxminded.university.repository.MemberRow;
+import ua.com.foxminded.university.service.caches.LectureWindowCache;
+import ua.com.foxminded.university.service.caches.ReferenceCache;
+import ua.com.foxminded.university.service.counters.RowCounter;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
 import ua.com.foxminded.university.service.trackers.MemberTracker;
 import ua.com.foxminded.university.service.validators.ConfigurableEntityValidator;
@@ -41,6 +48,15 @@ public class MemberServiceImpl implements MemberService, InitializingBean {
 	@Autowired
 	private MemberTracker typeTracker;
 	
+	@Autowired
+	private RowCounter rowCounter;
+	
+	@Autowired
+	private ReferenceCache referenceCache;
+	
+	@Autowired
+	private LectureWindowCache windowCache;
+	
 	private static final Logger log = LoggerFactory.getLogger(MemberServiceImpl.class);
 
 	@Override
@@ -65,6 +81,7 @@ public class MemberServiceImpl implements MemberService, InitializingBean {
 	
 
 	@Override
+	@Transactional(readOnly = true)
 	public Member retrieveById(int id) throws ServiceException {
 		validator.validateId(id);
 		log.debug("Retrieving member by id [{}]", id);
@@ -85,6 +102,7 @@ public class MemberServiceImpl implements MemberService, InitializingBean {
 	
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<Member> retrieveAll() throws ServiceException {
 		log.debug("retrieving all members");
 		try {
@@ -102,6 +120,69 @@ public class MemberServiceImpl implements MemberService, InitializingBean {
 	}
 	
 
+	@Override
+	@Transactional(readOnly = true)
+	public Page<MemberRow> retrieveRows(Pageable pageable) throws ServiceException {
+		log.debug("retrieving member rows [{}]", pageable);
+		try {
+			return trackRowTypes(rowCounter.toPage(repository.findRows(pageable), pageable, 
+					repository::estimateCount, repository::count));
+		} catch(DataAccessException e) {
+			log.error(e.getMessage(), e);
+			throw new ServiceException("Failed to retrieve members", e);
+		}
+	}
+	
+
+	@Override
+	@Transactional(readOnly = true)
+	public Page<MemberRow> retrieveRows(int typeId, Pageable pageable) throws ServiceException {
+		log.debug("retrieving member rows of type [{}], [{}]", typeId, pageable);
+		try {
+			return trackRowTypes(repository.findRowsByTypeId(typeId, pageable));
+		} catch(DataAccessException e) {
+			log.error(e.getMessage(), e);
+			throw new ServiceException("Failed to retrieve members", e);
+		}
+	}
+	
+	
+	@Override
+	@Transactional(readOnly = true)
+	public List<MemberRow> retrieveRows(Keyset keyset, int limit) throws ServiceException {
+		log.debug("retrieving [{}] member rows from [{}]", limit, keyset);
+		
+		if(keyset.getOrder() != Keyset.Order.ID) {
+			throw new ServiceException("Members can only be paged in id order");
+		}
+		
+		Pageable pageable = PageRequest.of(0, limit);
+		try {
+			List<MemberRow> rows;
+			
+			if(keyset.isFirst()) {
+				rows = repository.findRows(pageable);
+			} else if(keyset.isBackward()) {
+				rows = repository.findRowsBefore(keyset.getId(), pageable);
+			} else {
+				rows = repository.findRowsAfter(keyset.getId(), pageable);
+			}
+			
+			return trackRowTypes(keyset.toDisplayOrder(rows));
+			
+		} catch(DataAccessException e) {
+			log.error(e.getMessage(), e);
+			throw new ServiceException("Failed to retrieve members", e);
+		}
+	}
+	
+	
+	private <R extends Iterable<MemberRow>> R trackRowTypes(R rows) {
+		rows.forEach(row -> typeTracker.trackType(row.toMember()));
+		return rows;
+	}
+	
+
 	@Override
 	public void update(Member member) throws ServiceException {
 		validator.validateUpdatable(member);
@@ -118,6 +199,8 @@ public class MemberServiceImpl implements MemberService, InitializingBean {
 			log.error(e.getMessage(), e);
 			throw new ServiceException("Failed to update member", e);
 		}
+		referenceCache.evict(Member.class);
+		windowCache.invalidate();
 		log.info("Member updated with data [{}]", member);
 	}
 	
@@ -135,6 +218,7 @@ public class MemberServiceImpl implements MemberService, InitializingBean {
 	
 	
 	@Override
+	@Transactional(readOnly = true)
 	public Integer getLectureCount(Member member) throws ServiceException {
 		try {
 			return lectureService.getLectureCountFor(member);
@@ -153,23 +237,36 @@ public class MemberServiceImpl implements MemberService, InitializingBean {
 		log.debug("Deleting member [{}]", member);
 		
 		try {
-			removeFromLectures(member);
-			repository.delete(upCast.apply(member));
+			Member managedMember = repository.findById(member.getMemberId())
+					.orElseThrow(() -> new ServiceException("Member not found"));
+			removeFromLectures(managedMember);
+			repository.delete(managedMember);
 		} catch(DataAccessException e) {
 			log.error(e.getMessage(), e);
 			throw new ServiceException("Failed to delete member", e);
 		}
+		referenceCache.evict(Member.class);
+		windowCache.invalidate();
 	}
 	
-	private void removeFromLectures(Member member) {
-		for(Lecture lecture : member.getLectures()) {
-			lecture.removeStudent(member);
+	private void removeFromLectures(Member member) throws ServiceException {
+		int memberId = member.getMemberId();
+		
+		if(member.getTypeId() == Teacher.MEMBER_TYPE) {
+			if(repository.countTaughtLectures(memberId) > 0) {
+				log.error("Unacceptable deletion of [{}]", member);
+				
+				throw new ServiceException(
+						"Unacceptable deletion. Teacher cannot be deleted - "
+						+ "found scheduled lectures for id " + memberId);
+			}
+		} else {
+			log.debug("Deleted [{}] enrollments of student [{}]", 
+					repository.deleteEnrollments(memberId), memberId);
 		}
 	}
 
 	
-	UnaryOperator<Member> upCast = Member::new;
-			
 	UnaryOperator<Member> downCast = m -> 
 			(m.getTypeId() == Teacher.MEMBER_TYPE)? new Teacher(m) : new Student(m);
 			
@@ -2,10 +2,12 @@ package ua.com.foxminded.university.service;
 
 import java.util.List;
 
+import ua.com.foxminded.university.domain.ScheduleConflict;
 import ua.com.foxminded.university.domain.University;
 import ua.com.foxminded.university.domain.entities.Lecture;
 import ua.com.foxminded.university.domain.entities.Member;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.results.SchedulingResult;
 
 public interface UniversityService {
 
@@ -15,10 +17,14 @@ public interface UniversityService {
 
 	List<Lecture> retrieveDailySchedule(Member member) throws ServiceException;
 
+	List<ScheduleConflict> retrieveScheduleConflicts() throws ServiceException;
+
 	void addMember(Member member) throws ServiceException;
 
 	void scheduleLecture(Lecture lecture) throws ServiceException;
 
+	List<SchedulingResult> scheduleLectures(List<Lecture> lectures) throws ServiceException;
+
 	void cancelLecture(Lecture lecture) throws ServiceException;
 
 }
\ No newline at end of file
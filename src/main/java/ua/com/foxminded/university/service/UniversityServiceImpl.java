@@ -3,7 +3,6 @@ package ua.com.foxminded.university.service;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.function.BiPredicate;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -11,7 +10,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import ua.com.foxminded.university.domain.ConflictSweep;
+import ua.com.foxminded.university.domain.ScheduleConflict;
 import ua.com.foxminded.university.domain.University;
 import ua.com.foxminded.university.domain.UniversityData;
 import ua.com.foxminded.university.domain.entities.Lecture;
@@ -19,6 +21,7 @@ import ua.com.foxminded.university.domain.entities.Member;
 import ua.com.foxminded.university.domain.entities.Student;
 import ua.com.foxminded.university.domain.entities.Teacher;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.results.SchedulingResult;
 
 @Service
 public class UniversityServiceImpl implements UniversityService {
@@ -32,6 +35,7 @@ public class UniversityServiceImpl implements UniversityService {
 	private static final Logger log = LoggerFactory.getLogger(UniversityServiceImpl.class);
 
 	@Override
+	@Transactional(readOnly = true)
 	public University retrieveUniversity() throws ServiceException {
 		log.info("Retrieving university");
 		
@@ -44,6 +48,7 @@ public class UniversityServiceImpl implements UniversityService {
 
 	
 	@Override
+	@Transactional(readOnly = true)
 	public List<Lecture> retrieveMonthlySchedule(Member member) throws ServiceException {
 		if(member == null || member.getMemberId() < 1) {
 			log.error("ailed to retrieve monthly schedule for member [{}]", member);
@@ -52,13 +57,12 @@ public class UniversityServiceImpl implements UniversityService {
 		
 		log.debug("retrieving monthly schedule for member [{}]", member);
 		
-		List<Lecture> lectures = lectureService.retrieveMonthlyLectures();
-				
-		return filterByMember(lectures, member);
+		return lectureService.retrieveMonthlyLectures(member);
 	}
 
 
 	@Override
+	@Transactional(readOnly = true)
 	public List<Lecture> retrieveDailySchedule(Member member) throws ServiceException {
 		if(member == null || member.getMemberId() < 1) {
 			log.error("failed to retrieve daily schedule for member [{}]", member);
@@ -67,21 +71,22 @@ public class UniversityServiceImpl implements UniversityService {
 		
 		log.debug("retrieving daily schedule for member [{}]", member);
 		
-		List<Lecture> lectures = lectureService.retrieveDailyLectures();
-		
-		return filterByMember(lectures, member);
+		return lectureService.retrieveDailyLectures(member);
 	}
 	
 	
-	private List<Lecture> filterByMember(List<Lecture> lectures, Member member){
-		BiPredicate<Lecture, Member> hasMember = 
-				(l, m) -> (l.getTeacher().equals(m) || l.getStudents().contains(m));
-		return lectures.stream()
-				.filter(l -> hasMember.test(l, member))
-				.collect(Collectors.toList());
+	@Override
+	@Transactional(readOnly = true)
+	public List<ScheduleConflict> retrieveScheduleConflicts() throws ServiceException {
+		log.info("Retrieving schedule conflicts");
+		
+		List<ScheduleConflict> conflicts = new ConflictSweep().findConflicts(retrieveAllLectures());
+		
+		log.debug("{} conflict groups found", conflicts.size());
+		return conflicts;
 	}
-
-
+	
+	
 	@Override
 	public void addMember(Member member) throws ServiceException {
 		if(member == null) {
@@ -124,6 +129,25 @@ public class UniversityServiceImpl implements UniversityService {
 	}
 
 
+	@Override
+	public List<SchedulingResult> scheduleLectures(List<Lecture> lectures) throws ServiceException {
+		if(lectures == null) {
+			log.error("failed to schedule lectures [{}]", lectures);
+			throw new ServiceException("Lecture list is null");
+		}
+		
+		log.debug("scheduling {} lectures", lectures.size());
+		
+		List<SchedulingResult> results = lectureService.createAll(lectures);
+		
+		if(log.isDebugEnabled()) {
+			log.debug("{} lectures scheduled", 
+					results.stream().filter(SchedulingResult::isScheduled).count());
+		}
+		return results;
+	}
+
+
 	@Override
 	public void cancelLecture(Lecture lecture) throws ServiceException {
 		if(lecture == null || lecture.getLectureId() < 1) {
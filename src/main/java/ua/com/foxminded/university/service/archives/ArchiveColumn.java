@@ -0,0 +1,17 @@
+package ua.com.foxminded.university.service.archives;
+
+/**
+ * {@link #STUDENT_ID} holds one value per enrollment, {@link #STUDENT_COUNT} per row.
+ */
+enum ArchiveColumn {
+	LECTURE_ID,
+	START,
+	DURATION,
+	COURSE_ID,
+	COURSE_SUBJECT,
+	TEACHER_ID,
+	TEACHER_FIRST_NAME,
+	TEACHER_LAST_NAME,
+	STUDENT_COUNT,
+	STUDENT_ID
+}
@@ -0,0 +1,195 @@
+package ua.com.foxminded.university.service.archives;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import ua.com.foxminded.university.service.results.ArchivedLecture;
+
+/**
+ * Prepared month files only replace the published ones on {@link #publish}.
+ */
+@Component
+public class ArchiveStore {
+
+	private static final Logger log = LoggerFactory.getLogger(ArchiveStore.class);
+
+	static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("'lectures-'yyyy-MM");
+	static final String DATA_SUFFIX = ".dat";
+	static final String INDEX_SUFFIX = ".idx";
+
+	private static final Comparator<ArchivedLecture> ORDER = Comparator
+			.comparing(ArchivedLecture::getDate)
+			.thenComparingInt(ArchivedLecture::getLectureId);
+
+	@Value("${university.archive.directory:archive}")
+	private Path directory;
+
+	private final Map<YearMonth, MonthArchiveReader> readers = new HashMap<>();
+
+	public ArchiveStore() {
+	}
+
+	ArchiveStore(Path directory) {
+		this.directory = directory;
+	}
+
+
+	public int write(YearMonth month, Collection<ArchivedLecture> lectures) throws IOException {
+		PendingArchive archive = prepare(month, lectures);
+		try {
+			publish(archive);
+		} finally {
+			discard(archive);
+		}
+		return archive.getLectureCount();
+	}
+
+
+	public synchronized PendingArchive prepare(YearMonth month, Collection<ArchivedLecture> lectures) 
+			throws IOException {
+		Map<Integer, ArchivedLecture> merged = new LinkedHashMap<>();
+		MonthArchiveReader existing = reader(month);
+		if(existing != null) {
+			for(ArchivedLecture lecture : existing.readAll()) {
+				merged.put(lecture.getLectureId(), lecture);
+			}
+		}
+		for(ArchivedLecture lecture : lectures) {
+			merged.put(lecture.getLectureId(), lecture);
+		}
+		List<ArchivedLecture> sorted = new ArrayList<>(merged.values());
+		sorted.sort(ORDER);
+
+		Files.createDirectories(directory);
+		long stamp = ThreadLocalRandom.current().nextLong();
+		PendingArchive archive = new PendingArchive(month, temp(file(month, DATA_SUFFIX), stamp), 
+				temp(file(month, INDEX_SUFFIX), stamp), sorted.size());
+		try {
+			MonthArchiveWriter.writeData(archive.data, month, sorted, stamp);
+			MonthArchiveWriter.writeIndex(archive.index, month, sorted, stamp);
+		} catch(IOException | RuntimeException e) {
+			discard(archive);
+			throw e;
+		}
+
+		log.debug("archive of [{}] prepared with {} lectures", month, sorted.size());
+		return archive;
+	}
+
+
+	public synchronized void publish(PendingArchive archive) throws IOException {
+		try {
+			Files.move(archive.data, file(archive.month, DATA_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+			Files.move(archive.index, file(archive.month, INDEX_SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			readers.remove(archive.month);
+		}
+		log.debug("archive of [{}] published", archive.month);
+	}
+
+
+	public void discard(PendingArchive archive) throws IOException {
+		Files.deleteIfExists(archive.data);
+		Files.deleteIfExists(archive.index);
+	}
+
+
+	/**
+	 * Archived lectures taught or attended by the member starting within
+	 * [from, to), in order of start.
+	 */
+	public List<ArchivedLecture> find(int memberId, LocalDateTime from, LocalDateTime to) throws IOException {
+		List<ArchivedLecture> found = new ArrayList<>();
+		for(YearMonth month = YearMonth.from(from); month.atDay(1).atStartOfDay().isBefore(to);
+				month = month.plusMonths(1)) {
+			MonthArchiveReader reader = reader(month);
+			if(reader != null) {
+				found.addAll(reader.read(reader.findRows(memberId, from, to)));
+			}
+		}
+		return found;
+	}
+
+
+	private synchronized MonthArchiveReader reader(YearMonth month) throws IOException {
+		MonthArchiveReader reader = readers.get(month);
+		if(reader != null) {
+			return reader;
+		}
+		Path data = file(month, DATA_SUFFIX);
+		if(!Files.exists(data)) {
+			return null;
+		}
+		Path index = file(month, INDEX_SUFFIX);
+		reader = MonthArchiveReader.open(month, data, Files.exists(index) ? index : null);
+		if(!reader.isIndexCurrent()) {
+			log.warn("archive index of [{}] is missing or out of date, rebuilding", month);
+			Path indexTemp = temp(index, reader.getStamp());
+			try {
+				MonthArchiveWriter.writeIndex(indexTemp, month, reader.readAll(), reader.getStamp());
+				Files.move(indexTemp, index, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(indexTemp);
+			}
+			reader = MonthArchiveReader.open(month, data, index);
+		}
+		readers.put(month, reader);
+		return reader;
+	}
+
+
+	private Path file(YearMonth month, String suffix) {
+		return directory.resolve(FILE_NAME.format(month) + suffix);
+	}
+
+
+	private static Path temp(Path file, long stamp) {
+		return file.resolveSibling(file.getFileName() + "." + Long.toHexString(stamp) + ".tmp");
+	}
+
+
+	public static class PendingArchive {
+
+		private final YearMonth month;
+		private final Path data;
+		private final Path index;
+		private final int lectureCount;
+
+		private PendingArchive(YearMonth month, Path data, Path index, int lectureCount) {
+			this.month = month;
+			this.data = data;
+			this.index = index;
+			this.lectureCount = lectureCount;
+		}
+
+		public YearMonth getMonth() {
+			return month;
+		}
+
+		public Path getData() {
+			return data;
+		}
+
+		public int getLectureCount() {
+			return lectureCount;
+		}
+	}
+}
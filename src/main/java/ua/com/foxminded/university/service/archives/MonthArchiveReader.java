@@ -0,0 +1,255 @@
+package ua.com.foxminded.university.service.archives;
+
+import static ua.com.foxminded.university.service.archives.MonthArchiveWriter.COLUMN_ENTRY_SIZE;
+import static ua.com.foxminded.university.service.archives.MonthArchiveWriter.DATA_MAGIC;
+import static ua.com.foxminded.university.service.archives.MonthArchiveWriter.DATA_HEADER_SIZE;
+import static ua.com.foxminded.university.service.archives.MonthArchiveWriter.INDEX_ENTRY_SIZE;
+import static ua.com.foxminded.university.service.archives.MonthArchiveWriter.INDEX_HEADER_SIZE;
+import static ua.com.foxminded.university.service.archives.MonthArchiveWriter.INDEX_MAGIC;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import ua.com.foxminded.university.service.results.ArchivedLecture;
+
+/**
+ * Buffers are never repositioned, so one reader serves concurrent queries.
+ */
+final class MonthArchiveReader {
+
+	private final YearMonth month;
+	private final ByteBuffer data;
+	private final ByteBuffer index;
+	private final long stamp;
+	private final int rowCount;
+	private final int groupSize;
+	private final int entryCount;
+
+	private MonthArchiveReader(YearMonth month, ByteBuffer data, ByteBuffer index) throws IOException {
+		this.month = month;
+		this.data = data;
+		if(data.capacity() < DATA_HEADER_SIZE || data.getInt(0) != DATA_MAGIC) {
+			throw new IOException("Not a lecture archive of " + month);
+		}
+		this.stamp = data.getLong(4);
+		this.rowCount = data.getInt(12);
+		this.groupSize = data.getInt(16);
+		if(index != null && (index.capacity() < INDEX_HEADER_SIZE || index.getInt(0) != INDEX_MAGIC
+				|| index.getLong(4) != stamp)) {
+			index = null;
+		}
+		this.index = index;
+		this.entryCount = index == null ? 0 : index.getInt(12);
+	}
+
+
+	static MonthArchiveReader open(YearMonth month, Path dataFile, Path indexFile) throws IOException {
+		return new MonthArchiveReader(month, map(dataFile), indexFile == null ? null : map(indexFile));
+	}
+
+
+	long getStamp() {
+		return stamp;
+	}
+
+
+	boolean isIndexCurrent() {
+		return index != null;
+	}
+
+
+	/**
+	 * Rows of lectures taught or attended by the member starting within
+	 * [from, to), in order of start.
+	 */
+	int[] findRows(int memberId, LocalDateTime from, LocalDateTime to) {
+		if(index == null) {
+			throw new IllegalStateException("Archive index of " + month + " is not current");
+		}
+		int fromSecond = clampedSeconds(from);
+		int toSecond = clampedSeconds(to);
+
+		int low = 0;
+		int high = entryCount;
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			int position = INDEX_HEADER_SIZE + middle * INDEX_ENTRY_SIZE;
+			int entryMember = index.getInt(position);
+			if(entryMember < memberId
+					|| entryMember == memberId && index.getInt(position + 4) < fromSecond) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		int[] rows = new int[16];
+		int found = 0;
+		for(int entry = low; entry < entryCount; entry++) {
+			int position = INDEX_HEADER_SIZE + entry * INDEX_ENTRY_SIZE;
+			if(index.getInt(position) != memberId || index.getInt(position + 4) >= toSecond) {
+				break;
+			}
+			if(found == rows.length) {
+				rows = Arrays.copyOf(rows, found * 2);
+			}
+			rows[found++] = index.getInt(position + 8);
+		}
+		return Arrays.copyOf(rows, found);
+	}
+
+
+	List<ArchivedLecture> readAll() throws IOException {
+		int[] rows = new int[rowCount];
+		for(int row = 0; row < rowCount; row++) {
+			rows[row] = row;
+		}
+		return read(rows);
+	}
+
+
+	/**
+	 * Lectures of the given rows, which are expected in ascending order.
+	 */
+	List<ArchivedLecture> read(int[] rows) throws IOException {
+		List<ArchivedLecture> lectures = new ArrayList<>(rows.length);
+		LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+		RowGroup group = null;
+		for(int row : rows) {
+			if(group == null || row / groupSize != group.number) {
+				group = new RowGroup(row / groupSize);
+			}
+			lectures.add(group.lecture(row % groupSize, monthStart));
+		}
+		return lectures;
+	}
+
+
+	private int clampedSeconds(LocalDateTime date) {
+		LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+		if(date.isBefore(monthStart)) {
+			return 0;
+		}
+		LocalDateTime monthEnd = month.plusMonths(1).atDay(1).atStartOfDay();
+		return MonthArchiveWriter.secondsFromStart(month, date.isAfter(monthEnd) ? monthEnd : date);
+	}
+
+
+	private int[] ints(int group, ArchiveColumn column) throws IOException {
+		ByteBuffer raw = ByteBuffer.wrap(inflate(group, column));
+		int[] values = new int[raw.remaining() / Integer.BYTES];
+		raw.asIntBuffer().get(values);
+		return values;
+	}
+
+
+	private String[] strings(int group, ArchiveColumn column, int count) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(inflate(group, column)));
+		String[] values = new String[count];
+		for(int row = 0; row < count; row++) {
+			values[row] = in.readUTF();
+		}
+		return values;
+	}
+
+
+	private byte[] inflate(int group, ArchiveColumn column) throws IOException {
+		int position = DATA_HEADER_SIZE
+				+ (group * ArchiveColumn.values().length + column.ordinal()) * COLUMN_ENTRY_SIZE;
+		long offset = data.getLong(position);
+		int length = data.getInt(position + 8);
+		byte[] raw = new byte[data.getInt(position + 12)];
+
+		byte[] block = new byte[length];
+		ByteBuffer source = data.duplicate();
+		source.position((int) offset);
+		source.get(block);
+
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(block);
+			int inflated = 0;
+			while(inflated < raw.length && !inflater.finished()) {
+				int count = inflater.inflate(raw, inflated, raw.length - inflated);
+				if(count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				inflated += count;
+			}
+			if(inflated != raw.length) {
+				throw new IOException("Truncated " + column + " column in archive of " + month);
+			}
+			return raw;
+		} catch(DataFormatException e) {
+			throw new IOException("Corrupt " + column + " column in archive of " + month, e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+
+	private final class RowGroup {
+
+		private final int number;
+		private final int[] lectureIds;
+		private final int[] starts;
+		private final int[] durations;
+		private final int[] courseIds;
+		private final String[] subjects;
+		private final int[] teacherIds;
+		private final String[] firstNames;
+		private final String[] lastNames;
+		private final int[] studentIds;
+		private final int[] studentOffsets;
+
+		private RowGroup(int number) throws IOException {
+			this.number = number;
+			int count = Math.min(groupSize, rowCount - number * groupSize);
+			lectureIds = ints(number, ArchiveColumn.LECTURE_ID);
+			starts = ints(number, ArchiveColumn.START);
+			durations = ints(number, ArchiveColumn.DURATION);
+			courseIds = ints(number, ArchiveColumn.COURSE_ID);
+			subjects = strings(number, ArchiveColumn.COURSE_SUBJECT, count);
+			teacherIds = ints(number, ArchiveColumn.TEACHER_ID);
+			firstNames = strings(number, ArchiveColumn.TEACHER_FIRST_NAME, count);
+			lastNames = strings(number, ArchiveColumn.TEACHER_LAST_NAME, count);
+			studentIds = ints(number, ArchiveColumn.STUDENT_ID);
+
+			int[] studentCounts = ints(number, ArchiveColumn.STUDENT_COUNT);
+			studentOffsets = new int[count + 1];
+			for(int row = 0; row < count; row++) {
+				studentOffsets[row + 1] = studentOffsets[row] + studentCounts[row];
+			}
+		}
+
+		private ArchivedLecture lecture(int row, LocalDateTime monthStart) {
+			List<Integer> students = new ArrayList<>(studentOffsets[row + 1] - studentOffsets[row]);
+			for(int i = studentOffsets[row]; i < studentOffsets[row + 1]; i++) {
+				students.add(studentIds[i]);
+			}
+			return new ArchivedLecture(lectureIds[row], monthStart.plusSeconds(starts[row]),
+					durations[row], courseIds[row], subjects[row], teacherIds[row],
+					firstNames[row], lastNames[row], students);
+		}
+	}
+
+
+	private static ByteBuffer map(Path file) throws IOException {
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return channel.map(MapMode.READ_ONLY, 0, channel.size());
+		}
+	}
+}
@@ -0,0 +1,194 @@
+package ua.com.foxminded.university.service.archives;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import ua.com.foxminded.university.service.results.ArchivedLecture;
+
+/**
+ * Data and index files carry the same stamp, so a stale index is told apart.
+ */
+final class MonthArchiveWriter {
+
+	static final int DATA_MAGIC = 0x554c4144;
+	static final int INDEX_MAGIC = 0x554c4149;
+	static final int GROUP_SIZE = 1024;
+	static final int DATA_HEADER_SIZE = 20;
+	static final int INDEX_HEADER_SIZE = 16;
+	static final int COLUMN_ENTRY_SIZE = 16;
+	static final int INDEX_ENTRY_SIZE = 12;
+
+	private MonthArchiveWriter() {
+	}
+
+
+	static void writeData(Path file, YearMonth month, List<ArchivedLecture> lectures, long stamp)
+			throws IOException {
+		int columnCount = ArchiveColumn.values().length;
+		int groupCount = (lectures.size() + GROUP_SIZE - 1) / GROUP_SIZE;
+		ByteBuffer header = ByteBuffer.allocate(DATA_HEADER_SIZE
+				+ groupCount * columnCount * COLUMN_ENTRY_SIZE);
+		header.putInt(DATA_MAGIC).putLong(stamp).putInt(lectures.size()).putInt(GROUP_SIZE);
+
+		List<byte[]> blocks = new ArrayList<>(groupCount * columnCount);
+		long offset = header.capacity();
+		for(int group = 0; group < groupCount; group++) {
+			List<ArchivedLecture> rows = lectures.subList(group * GROUP_SIZE,
+					Math.min(lectures.size(), (group + 1) * GROUP_SIZE));
+			for(ArchiveColumn column : ArchiveColumn.values()) {
+				byte[] raw = encode(column, month, rows);
+				byte[] block = deflate(raw);
+				header.putLong(offset).putInt(block.length).putInt(raw.length);
+				blocks.add(block);
+				offset += block.length;
+			}
+		}
+		header.flip();
+
+		try(FileChannel channel = create(file)) {
+			writeFully(channel, header);
+			for(byte[] block : blocks) {
+				writeFully(channel, ByteBuffer.wrap(block));
+			}
+			channel.force(true);
+		}
+	}
+
+
+	static void writeIndex(Path file, YearMonth month, List<ArchivedLecture> lectures, long stamp)
+			throws IOException {
+		int entryCount = 0;
+		for(ArchivedLecture lecture : lectures) {
+			entryCount += 1 + lecture.getStudentIds().size();
+		}
+
+		// rows are in order of start, so ordering by member and row orders by member and start
+		long[] keys = new long[entryCount];
+		int[] starts = new int[lectures.size()];
+		int entry = 0;
+		for(int row = 0; row < lectures.size(); row++) {
+			ArchivedLecture lecture = lectures.get(row);
+			starts[row] = secondsFromStart(month, lecture.getDate());
+			keys[entry++] = key(lecture.getTeacherId(), row);
+			for(int studentId : lecture.getStudentIds()) {
+				keys[entry++] = key(studentId, row);
+			}
+		}
+		Arrays.sort(keys);
+
+		ByteBuffer buffer = ByteBuffer.allocate(INDEX_HEADER_SIZE + entryCount * INDEX_ENTRY_SIZE);
+		buffer.putInt(INDEX_MAGIC).putLong(stamp).putInt(entryCount);
+		for(long key : keys) {
+			int row = (int) key;
+			buffer.putInt((int) (key >>> 32)).putInt(starts[row]).putInt(row);
+		}
+		buffer.flip();
+
+		try(FileChannel channel = create(file)) {
+			writeFully(channel, buffer);
+			channel.force(true);
+		}
+	}
+
+
+	static int secondsFromStart(YearMonth month, LocalDateTime date) {
+		return (int) ChronoUnit.SECONDS.between(month.atDay(1).atStartOfDay(), date);
+	}
+
+
+	private static long key(int memberId, int row) {
+		return (long) memberId << 32 | row;
+	}
+
+
+	private static byte[] encode(ArchiveColumn column, YearMonth month, List<ArchivedLecture> lectures)
+			throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		for(ArchivedLecture lecture : lectures) {
+			switch(column) {
+			case LECTURE_ID:
+				out.writeInt(lecture.getLectureId());
+				break;
+			case START:
+				out.writeInt(secondsFromStart(month, lecture.getDate()));
+				break;
+			case DURATION:
+				out.writeInt(lecture.getDuration());
+				break;
+			case COURSE_ID:
+				out.writeInt(lecture.getCourseId());
+				break;
+			case COURSE_SUBJECT:
+				out.writeUTF(nonNull(lecture.getCourseSubject()));
+				break;
+			case TEACHER_ID:
+				out.writeInt(lecture.getTeacherId());
+				break;
+			case TEACHER_FIRST_NAME:
+				out.writeUTF(nonNull(lecture.getTeacherFirstName()));
+				break;
+			case TEACHER_LAST_NAME:
+				out.writeUTF(nonNull(lecture.getTeacherLastName()));
+				break;
+			case STUDENT_COUNT:
+				out.writeInt(lecture.getStudentIds().size());
+				break;
+			case STUDENT_ID:
+				for(int studentId : lecture.getStudentIds()) {
+					out.writeInt(studentId);
+				}
+				break;
+			}
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+
+	private static String nonNull(String value) {
+		return value == null ? "" : value;
+	}
+
+
+	private static byte[] deflate(byte[] raw) {
+		Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		try {
+			deflater.setInput(raw);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+			byte[] buffer = new byte[8192];
+			while(!deflater.finished()) {
+				out.write(buffer, 0, deflater.deflate(buffer));
+			}
+			return out.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+
+	private static FileChannel create(Path file) throws IOException {
+		return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while(buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package ua.com.foxminded.university.service.caches;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class AfterCommit {
+	
+	private AfterCommit() {
+	}
+	
+	
+	static void run(Runnable action) {
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		
+		TransactionSynchronizationManager.registerSynchronization(
+				new TransactionSynchronizationAdapter() {
+					@Override
+					public void afterCommit() {
+						action.run();
+					}
+				});
+	}
+}
@@ -0,0 +1,127 @@
+package ua.com.foxminded.university.service.caches;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import ua.com.foxminded.university.domain.entities.Lecture;
+
+/**
+ * Windows are evicted after the writing transaction commits and bypassed inside it;
+ * a load racing an eviction is not stored.
+ */
+@Component
+public class LectureWindowCache {
+
+	private static final int MAX_WINDOWS = 10_000;
+
+	private final Map<Window, List<Lecture>> windows = new ConcurrentHashMap<>();
+	private final AtomicLong generation = new AtomicLong();
+
+	private static final Logger log = LoggerFactory.getLogger(LectureWindowCache.class);
+
+
+	public List<Lecture> get(LocalDateTime from, LocalDateTime to,
+			Supplier<List<Lecture>> loader) {
+		return get(new Window(null, from, to), loader);
+	}
+
+
+	public List<Lecture> get(int memberId, LocalDateTime from, LocalDateTime to,
+			Supplier<List<Lecture>> loader) {
+		return get(new Window(memberId, from, to), loader);
+	}
+
+
+	private List<Lecture> get(Window window, Supplier<List<Lecture>> loader) {
+		if(TransactionSynchronizationManager.hasResource(this)) {
+			return Collections.unmodifiableList(loader.get());
+		}
+		
+		LocalDateTime now = LocalDateTime.now();
+		windows.keySet().removeIf(cached -> !cached.to.isAfter(now));
+
+		List<Lecture> lectures = windows.get(window);
+
+		if(lectures == null) {
+			long loadGeneration = generation.get();
+			lectures = Collections.unmodifiableList(loader.get());
+
+			if(loadGeneration == generation.get() && windows.size() < MAX_WINDOWS) {
+				windows.put(window, lectures);
+			}
+			log.debug("Loaded [{}] lectures of window [{}, {} - {}]", 
+					lectures.size(), window.memberId, window.from, window.to);
+		}
+		return lectures;
+	}
+
+
+	public void invalidate() {
+		if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+			evict();
+		} else if(!TransactionSynchronizationManager.hasResource(this)) {
+			TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+			TransactionSynchronizationManager.registerSynchronization(
+					new TransactionSynchronizationAdapter() {
+						@Override
+						public void afterCommit() {
+							evict();
+						}
+						
+						@Override
+						public void afterCompletion(int status) {
+							TransactionSynchronizationManager.unbindResourceIfPossible(LectureWindowCache.this);
+						}
+					});
+		}
+	}
+
+
+	private void evict() {
+		generation.incrementAndGet();
+		windows.clear();
+		log.debug("Lecture windows invalidated");
+	}
+
+
+	private static final class Window {
+
+		private final Integer memberId;
+		private final LocalDateTime from;
+		private final LocalDateTime to;
+
+		private Window(Integer memberId, LocalDateTime from, LocalDateTime to) {
+			this.memberId = memberId;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(memberId, from, to);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (obj == null || getClass() != obj.getClass())
+				return false;
+			Window other = (Window) obj;
+			return Objects.equals(memberId, other.memberId) 
+					&& Objects.equals(from, other.from) && Objects.equals(to, other.to);
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package ua.com.foxminded.university.service.caches;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+
+/**
+ * Region evictions run after the surrounding transaction commits.
+ */
+@Component
+public class ReferenceCache {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private static final String QUERY_RESULTS_REGION = 
+			RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+	
+	private static final Logger log = LoggerFactory.getLogger(ReferenceCache.class);
+
+
+	public void evict(Class<?> entityClass) {
+		AfterCommit.run(() -> {
+			log.debug("Evicting cache region of [{}]", entityClass.getSimpleName());
+			entityManagerFactory.getCache().evict(entityClass);
+		});
+	}
+
+
+	public void evictQueryResults() {
+		AfterCommit.run(() -> {
+			log.debug("Evicting cached query results");
+			entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegions();
+		});
+	}
+
+
+	public Map<String, RegionStatistics> getRegionStatistics() throws ServiceException {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		if(!statistics.isStatisticsEnabled()) {
+			throw new ServiceException(
+					"Cache statistics are disabled - run with the statistics profile to collect them");
+		}
+		
+		Map<String, RegionStatistics> regions = new TreeMap<>();
+
+		for(String regionName : statistics.getSecondLevelCacheRegionNames()) {
+			CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+
+			if(region != null) {
+				regions.put(regionName, RegionStatistics.of(region));
+			}
+		}
+
+		CacheRegionStatistics queryRegion = 
+				statistics.getQueryRegionStatistics(QUERY_RESULTS_REGION);
+		if(queryRegion != null) {
+			regions.put(QUERY_RESULTS_REGION, RegionStatistics.of(queryRegion));
+		}
+		return regions;
+	}
+}
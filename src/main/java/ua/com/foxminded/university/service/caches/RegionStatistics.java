@@ -0,0 +1,44 @@
+package ua.com.foxminded.university.service.caches;
+
+import org.hibernate.stat.CacheRegionStatistics;
+
+public final class RegionStatistics {
+
+	private final long hitCount;
+	private final long missCount;
+	private final long putCount;
+
+	public RegionStatistics(long hitCount, long missCount, long putCount) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.putCount = putCount;
+	}
+
+	static RegionStatistics of(CacheRegionStatistics statistics) {
+		return new RegionStatistics(statistics.getHitCount(), 
+				statistics.getMissCount(), statistics.getPutCount());
+	}
+
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	public long getMissCount() {
+		return missCount;
+	}
+
+	public long getPutCount() {
+		return putCount;
+	}
+
+	public double getHitRatio() {
+		long lookups = hitCount + missCount;
+		return (lookups == 0)? 0 : (double) hitCount / lookups;
+	}
+
+	@Override
+	public String toString() {
+		return "RegionStatistics [hitCount=" + hitCount + ", missCount=" + missCount 
+				+ ", putCount=" + putCount + "]";
+	}
+}
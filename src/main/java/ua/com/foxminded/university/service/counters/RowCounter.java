@@ -0,0 +1,56 @@
+package ua.com.foxminded.university.service.counters;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import ua.com.foxminded.university.service.results.CountedPage;
+
+/**
+ * Counts exactly past the end of the data, so the paginator finds the real last page.
+ */
+@Component
+public class RowCounter {
+
+	@Value("${university.pagination.estimated-count-threshold:0}")
+	private long estimateThreshold;
+
+	private static final Logger log = LoggerFactory.getLogger(RowCounter.class);
+
+	public RowCounter() {
+	}
+
+
+	public RowCounter(long estimateThreshold) {
+		this.estimateThreshold = estimateThreshold;
+	}
+
+
+	public <T> CountedPage<T> toPage(List<T> content, Pageable pageable,
+			LongSupplier estimatedCount, LongSupplier exactCount) {
+		long offset = pageable.getOffset();
+
+		if(content.size() < pageable.getPageSize() && !(content.isEmpty() && offset > 0)) {
+			return new CountedPage<>(content, pageable, offset + content.size(), false);
+		}
+
+		if(!content.isEmpty() && estimateThreshold > 0) {
+			long estimate = estimatedCount.getAsLong();
+
+			if(estimate > estimateThreshold) {
+				long total = Math.max(estimate, offset + content.size() + 1);
+				log.debug("Using estimated row count [{}]", total);
+				return new CountedPage<>(content, pageable, total, true);
+			}
+		}
+
+		long total = exactCount.getAsLong();
+		log.debug("Using exact row count [{}]", total);
+		return new CountedPage<>(content, pageable, total, false);
+	}
+}
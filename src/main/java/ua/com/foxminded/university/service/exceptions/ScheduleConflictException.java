@@ -0,0 +1,14 @@
+package ua.com.foxminded.university.service.exceptions;
+
+public class ScheduleConflictException extends ServiceException {
+
+	private static final long serialVersionUID = 4410327251396630478L;
+
+	public ScheduleConflictException(String msg) {
+		super(msg);
+	}
+
+	public ScheduleConflictException(String msg, Throwable cause) {
+		super(msg, cause);
+	}
+}
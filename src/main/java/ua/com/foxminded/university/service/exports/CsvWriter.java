@@ -0,0 +1,54 @@
+package ua.com.foxminded.university.service.exports;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public class CsvWriter {
+	
+	private static final char SEPARATOR = ',';
+	private static final char QUOTE = '"';
+	private static final String LINE_END = "\n";
+	
+	private final Writer writer;
+	
+	public CsvWriter(Writer writer) {
+		this.writer = writer;
+	}
+	
+	
+	public void writeRow(Object... values) throws IOException {
+		for(int i = 0; i < values.length; i++) {
+			if(i > 0) {
+				writer.write(SEPARATOR);
+			}
+			if(values[i] != null) {
+				writeValue(values[i].toString());
+			}
+		}
+		writer.write(LINE_END);
+	}
+	
+	
+	public void flush() throws IOException {
+		writer.flush();
+	}
+	
+	
+	private void writeValue(String value) throws IOException {
+		if(value.indexOf(SEPARATOR) < 0 && value.indexOf(QUOTE) < 0 
+				&& value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			writer.write(value);
+			return;
+		}
+		
+		writer.write(QUOTE);
+		for(int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if(c == QUOTE) {
+				writer.write(QUOTE);
+			}
+			writer.write(c);
+		}
+		writer.write(QUOTE);
+	}
+}
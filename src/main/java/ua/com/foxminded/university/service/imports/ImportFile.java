@@ -0,0 +1,25 @@
+package ua.com.foxminded.university.service.imports;
+
+public enum ImportFile {
+
+	MEMBERS("import_members", "ref, first_name, last_name, type_id"),
+	COURSES("import_courses", "ref, subject, description"),
+	LECTURES("import_lectures", "ref, date, duration, course_ref, teacher_ref"),
+	ENROLLMENTS("import_enrollments", "lecture_ref, student_ref");
+
+	private final String stagingTable;
+	private final String columns;
+
+	private ImportFile(String stagingTable, String columns) {
+		this.stagingTable = stagingTable;
+		this.columns = columns;
+	}
+
+	public String getStagingTable() {
+		return stagingTable;
+	}
+
+	public String getColumns() {
+		return columns;
+	}
+}
@@ -0,0 +1,329 @@
+package ua.com.foxminded.university.service.imports;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import ua.com.foxminded.university.domain.entities.Lecture;
+import ua.com.foxminded.university.domain.entities.Student;
+import ua.com.foxminded.university.domain.entities.Teacher;
+import ua.com.foxminded.university.service.results.RowRejection;
+import ua.com.foxminded.university.service.validators.ValidationRules;
+import ua.com.foxminded.university.service.validators.ValidationRules.CourseRules;
+import ua.com.foxminded.university.service.validators.ValidationRules.LectureRules;
+import ua.com.foxminded.university.service.validators.ValidationRules.MemberRules;
+
+/**
+ * Staging tables are dropped when the transaction ends, so all steps must run within one.
+ */
+@Component
+public class StagingArea {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private static final String RULE_FAILURE = "Validation failed against rule: ";
+	private static final int MAX_TEXT_LENGTH = 255;
+
+	private static final String[] CREATE_STATEMENTS = {
+			"create temp table import_members (row_no bigserial, ref text, first_name text, "
+					+ "last_name text, type_id text, member_id int4, rejection text) on commit drop",
+			"create temp table import_courses (row_no bigserial, ref text, subject text, "
+					+ "description text, course_id int4, rejection text) on commit drop",
+			"create temp table import_lectures (row_no bigserial, ref text, date text, duration text, "
+					+ "course_ref text, teacher_ref text, lecture_id int4, starts_at timestamp, "
+					+ "minutes int4, rejection text) on commit drop",
+			"create temp table import_enrollments (row_no bigserial, lecture_ref text, "
+					+ "student_ref text, rejection text) on commit drop",
+			"create or replace function pg_temp.import_timestamp(value text) returns timestamp "
+					+ "language plpgsql immutable as $$ begin "
+					+ "if value !~ '^\\s*\\d' then return null; end if; "
+					+ "return cast(value as timestamp); "
+					+ "exception when others then return null; end $$"
+	};
+
+	private static final String[] INDEX_STATEMENTS = {
+			"create index on import_members (ref)",
+			"create index on import_courses (ref)",
+			"create index on import_lectures (ref)",
+			"analyze import_members",
+			"analyze import_courses",
+			"analyze import_lectures",
+			"analyze import_enrollments"
+	};
+
+	private static final String PARSE_LECTURES =
+			"update import_lectures set starts_at = pg_temp.import_timestamp(date), "
+			+ "minutes = case when duration is null then " + Lecture.DEFAULT_DURATION
+			+ " when duration ~ '^\\s*\\d{1,9}\\s*$' then cast(duration as int4) end";
+
+	private static final String DUPLICATE_ENROLLMENT =
+			"t.row_no in (select row_no from (select row_no, row_number() "
+			+ "over (partition by lecture_ref, student_ref order by row_no) as occurrence "
+			+ "from import_enrollments) enrollments where occurrence > 1)";
+
+	private static final String TEACHER_OVERLAP =
+			"t.row_no in (select row_no from (select row_no, starts_at < max(starts_at + minutes * interval '1 minute') "
+			+ "over (partition by teacher_ref order by starts_at, row_no "
+			+ "rows between unbounded preceding and 1 preceding) as overlapping "
+			+ "from import_lectures where rejection is null) periods where overlapping)";
+
+	private static final String STUDENT_OVERLAP =
+			"t.row_no in (select row_no from (select e.row_no, l.starts_at < max(l.starts_at + l.minutes * interval '1 minute') "
+			+ "over (partition by e.student_ref order by l.starts_at, e.row_no "
+			+ "rows between unbounded preceding and 1 preceding) as overlapping "
+			+ "from import_enrollments e join import_lectures l on l.ref = e.lecture_ref and l.rejection is null "
+			+ "where e.rejection is null) periods where overlapping)";
+
+	private static final List<Check> CHECKS = Arrays.asList(
+			missingRef(ImportFile.MEMBERS),
+			duplicateRef(ImportFile.MEMBERS),
+			new Check(ImportFile.MEMBERS, MemberRules.HAS_FIRST_NAME, "t.first_name is null"),
+			new Check(ImportFile.MEMBERS, MemberRules.HAS_LAST_NAME, "t.last_name is null"),
+			new Check(ImportFile.MEMBERS, MemberRules.HAS_TYPE_ID,
+					"t.type_id is null or t.type_id not in ('" + Teacher.MEMBER_TYPE
+					+ "', '" + Student.MEMBER_TYPE + "')"),
+			tooLong(ImportFile.MEMBERS, "first_name", "last_name"),
+
+			missingRef(ImportFile.COURSES),
+			duplicateRef(ImportFile.COURSES),
+			new Check(ImportFile.COURSES, CourseRules.HAS_SUBJECT, "t.subject is null"),
+			new Check(ImportFile.COURSES, CourseRules.HAS_DESCRIPTION, "t.description is null"),
+			tooLong(ImportFile.COURSES, "subject", "description"),
+
+			missingRef(ImportFile.LECTURES),
+			duplicateRef(ImportFile.LECTURES),
+			new Check(ImportFile.LECTURES, LectureRules.HAS_DATE, "t.date is null"),
+			new Check(ImportFile.LECTURES, "t.starts_at is null", "Date is not a valid timestamp"),
+			new Check(ImportFile.LECTURES, LectureRules.HAS_DURATION,
+					"t.minutes is null or t.minutes <= 0 or t.minutes > " + Lecture.MAX_DURATION),
+			new Check(ImportFile.LECTURES, LectureRules.HAS_COURSE, "t.course_ref is null"),
+			new Check(ImportFile.LECTURES,
+					"not exists (select 1 from import_courses c where c.ref = t.course_ref and c.rejection is null)",
+					"Course reference does not match an imported course"),
+			new Check(ImportFile.LECTURES, LectureRules.HAS_TEACHER, "t.teacher_ref is null"),
+			new Check(ImportFile.LECTURES,
+					"not exists (select 1 from import_members m where m.ref = t.teacher_ref and m.rejection is null)",
+					"Teacher reference does not match an imported member"),
+			new Check(ImportFile.LECTURES, LectureRules.HAS_VALID_TEACHER,
+					"exists (select 1 from import_members m where m.ref = t.teacher_ref "
+					+ "and m.rejection is null and m.type_id <> '" + Teacher.MEMBER_TYPE + "')"),
+			new Check(ImportFile.LECTURES, TEACHER_OVERLAP,
+					"Teacher already has a lecture scheduled for this time"),
+
+			new Check(ImportFile.ENROLLMENTS, "t.lecture_ref is null or not exists (select 1 from import_lectures l "
+					+ "where l.ref = t.lecture_ref and l.rejection is null)",
+					"Lecture reference does not match an imported lecture"),
+			new Check(ImportFile.ENROLLMENTS, "t.student_ref is null or not exists (select 1 from import_members m "
+					+ "where m.ref = t.student_ref and m.rejection is null)",
+					"Student reference does not match an imported member"),
+			new Check(ImportFile.ENROLLMENTS, LectureRules.HAS_VALID_STUDENTS,
+					"exists (select 1 from import_members m where m.ref = t.student_ref "
+					+ "and m.rejection is null and m.type_id <> '" + Student.MEMBER_TYPE + "')"),
+			new Check(ImportFile.ENROLLMENTS, DUPLICATE_ENROLLMENT,
+					"Enrollment is listed on an earlier line"),
+			new Check(ImportFile.ENROLLMENTS, STUDENT_OVERLAP,
+					"Student already has a lecture scheduled for this time"));
+
+	private static final String RESERVE_IDS =
+			"with reserved as ("
+			+ "select row_number() over () - 1 as block, hi "
+			+ "from (select nextval(cast(? as regclass)) as hi from generate_series(1, ?)) sequence_values"
+			+ "), numbered as ("
+			+ "select row_no, row_number() over (order by row_no) - 1 as position "
+			+ "from %1$s where rejection is null"
+			+ ") "
+			+ "update %1$s t set %2$s = r.hi - ? + 1 + n.position %% ? "
+			+ "from numbered n join reserved r on r.block = n.position / ? "
+			+ "where t.row_no = n.row_no";
+
+	private static final String MERGE_MEMBERS =
+			"insert into members (member_id, first_name, last_name, type_id) "
+			+ "select member_id, first_name, last_name, cast(type_id as int4) "
+			+ "from import_members where rejection is null";
+
+	private static final String MERGE_COURSES =
+			"insert into courses (course_id, subject, description) "
+			+ "select course_id, subject, description from import_courses where rejection is null";
+
+	private static final String CREATE_PARTITIONS =
+			"select lectures_create_partition(cast(month as date)) from (select distinct "
+			+ "date_trunc('month', starts_at) as month from import_lectures where rejection is null) months";
+
+	private static final String MERGE_LECTURES =
+			"insert into lectures (lecture_id, date, duration, course_id, teacher_id) "
+			+ "select l.lecture_id, l.starts_at, l.minutes, c.course_id, m.member_id "
+			+ "from import_lectures l "
+			+ "join import_courses c on c.ref = l.course_ref and c.rejection is null "
+			+ "join import_members m on m.ref = l.teacher_ref and m.rejection is null "
+			+ "where l.rejection is null";
+
+	private static final String MERGE_ENROLLMENTS =
+			"insert into lecture_student (lecture_id, student_id) "
+			+ "select l.lecture_id, m.member_id "
+			+ "from import_enrollments e "
+			+ "join import_lectures l on l.ref = e.lecture_ref and l.rejection is null "
+			+ "join import_members m on m.ref = e.student_ref and m.rejection is null "
+			+ "where e.rejection is null";
+
+	private static final Logger log = LoggerFactory.getLogger(StagingArea.class);
+
+
+	public void create() {
+		log.debug("Creating staging tables");
+		for(String statement : CREATE_STATEMENTS) {
+			jdbcTemplate.execute(statement);
+		}
+	}
+
+
+	public long copy(ImportFile file, InputStream csv) throws SQLException, IOException {
+		String sql = "copy " + file.getStagingTable() + " (" + file.getColumns()
+				+ ") from stdin with (format csv, header true)";
+		Connection connection = DataSourceUtils.getConnection(dataSource);
+
+		try {
+			long rows = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, csv);
+			log.debug("Copied [{}] rows into [{}]", rows, file.getStagingTable());
+			return rows;
+		} finally {
+			DataSourceUtils.releaseConnection(connection, dataSource);
+		}
+	}
+
+
+	public void validate() {
+		for(String statement : INDEX_STATEMENTS) {
+			jdbcTemplate.execute(statement);
+		}
+		jdbcTemplate.update(PARSE_LECTURES);
+
+		for(Check check : CHECKS) {
+			int rejected = jdbcTemplate.update("update " + check.file.getStagingTable()
+					+ " t set rejection = ? where t.rejection is null and (" + check.condition + ")",
+					check.reason);
+			if(rejected > 0) {
+				log.debug("{} rows of {} rejected: {}", rejected, check.file, check.reason);
+			}
+		}
+	}
+
+
+	public Map<ImportFile, Long> merge() {
+		reserveIds(ImportFile.MEMBERS, "member_id", "members_member_id_seq");
+		reserveIds(ImportFile.COURSES, "course_id", "courses_course_id_seq");
+		reserveIds(ImportFile.LECTURES, "lecture_id", "lectures_lecture_id_seq");
+
+		Map<ImportFile, Long> imported = new EnumMap<>(ImportFile.class);
+		imported.put(ImportFile.MEMBERS, (long) jdbcTemplate.update(MERGE_MEMBERS));
+		imported.put(ImportFile.COURSES, (long) jdbcTemplate.update(MERGE_COURSES));
+		jdbcTemplate.queryForList(CREATE_PARTITIONS, Boolean.class);
+		imported.put(ImportFile.LECTURES, (long) jdbcTemplate.update(MERGE_LECTURES));
+		imported.put(ImportFile.ENROLLMENTS, (long) jdbcTemplate.update(MERGE_ENROLLMENTS));
+
+		log.debug("Merged staged rows {}", imported);
+		return imported;
+	}
+
+
+	public List<RowRejection> getRejections() {
+		List<RowRejection> rejections = new ArrayList<>();
+
+		for(ImportFile file : ImportFile.values()) {
+			jdbcTemplate.query("select row_no, rejection from " + file.getStagingTable()
+					+ " where rejection is not null order by row_no",
+					row -> {
+						rejections.add(new RowRejection(file, row.getLong(1) + 1, row.getString(2)));
+					});
+		}
+		return rejections;
+	}
+
+
+	private void reserveIds(ImportFile file, String idColumn, String sequence) {
+		long rows = jdbcTemplate.queryForObject("select count(*) from " + file.getStagingTable()
+				+ " where rejection is null", Long.class);
+		if(rows == 0) {
+			return;
+		}
+
+		int increment = jdbcTemplate.queryForObject(
+				"select seqincrement from pg_sequence where seqrelid = cast(? as regclass)",
+				Integer.class, sequence);
+		long blocks = (rows + increment - 1) / increment;
+
+		log.debug("Reserving [{}] blocks of [{}] for [{}] rows of {}", blocks, increment, rows, file);
+		jdbcTemplate.update(String.format(RESERVE_IDS, file.getStagingTable(), idColumn),
+				sequence, blocks, increment, increment, increment);
+	}
+
+
+	private static Check missingRef(ImportFile file) {
+		return new Check(file, "t.ref is null", "Reference is missing");
+	}
+
+
+	private static Check duplicateRef(ImportFile file) {
+		return new Check(file, "exists (select 1 from " + file.getStagingTable()
+				+ " o where o.ref = t.ref and o.row_no < t.row_no)",
+				"Reference is used on an earlier line");
+	}
+
+
+	private static Check tooLong(ImportFile file, String... columns) {
+		StringBuilder condition = new StringBuilder();
+		for(String column : columns) {
+			if(condition.length() > 0) {
+				condition.append(" or ");
+			}
+			condition.append("length(t.").append(column).append(") > ").append(MAX_TEXT_LENGTH);
+		}
+		return new Check(file, condition.toString(),
+				"Value is longer than " + MAX_TEXT_LENGTH + " characters");
+	}
+
+
+	private static final class Check {
+
+		private final ImportFile file;
+		private final String condition;
+		private final String reason;
+
+		private Check(ImportFile file, String condition, String reason) {
+			this.file = file;
+			this.condition = condition;
+			this.reason = reason;
+		}
+
+		private Check(ImportFile file, MemberRules rule, String condition) {
+			this(file, condition, RULE_FAILURE + rule.getDescription());
+		}
+
+		private Check(ImportFile file, CourseRules rule, String condition) {
+			this(file, condition, RULE_FAILURE + rule.getDescription());
+		}
+
+		private Check(ImportFile file, LectureRules rule, String condition) {
+			this(file, condition, RULE_FAILURE + rule.getDescription());
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package ua.com.foxminded.university.service.partitions;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Creates monthly partitions of {@code lectures} ahead; old months are dropped only by archiving.
+ */
+@Component
+public class LecturePartitionMaintenance {
+
+	private static final Logger log = LoggerFactory.getLogger(LecturePartitionMaintenance.class);
+
+	static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'lectures_'yyyy_MM");
+
+	static final String CREATE_PARTITION = "select lectures_create_partition(?)";
+	static final String DETACH_PARTITION = "select lectures_detach_partition(?)";
+	static final String DROP_DETACHED = "drop table %1$s, %1$s_students";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Value("${university.partitions.months-ahead:12}")
+	private int monthsAhead;
+
+	private Clock clock = Clock.systemDefaultZone();
+
+	public LecturePartitionMaintenance() {
+	}
+
+	LecturePartitionMaintenance(JdbcTemplate jdbcTemplate, int monthsAhead, Clock clock) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.monthsAhead = monthsAhead;
+		this.clock = clock;
+	}
+
+
+	@Scheduled(cron = "${university.partitions.cron:0 30 3 * * *}")
+	@Transactional
+	public void maintain() {
+		List<YearMonth> created = createPartitions(YearMonth.now(clock));
+		log.info("lecture partitions maintained, created {}", created);
+	}
+
+
+	@Transactional
+	public List<YearMonth> createPartitions(YearMonth current) {
+		List<YearMonth> created = new ArrayList<>();
+		for(int i = 0; i <= monthsAhead; i++) {
+			YearMonth month = current.plusMonths(i);
+			if(Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+					CREATE_PARTITION, Boolean.class, month.atDay(1)))) {
+				log.debug("created lecture partition for [{}]", month);
+				created.add(month);
+			}
+		}
+		return created;
+	}
+
+
+	@Transactional
+	public boolean dropPartition(YearMonth month) {
+		if(!Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+				DETACH_PARTITION, Boolean.class, month.atDay(1)))) {
+			return false;
+		}
+		String partition = PARTITION_NAME.format(month);
+		jdbcTemplate.execute(String.format(DROP_DETACHED, partition));
+		log.info("dropped lecture partition [{}]", partition);
+		return true;
+	}
+}
@@ -0,0 +1,96 @@
+package ua.com.foxminded.university.service.results;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+public final class ArchivedLecture {
+
+	private final int lectureId;
+	private final LocalDateTime date;
+	private final int duration;
+	private final int courseId;
+	private final String courseSubject;
+	private final int teacherId;
+	private final String teacherFirstName;
+	private final String teacherLastName;
+	private final List<Integer> studentIds;
+
+	public ArchivedLecture(int lectureId, LocalDateTime date, int duration, int courseId, 
+			String courseSubject, int teacherId, String teacherFirstName, String teacherLastName, 
+			List<Integer> studentIds) {
+		this.lectureId = lectureId;
+		this.date = date;
+		this.duration = duration;
+		this.courseId = courseId;
+		this.courseSubject = courseSubject;
+		this.teacherId = teacherId;
+		this.teacherFirstName = teacherFirstName;
+		this.teacherLastName = teacherLastName;
+		this.studentIds = Collections.unmodifiableList(studentIds);
+	}
+
+	public int getLectureId() {
+		return lectureId;
+	}
+
+	public LocalDateTime getDate() {
+		return date;
+	}
+
+	public int getDuration() {
+		return duration;
+	}
+
+	public int getCourseId() {
+		return courseId;
+	}
+
+	public String getCourseSubject() {
+		return courseSubject;
+	}
+
+	public int getTeacherId() {
+		return teacherId;
+	}
+
+	public String getTeacherFirstName() {
+		return teacherFirstName;
+	}
+
+	public String getTeacherLastName() {
+		return teacherLastName;
+	}
+
+	public List<Integer> getStudentIds() {
+		return studentIds;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(lectureId, date, duration, courseId, courseSubject, teacherId, 
+				teacherFirstName, teacherLastName, studentIds);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		ArchivedLecture other = (ArchivedLecture) obj;
+		return lectureId == other.lectureId && Objects.equals(date, other.date) 
+				&& duration == other.duration && courseId == other.courseId 
+				&& Objects.equals(courseSubject, other.courseSubject) && teacherId == other.teacherId 
+				&& Objects.equals(teacherFirstName, other.teacherFirstName) 
+				&& Objects.equals(teacherLastName, other.teacherLastName) 
+				&& Objects.equals(studentIds, other.studentIds);
+	}
+
+	@Override
+	public String toString() {
+		return "ArchivedLecture [lectureId=" + lectureId + ", date=" + date + ", teacherId=" + teacherId 
+				+ ", students=" + studentIds.size() + "]";
+	}
+}
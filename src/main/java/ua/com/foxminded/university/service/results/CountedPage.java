@@ -0,0 +1,38 @@
+package ua.com.foxminded.university.service.results;
+
+import java.util.List;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+public class CountedPage<T> extends PageImpl<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final boolean approximate;
+
+	public CountedPage(List<T> content, Pageable pageable, long total, boolean approximate) {
+		super(content, pageable, total);
+		this.approximate = approximate;
+	}
+
+	public boolean isApproximate() {
+		return approximate;
+	}
+
+	@Override
+	public String toString() {
+		return super.toString() + (approximate? " (approximate)" : "");
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return super.equals(obj) && obj instanceof CountedPage
+				&& approximate == ((CountedPage<?>) obj).approximate;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * super.hashCode() + (approximate? 1 : 0);
+	}
+}
@@ -0,0 +1,38 @@
+package ua.com.foxminded.university.service.results;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import ua.com.foxminded.university.service.imports.ImportFile;
+
+public final class ImportReport {
+
+	private final Map<ImportFile, Long> imported;
+	private final List<RowRejection> rejections;
+
+	public ImportReport(Map<ImportFile, Long> imported, List<RowRejection> rejections) {
+		Map<ImportFile, Long> counts = new EnumMap<>(ImportFile.class);
+		counts.putAll(imported);
+		this.imported = Collections.unmodifiableMap(counts);
+		this.rejections = Collections.unmodifiableList(rejections);
+	}
+
+	public Map<ImportFile, Long> getImported() {
+		return imported;
+	}
+
+	public List<RowRejection> getRejections() {
+		return rejections;
+	}
+
+	public long getImportedCount(ImportFile file) {
+		return imported.getOrDefault(file, 0L);
+	}
+
+	@Override
+	public String toString() {
+		return "ImportReport [imported=" + imported + ", rejections=" + rejections.size() + "]";
+	}
+}
@@ -0,0 +1,50 @@
+package ua.com.foxminded.university.service.results;
+
+import java.util.Objects;
+
+import ua.com.foxminded.university.service.imports.ImportFile;
+
+public final class RowRejection {
+
+	private final ImportFile file;
+	private final long line;
+	private final String reason;
+
+	public RowRejection(ImportFile file, long line, String reason) {
+		this.file = file;
+		this.line = line;
+		this.reason = reason;
+	}
+
+	public ImportFile getFile() {
+		return file;
+	}
+
+	public long getLine() {
+		return line;
+	}
+
+	public String getReason() {
+		return reason;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(file, line, reason);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null || getClass() != obj.getClass())
+			return false;
+		RowRejection other = (RowRejection) obj;
+		return file == other.file && line == other.line && Objects.equals(reason, other.reason);
+	}
+
+	@Override
+	public String toString() {
+		return "RowRejection [file=" + file + ", line=" + line + ", reason=" + reason + "]";
+	}
+}
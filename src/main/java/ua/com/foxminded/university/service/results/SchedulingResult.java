@@ -0,0 +1,42 @@
+package ua.com.foxminded.university.service.results;
+
+import ua.com.foxminded.university.domain.entities.Lecture;
+
+public final class SchedulingResult {
+	
+	private final Lecture lecture;
+	private final boolean scheduled;
+	private final String rejectionReason;
+
+	private SchedulingResult(Lecture lecture, boolean scheduled, String rejectionReason) {
+		this.lecture = lecture;
+		this.scheduled = scheduled;
+		this.rejectionReason = rejectionReason;
+	}
+	
+	public static SchedulingResult scheduled(Lecture lecture) {
+		return new SchedulingResult(lecture, true, null);
+	}
+	
+	public static SchedulingResult rejected(Lecture lecture, String reason) {
+		return new SchedulingResult(lecture, false, reason);
+	}
+
+	public Lecture getLecture() {
+		return lecture;
+	}
+
+	public boolean isScheduled() {
+		return scheduled;
+	}
+
+	public String getRejectionReason() {
+		return rejectionReason;
+	}
+
+	@Override
+	public String toString() {
+		return "SchedulingResult [lecture=" + lecture + ", scheduled=" + scheduled
+				+ ", rejectionReason=" + rejectionReason + "]";
+	}
+}
@@ -32,6 +32,10 @@ public final class ValidationRules {
 		public Rule<Member> getRule() {
 			return rule;
 		}
+		
+		public String getDescription() {
+			return rule.getDescription();
+		}
 	}
 
 	public enum LectureRules implements EntityRules<Lecture> {
@@ -39,6 +43,9 @@ public final class ValidationRules {
 		NOT_NULL(new Rule<>(Objects::nonNull, "is not null")),
 		HAS_ID(new Rule<>(l -> l.getLectureId() > 0, "has valid lectureId set")),
 		HAS_DATE(new Rule<>(l -> l.getDate() != null, "has date set")),
+		HAS_DURATION(new Rule<>(
+				l -> l.getDuration() > 0 && l.getDuration() <= Lecture.MAX_DURATION, 
+				"has positive duration of at most 28 days")),
 		HAS_COURSE(new Rule<>(l -> l.getCourse() != null, "has course set")),
 		HAS_TEACHER(new Rule<>(l -> l.getTeacher() != null, "has teacher set")),
 		HAS_VALID_TEACHER(new Rule<>(
@@ -60,6 +67,10 @@ public final class ValidationRules {
 		public Rule<Lecture> getRule() {
 			return rule;
 		}
+		
+		public String getDescription() {
+			return rule.getDescription();
+		}
 	}
 
 	public enum CourseRules implements EntityRules<Course> {
@@ -79,6 +90,10 @@ public final class ValidationRules {
 		public Rule<Course> getRule() {
 			return rule;
 		}
+		
+		public String getDescription() {
+			return rule.getDescription();
+		}
 	}
 }
 
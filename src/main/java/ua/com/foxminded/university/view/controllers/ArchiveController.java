@@ -0,0 +1,49 @@
+package ua.com.foxminded.university.view.controllers;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import ua.com.foxminded.university.service.ArchiveService;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.results.ArchivedLecture;
+
+@Controller
+public class ArchiveController {
+	
+	@Autowired
+	private ArchiveService archiveService;
+	
+	private static final Logger log = LoggerFactory.getLogger(ArchiveController.class);
+	
+	
+	@GetMapping(value = "/archive/lectures", produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	public List<ArchivedLecture> archivedLectures(@RequestParam int memberId,
+			@RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+			@RequestParam @DateTimeFormat(iso = ISO.DATE) LocalDate to) throws ServiceException {
+		log.debug("archived lectures of member [{}] from {} to {} requested", memberId, from, to);
+		return archiveService.retrieveArchivedLectures(memberId, from, to);
+	}
+	
+	
+	@PostMapping(value = "/archive", produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	public List<YearMonth> archive(
+			@RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth before) throws ServiceException {
+		log.debug("archive of lectures before {} requested", before);
+		return archiveService.archiveBefore(before);
+	}
+}
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
 
 import ua.com.foxminded.university.domain.entities.Course;
+import ua.com.foxminded.university.repository.CourseRow;
 import ua.com.foxminded.university.service.CourseService;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
 import ua.com.foxminded.university.view.paginator.EntryQueryablePaginator;
@@ -26,7 +27,7 @@ public class CourseController {
 	
 	@Autowired
 	@Qualifier("coursePaginator")
-	EntryQueryablePaginator<Course> pagination;
+	EntryQueryablePaginator<CourseRow> pagination;
 	
 	public static final String TABLE_FRAGMENT = "fragments/courses :: coursesTable";
 	public static final String EDIT_FRAGMENT = "fragments/courses :: courseForm";
@@ -35,34 +36,30 @@ public class CourseController {
 	
 	
 	@GetMapping("/courses")
-	public ModelAndView listCourses(@RequestParam(defaultValue="1") int page,
-			@RequestParam(required = false) String fetch) throws ServiceException {
+	public ModelAndView listCourses(@RequestParam(defaultValue="1") int page) 
+			throws ServiceException {
 		
-		log.debug("listCourses request params: page [{}], fetch [{}]", page, fetch);
+		log.debug("listCourses request params: page [{}]", page);
 
 		ModelAndView modelView = new ModelAndView();
-		modelView.addObject("pageData", getCoursesPageData(page, fetch));
+		modelView.addObject("pageData", getCoursesPageData(page));
 		modelView.setViewName(TABLE_FRAGMENT);
 		
 		return modelView;
 	}
 	
 	
-	PageData<Course> getCoursesPageData(int page, String fetch) throws ServiceException {
-		if(fetch != null || !pagination.hasValidCache()) {
-			pagination.setData(courseService.retrieveAll());
-		}
-		
-		return pagination.getPageData(page);
+	PageData<CourseRow> getCoursesPageData(int page) throws ServiceException {
+		return pagination.getPageData(page, courseService::retrieveRows);
 	}
 	
 	
 	Course getCourseById(int id) throws ServiceException {
 		if(pagination.hasValidCache()) {
-			Optional<Course> course = pagination.getEntry(id);
+			Optional<CourseRow> course = pagination.getEntry(id);
 			if(course.isPresent()) {
 				log.info("returning course from paginator [{}]", course.get());
-				return course.get();
+				return course.get().toCourse();
 			}
 		}
 		log.info("returning course from service");
@@ -81,7 +78,7 @@ public class CourseController {
 		courseService.delete(course);
 		pagination.invalidateCache();
 		
-		return listCourses(page.orElse(1), "fetch");
+		return listCourses(page.orElse(1));
 	}
 	
 	
@@ -125,6 +122,6 @@ public class CourseController {
 		}
 		
 		pagination.invalidateCache();
-		return listCourses(page.orElse(Integer.MAX_VALUE), "fetch");
+		return listCourses(page.orElse(Integer.MAX_VALUE));
 	}
 }
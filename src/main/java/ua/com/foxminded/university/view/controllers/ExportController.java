@@ -0,0 +1,48 @@
+package ua.com.foxminded.university.view.controllers;
+
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import ua.com.foxminded.university.service.ExportService;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+
+@Controller
+public class ExportController {
+	
+	public static final String CSV_CONTENT_TYPE = "text/csv;charset=UTF-8";
+	
+	@Autowired
+	private ExportService exportService;
+	
+	private static final Logger log = LoggerFactory.getLogger(ExportController.class);
+	
+	
+	@GetMapping("/export/lectures")
+	public void exportLectures(HttpServletResponse response) throws ServiceException, IOException {
+		log.debug("lectures export requested");
+		prepareResponse(response, "lectures.csv");
+		exportService.exportLectures(response.getWriter());
+	}
+	
+	
+	@GetMapping("/export/enrollments")
+	public void exportEnrollments(HttpServletResponse response) throws ServiceException, IOException {
+		log.debug("enrollments export requested");
+		prepareResponse(response, "enrollments.csv");
+		exportService.exportEnrollments(response.getWriter());
+	}
+	
+	
+	private void prepareResponse(HttpServletResponse response, String fileName) {
+		response.setContentType(CSV_CONTENT_TYPE);
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+	}
+}
@@ -0,0 +1,80 @@
+package ua.com.foxminded.university.view.controllers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
+
+import ua.com.foxminded.university.service.ImportService;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.imports.ImportFile;
+import ua.com.foxminded.university.service.results.ImportReport;
+
+@Controller
+public class ImportController {
+	
+	@Autowired
+	private ImportService importService;
+	
+	private static final Logger log = LoggerFactory.getLogger(ImportController.class);
+	
+	
+	@PostMapping(value = "/import", produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	public ImportReport importFiles(
+			@RequestParam(required = false) MultipartFile members,
+			@RequestParam(required = false) MultipartFile courses,
+			@RequestParam(required = false) MultipartFile lectures,
+			@RequestParam(required = false) MultipartFile enrollments) throws ServiceException {
+		
+		Map<ImportFile, MultipartFile> uploads = new EnumMap<>(ImportFile.class);
+		addUpload(uploads, ImportFile.MEMBERS, members);
+		addUpload(uploads, ImportFile.COURSES, courses);
+		addUpload(uploads, ImportFile.LECTURES, lectures);
+		addUpload(uploads, ImportFile.ENROLLMENTS, enrollments);
+		
+		log.debug("import request files: {}", uploads.keySet());
+		
+		Map<ImportFile, InputStream> files = new EnumMap<>(ImportFile.class);
+		try {
+			for(Map.Entry<ImportFile, MultipartFile> upload : uploads.entrySet()) {
+				files.put(upload.getKey(), upload.getValue().getInputStream());
+			}
+			return importService.importCsv(files);
+		} catch(IOException e) {
+			log.error(e.getMessage(), e);
+			throw new ServiceException("Failed to read uploaded files", e);
+		} finally {
+			closeAll(files);
+		}
+	}
+	
+	
+	private void addUpload(Map<ImportFile, MultipartFile> uploads, ImportFile file, 
+			MultipartFile upload) {
+		if(upload != null && !upload.isEmpty()) {
+			uploads.put(file, upload);
+		}
+	}
+	
+	
+	private void closeAll(Map<ImportFile, InputStream> files) {
+		for(InputStream file : files.values()) {
+			try {
+				file.close();
+			} catch(IOException e) {
+				log.warn("Failed to close uploaded file", e);
+			}
+		}
+	}
+}
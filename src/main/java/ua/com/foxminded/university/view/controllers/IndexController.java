@@ -1,12 +1,20 @@
 package ua.com.foxminded.university.view.controllers;
 
+import java.util.Map;
+
 import javax.servlet.http.HttpServletRequest;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import ua.com.foxminded.university.service.caches.ReferenceCache;
+import ua.com.foxminded.university.service.caches.RegionStatistics;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
 
 @Controller
 public class IndexController {
@@ -24,9 +32,20 @@ public class IndexController {
 	@Autowired
 	LectureController lectureController;
 	
+	@Autowired
+	ReferenceCache referenceCache;
+	
 	@GetMapping("/")
 	public String getIndexPage(HttpServletRequest request) {
 		log.info("Index page requested from [{}]", request.getRemoteAddr());
 		return INDEX_VIEW;
 	}
+	
+	
+	@GetMapping(value = "/cacheStatistics", produces = MediaType.APPLICATION_JSON_VALUE)
+	@ResponseBody
+	public Map<String, RegionStatistics> getCacheStatistics() throws ServiceException {
+		log.debug("Cache statistics requested");
+		return referenceCache.getRegionStatistics();
+	}
 }
@@ -14,11 +14,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.ModelAndView;
 
-import ua.com.foxminded.university.domain.entities.Course;
 import ua.com.foxminded.university.domain.entities.Lecture;
-import ua.com.foxminded.university.domain.entities.Member;
 import ua.com.foxminded.university.domain.entities.Student;
 import ua.com.foxminded.university.domain.entities.Teacher;
+import ua.com.foxminded.university.repository.CourseRow;
+import ua.com.foxminded.university.repository.Keyset;
+import ua.com.foxminded.university.repository.LectureRow;
+import ua.com.foxminded.university.repository.MemberRow;
 import ua.com.foxminded.university.service.LectureService;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
 import ua.com.foxminded.university.view.paginator.LecturePaginator;
@@ -38,7 +40,7 @@ public class LectureController {
 
 	@Autowired
 	@Qualifier("lecturePaginator")
-	LecturePaginator<Lecture> pagination;
+	LecturePaginator<LectureRow> pagination;
 	
 	public static final String TABLE_FRAGMENT = "fragments/lectures :: lecturesTable";
 	public static final String EDIT_FRAGMENT = "fragments/lectures :: lectureEditor";
@@ -54,25 +56,26 @@ public class LectureController {
 	
 	@GetMapping("/lectures")
 	public ModelAndView listLectures(@RequestParam(defaultValue = "1") int page,
-			@RequestParam(required = false) String fetch) throws ServiceException {
+			@RequestParam Optional<String> cursor) throws ServiceException {
 
-		log.debug("listLectures request params: page [{}], fetch [{}]", page, fetch);
+		log.debug("listLectures request params: page [{}], cursor [{}]", page, cursor);
 
 		ModelAndView modelView = new ModelAndView();
-		modelView.addObject("pageData", getLecturesPageData(page, fetch));
+		modelView.addObject("pageData", cursor.isPresent()? 
+				getLecturesPageData(Keyset.parse(cursor.get())) : getLecturesPageData(page));
 		modelView.setViewName(TABLE_FRAGMENT);
 
 		return modelView;
 	}
 	
 	
-	PageData<Lecture> getLecturesPageData(int page, String fetch) 
-			throws ServiceException {
-		if(fetch != null || !pagination.hasValidCache()) {
-			pagination.setData(lectureService.retrieveAll());
-		}
-		
-		return pagination.getPageData(page);
+	PageData<LectureRow> getLecturesPageData(int page) throws ServiceException {
+		return pagination.getPageData(page, lectureService::retrieveRows);
+	}
+	
+	
+	PageData<LectureRow> getLecturesPageData(Keyset keyset) throws ServiceException {
+		return pagination.getPageData(keyset, lectureService::retrieveRows);
 	}
 	
 	
@@ -121,8 +124,8 @@ public class LectureController {
 		}
 		log.debug("View set: [{}]", modelView.getViewName());
 		
-		PageData<Member> members = 
-				memberController.getMembersPageData(page, null, memberClass);
+		PageData<MemberRow> members = 
+				memberController.getMembersPageData(page, memberClass);
 		log.debug("Received members from memberController: [{}]", members);
 		
 		modelView.addObject("memberType", memberType);
@@ -135,7 +138,7 @@ public class LectureController {
 	@GetMapping("/coursePicker")
 	public ModelAndView pickCourse(
 			@RequestParam(defaultValue = "1") int page) throws ServiceException {
-		PageData<Course> courses = courseController.getCoursesPageData(page, null);
+		PageData<CourseRow> courses = courseController.getCoursesPageData(page);
 		log.debug("Received page of courses: [{}]", courses);
 		
 		ModelAndView modelView = new ModelAndView(COURSE_PICKER);
@@ -147,9 +150,11 @@ public class LectureController {
 	
 	@GetMapping("/datePicker")
 	public ModelAndView pickDate(@RequestParam(required = true) int id,
-			@RequestParam(required = false) String date) {
+			@RequestParam(required = false) String date,
+			@RequestParam Optional<Integer> duration) {
 		
 		ModelAndView modelView = new ModelAndView(DATE_PICKER);
+		modelView.addObject("duration", duration.orElse(Lecture.DEFAULT_DURATION));
 
 		if(date == null) {
 			modelView.addObject("dateTime", 
@@ -200,7 +205,7 @@ public class LectureController {
 		lectureService.delete(lecture);
 		
 		pagination.invalidateCache();
-		return listLectures(page.orElse(1), null);
+		return listLectures(page.orElse(1), Optional.empty());
 	}
 	
 }
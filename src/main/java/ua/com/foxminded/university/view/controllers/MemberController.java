@@ -15,6 +15,8 @@ import org.springframework.web.servlet.ModelAndView;
 import ua.com.foxminded.university.domain.entities.Member;
 import ua.com.foxminded.university.domain.entities.Student;
 import ua.com.foxminded.university.domain.entities.Teacher;
+import ua.com.foxminded.university.repository.Keyset;
+import ua.com.foxminded.university.repository.MemberRow;
 import ua.com.foxminded.university.service.MemberService;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
 import ua.com.foxminded.university.view.paginator.EntryQueryablePaginator;
@@ -28,7 +30,7 @@ public class MemberController {
 	
 	@Autowired
 	@Qualifier("memberPaginator")
-	EntryQueryablePaginator<Member> pagination;
+	EntryQueryablePaginator<MemberRow> pagination;
 	
 	public static final String TABLE_FRAGMENT = "fragments/members :: membersTable";
 	public static final String EDIT_FRAGMENT = "fragments/members :: memberForm";
@@ -38,34 +40,44 @@ public class MemberController {
 	
 	@GetMapping("/members")
 	public ModelAndView listMembers(@RequestParam(defaultValue = "1") int page,
-			@RequestParam(required = false) String fetch) throws ServiceException {
+			@RequestParam Optional<String> cursor) throws ServiceException {
 		
-		log.debug("listMembers request params: page [{}], fetch [{}]", page, fetch);
+		log.debug("listMembers request params: page [{}], cursor [{}]", page, cursor);
 		
 		ModelAndView modelView = new ModelAndView();
-		modelView.addObject("pageData", getMembersPageData(page, fetch));
+		modelView.addObject("pageData", cursor.isPresent()? 
+				getMembersPageData(Keyset.parse(cursor.get())) : getMembersPageData(page));
 		modelView.setViewName(TABLE_FRAGMENT);
 		
 		return modelView;
 	}
 	
 	
-	PageData<Member> getMembersPageData(int page, String fetch, Class<?>...classes) 
+	PageData<MemberRow> getMembersPageData(int page, Class<?>...classes) 
 			throws ServiceException {
-		if(fetch != null || !pagination.hasValidCache()) {
-			pagination.setData(memberService.retrieveAll(), Student.class, Teacher.class);
+		if(classes.length == 1 && classes[0] == Teacher.class) {
+			return pagination.getPageData(page, 
+					pageable -> memberService.retrieveRows(Teacher.MEMBER_TYPE, pageable));
+		} else if(classes.length == 1 && classes[0] == Student.class) {
+			return pagination.getPageData(page, 
+					pageable -> memberService.retrieveRows(Student.MEMBER_TYPE, pageable));
 		}
 		
-		return pagination.getPageData(page, classes);
+		return pagination.getPageData(page, memberService::retrieveRows);
+	}
+	
+	
+	PageData<MemberRow> getMembersPageData(Keyset keyset) throws ServiceException {
+		return pagination.getPageData(keyset, memberService::retrieveRows);
 	}
 	
 	
 	Member getMemberById(int id) throws ServiceException {
 		if(pagination.hasValidCache()) {
-			Optional<Member> member = pagination.getEntry(id);
+			Optional<MemberRow> member = pagination.getEntry(id);
 			if(member.isPresent()) {
 				log.info("returning member from paginator [{}]", member.get());
-				return member.get();
+				return member.get().toMember();
 			}
 		}
 		log.info("returning member from service");
@@ -83,7 +95,7 @@ public class MemberController {
 		
 		pagination.invalidateCache();
 		
-		return listMembers(page.orElse(1), "fetch");
+		return listMembers(page.orElse(1), Optional.empty());
 	}
 	
 	
@@ -124,7 +136,7 @@ public class MemberController {
 		}
 		
 		pagination.invalidateCache();
-		return listMembers(page.orElse(Integer.MAX_VALUE), "fetch");
+		return listMembers(page.orElse(Integer.MAX_VALUE), Optional.empty());
 	}
 	
 }
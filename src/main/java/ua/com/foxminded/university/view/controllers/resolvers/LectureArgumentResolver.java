@@ -37,6 +37,8 @@ public class LectureArgumentResolver implements HandlerMethodArgumentResolver {
 	private Lecture buildLecture(Map<String, String[]> params) {
 		Integer lectureId = Integer.valueOf(params.get("lectureId")[0]);
 		LocalDateTime date = LocalDateTime.parse(params.get("date")[0]);
+		Integer duration = params.containsKey("duration") ? 
+				Integer.valueOf(params.get("duration")[0]) : Lecture.DEFAULT_DURATION;
 		Integer courseId = Integer.valueOf(params.get("courseId")[0]);
 		Integer memberId = Integer.valueOf(params.get("teacherId")[0]);
 		List<Student> students = 
@@ -50,6 +52,7 @@ public class LectureArgumentResolver implements HandlerMethodArgumentResolver {
 		
 		Lecture lecture = new Lecture(date, course, teacher);
 		lecture.setLectureId(lectureId);
+		lecture.setDuration(duration);
 		students.forEach(lecture::addStudent);
 		
 		
@@ -7,11 +7,11 @@ import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.WebApplicationContext;
 
-import ua.com.foxminded.university.domain.entities.Course;
+import ua.com.foxminded.university.repository.CourseRow;
 
 @Component
 @Scope(value = WebApplicationContext.SCOPE_SESSION, proxyMode = ScopedProxyMode.TARGET_CLASS)
-public class CoursePaginator<T extends Course> 
+public class CoursePaginator<T extends CourseRow> 
 	extends Paginator<T> implements EntryQueryablePaginator<T>{
 
 	public CoursePaginator() {
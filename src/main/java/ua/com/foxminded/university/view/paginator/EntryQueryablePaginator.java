@@ -3,12 +3,19 @@ package ua.com.foxminded.university.view.paginator;
 import java.util.List;
 import java.util.Optional;
 
+import ua.com.foxminded.university.repository.Keyset;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+
 public interface EntryQueryablePaginator<T> {
 	
 	Optional<T> getEntry(int key);
 	
 	PageData<T> getPageData(final int pageNumber, Class<?>...classes);
 	
+	PageData<T> getPageData(final int pageNumber, PageSource<T> source) throws ServiceException;
+	
+	PageData<T> getPageData(final Keyset keyset, KeysetSource<T> source) throws ServiceException;
+	
 	boolean hasValidCache();
 	
 	void invalidateCache();
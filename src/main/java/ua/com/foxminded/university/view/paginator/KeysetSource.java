@@ -0,0 +1,13 @@
+package ua.com.foxminded.university.view.paginator;
+
+import java.util.List;
+
+import ua.com.foxminded.university.repository.Keyset;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+
+@FunctionalInterface
+public interface KeysetSource<T> {
+	
+	List<T> fetch(Keyset keyset, int limit) throws ServiceException;
+
+}
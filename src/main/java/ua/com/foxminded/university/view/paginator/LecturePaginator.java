@@ -7,11 +7,12 @@ import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.WebApplicationContext;
 
-import ua.com.foxminded.university.domain.entities.Lecture;
+import ua.com.foxminded.university.repository.Keyset;
+import ua.com.foxminded.university.repository.LectureRow;
 
 @Component
 @Scope(value = WebApplicationContext.SCOPE_SESSION, proxyMode = ScopedProxyMode.TARGET_CLASS)
-public class LecturePaginator<T extends Lecture> 
+public class LecturePaginator<T extends LectureRow> 
 	extends Paginator<T> implements EntryQueryablePaginator<T> {
 	
 	public LecturePaginator() {
@@ -25,5 +26,15 @@ public class LecturePaginator<T extends Lecture>
 				.filter(o -> o.getLectureId() == key)
 				.findFirst();
 	}
+	
+	
+	@Override
+	protected Keyset getKeyset(T entry, Keyset.Order order, boolean backward) {
+		if(order == Keyset.Order.DATE) {
+			return backward? Keyset.before(entry.getDate(), entry.getLectureId()) 
+					: Keyset.after(entry.getDate(), entry.getLectureId());
+		}
+		return backward? Keyset.before(entry.getLectureId()) : Keyset.after(entry.getLectureId());
+	}
 
 }
@@ -7,11 +7,14 @@ import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.WebApplicationContext;
 
-import ua.com.foxminded.university.domain.entities.Member;
+import ua.com.foxminded.university.domain.entities.Student;
+import ua.com.foxminded.university.domain.entities.Teacher;
+import ua.com.foxminded.university.repository.Keyset;
+import ua.com.foxminded.university.repository.MemberRow;
 
 @Component
 @Scope(value = WebApplicationContext.SCOPE_SESSION, proxyMode = ScopedProxyMode.TARGET_CLASS)
-public class MemberPaginator<T extends Member> 
+public class MemberPaginator<T extends MemberRow> 
 	extends Paginator<T> implements EntryQueryablePaginator<T> {
 	
 	public MemberPaginator() {
@@ -25,4 +28,14 @@ public class MemberPaginator<T extends Member>
 				.filter(o -> o.getMemberId() == key)
 				.findFirst();
 	}
+	
+	@Override
+	protected Keyset getKeyset(T entry, Keyset.Order order, boolean backward) {
+		return backward? Keyset.before(entry.getMemberId()) : Keyset.after(entry.getMemberId());
+	}
+	
+	@Override
+	protected Class<?> getIndexClass(T entry) {
+		return (entry.getTypeId() == Teacher.MEMBER_TYPE)? Teacher.class : Student.class;
+	}
 }
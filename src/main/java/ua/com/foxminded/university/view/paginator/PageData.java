@@ -8,7 +8,10 @@ public class PageData <T>{
 	
 	private int pageNumber;
 	private int pageCount;
+	private boolean pageCountApproximate;
 	private List<T> pageContent;
+	private String prevCursor;
+	private String nextCursor;
 	
 	public PageData() {
 		this.pageNumber = 1;
@@ -33,13 +36,24 @@ public class PageData <T>{
 
 
 	public void setPageCount(int pageCount) {
+		setPageCount(pageCount, false);
+	}
+
+
+	public void setPageCount(int pageCount, boolean approximate) {
 		this.pageCount = pageCount;
+		this.pageCountApproximate = approximate;
 	}
 
 
 	public int getPageCount() {
 		return pageCount;
 	}
+
+
+	public boolean isPageCountApproximate() {
+		return pageCountApproximate;
+	}
 	
 	
 	public void setPageContent(List<T> pageContent) {
@@ -49,6 +63,26 @@ public class PageData <T>{
 	public int getPageSize() {
 		return pageContent.size();
 	}
+	
+	
+	public String getPrevCursor() {
+		return prevCursor;
+	}
+
+
+	public void setPrevCursor(String prevCursor) {
+		this.prevCursor = prevCursor;
+	}
+
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
 
 	
 	@Override
@@ -56,6 +90,7 @@ public class PageData <T>{
 		return "PageData ["
 				+ "pageNumber=" + pageNumber + 
 				", pageContent size: " + pageContent.size() +
+				", prevCursor=" + prevCursor + ", nextCursor=" + nextCursor +
 				", \ncontent=" + pageContent +
 				"]";
 	}
@@ -67,7 +102,10 @@ public class PageData <T>{
 		int result = 1;
 		result = prime * result + ((pageContent == null) ? 0 : pageContent.hashCode());
 		result = prime * result + pageCount;
+		result = prime * result + (pageCountApproximate ? 1231 : 1237);
 		result = prime * result + pageNumber;
+		result = prime * result + ((prevCursor == null) ? 0 : prevCursor.hashCode());
+		result = prime * result + ((nextCursor == null) ? 0 : nextCursor.hashCode());
 		return result;
 	}
 
@@ -89,8 +127,20 @@ public class PageData <T>{
 			return false;
 		if (pageCount != other.pageCount)
 			return false;
+		if (pageCountApproximate != other.pageCountApproximate)
+			return false;
 		if (pageNumber != other.pageNumber)
 			return false;
+		if (prevCursor == null) {
+			if (other.prevCursor != null)
+				return false;
+		} else if (!prevCursor.equals(other.prevCursor))
+			return false;
+		if (nextCursor == null) {
+			if (other.nextCursor != null)
+				return false;
+		} else if (!nextCursor.equals(other.nextCursor))
+			return false;
 		return true;
 	}
 	
@@ -0,0 +1,13 @@
+package ua.com.foxminded.university.view.paginator;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+
+@FunctionalInterface
+public interface PageSource<T> {
+	
+	Page<T> fetch(Pageable pageable) throws ServiceException;
+
+}
@@ -11,6 +11,12 @@ import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import ua.com.foxminded.university.repository.Keyset;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.results.CountedPage;
 
 public class Paginator<T> {
 	
@@ -63,6 +69,94 @@ public class Paginator<T> {
 	}
 	
 
+	public PageData<T> getPageData(final int pageNumber, PageSource<T> source) 
+			throws ServiceException {
+		log.debug("Requested page number [{}] from page source", pageNumber);
+		
+		int requestedPage = Math.min(Math.max(pageNumber, 1), Integer.MAX_VALUE / itemsPerPage);
+		Page<T> page = source.fetch(PageRequest.of(requestedPage - 1, itemsPerPage));
+		
+		if(page.getTotalPages() > 0 && requestedPage > page.getTotalPages()) {
+			log.debug("Page [{}] out of range, fetching last page", requestedPage);
+			page = source.fetch(PageRequest.of(page.getTotalPages() - 1, itemsPerPage));
+		}
+		
+		if(!page.hasContent()) {
+			log.debug("Page source empty. Returning empty PageData");
+			return new PageData<>();
+		}
+		
+		setData(page.getContent());
+		
+		PageData<T> pageData = new PageData<>();
+		pageData.setPageCount(page.getTotalPages(), isApproximate(page));
+		pageData.setPageNumber(page.getNumber() + 1);
+		pageData.setPageContent(page.getContent());
+		setCursors(pageData, Keyset.Order.ID, page.hasPrevious(), page.hasNext());
+		
+		log.trace("PageData instance created with [{}] of [{}] elements", 
+				pageData.getPageSize(), page.getTotalElements());
+		
+		return pageData;
+	}
+	
+
+	public PageData<T> getPageData(final Keyset keyset, KeysetSource<T> source) 
+			throws ServiceException {
+		log.debug("Requested page at [{}] from keyset source", keyset);
+		
+		List<T> rows = source.fetch(keyset, itemsPerPage + 1);
+		boolean hasMore = rows.size() > itemsPerPage;
+		
+		if(hasMore) {
+			rows = keyset.isBackward()? 
+					rows.subList(1, rows.size()) : rows.subList(0, itemsPerPage);
+		}
+		
+		if(rows.isEmpty()) {
+			if(keyset.isFirst()) {
+				log.debug("Keyset source empty. Returning empty PageData");
+				return new PageData<>();
+			}
+			log.debug("Nothing found at [{}], serving first page", keyset);
+			return getPageData(Keyset.first(keyset.getOrder()), source);
+		}
+		
+		setData(rows);
+		
+		PageData<T> pageData = new PageData<>();
+		pageData.setPageCount(0);
+		pageData.setPageContent(rows);
+		setCursors(pageData, keyset.getOrder(), 
+				keyset.isBackward()? hasMore : !keyset.isFirst(),
+				keyset.isBackward() || hasMore);
+		
+		log.trace("PageData instance created with [{}] elements", pageData.getPageSize());
+		
+		return pageData;
+	}
+	
+	
+	private boolean isApproximate(Page<T> page) {
+		return (page instanceof CountedPage) && ((CountedPage<T>) page).isApproximate();
+	}
+	
+	
+	private void setCursors(PageData<T> pageData, Keyset.Order order, 
+			boolean hasPrevious, boolean hasNext) {
+		List<T> content = pageData.getPageContent();
+		
+		if(hasPrevious) {
+			Keyset prevKeyset = getKeyset(content.get(0), order, true);
+			pageData.setPrevCursor((prevKeyset == null)? null : prevKeyset.toString());
+		}
+		if(hasNext) {
+			Keyset nextKeyset = getKeyset(content.get(content.size() - 1), order, false);
+			pageData.setNextCursor((nextKeyset == null)? null : nextKeyset.toString());
+		}
+	}
+	
+
 	private int getNearestValidPage(final int requestedPage, Class<?>...classes) {
 		int totalPages = countPages(classes);
 		log.trace("Validating page request [{}/{}]", requestedPage, totalPages);
@@ -129,6 +223,16 @@ public class Paginator<T> {
 	}
 	
 	
+	protected Class<?> getIndexClass(T entry) {
+		return entry.getClass();
+	}
+	
+	
+	protected Keyset getKeyset(T entry, Keyset.Order order, boolean backward) {
+		return null;
+	}
+	
+	
 	private class Cache<S extends T> {
 
 		private List<S> bulkData;
@@ -225,7 +329,7 @@ public class Paginator<T> {
 				
 				int itemsIndexed = 0;
 				for(int i = 0; i < data.size(); i++) {
-					Class<?> entryClass = data.get(i).getClass();
+					Class<?> entryClass = getIndexClass(data.get(i));
 					if(classIndices.containsKey(entryClass)) {
 						classIndices.get(entryClass).add(i);
 						itemsIndexed++;
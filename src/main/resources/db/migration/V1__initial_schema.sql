@@ -0,0 +1,35 @@
+create table courses (
+	course_id serial not null,
+	description varchar(255),
+	subject varchar(255) not null,
+	primary key (course_id)
+);
+
+create table members (
+	member_id serial not null,
+	first_name varchar(255) not null,
+	last_name varchar(255) not null,
+	type_id int4,
+	primary key (member_id)
+);
+
+create table lectures (
+	lecture_id serial not null,
+	date timestamp not null,
+	course_id int4 not null,
+	teacher_id int4 not null,
+	primary key (lecture_id),
+	constraint lectures_course_id_fk foreign key (course_id) references courses,
+	constraint lectures_teacher_id_fk foreign key (teacher_id) references members
+);
+
+create table lecture_student (
+	student_id int4 not null,
+	lecture_id int4 not null,
+	primary key (lecture_id, student_id),
+	constraint lecture_student_lecture_id_fk foreign key (lecture_id) references lectures,
+	constraint lecture_student_student_id_fk foreign key (student_id) references members
+);
+
+create index lectures_teacher_id_date_idx on lectures (teacher_id, date);
+create index lecture_student_student_id_idx on lecture_student (student_id, lecture_id);
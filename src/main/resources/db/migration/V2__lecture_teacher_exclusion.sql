@@ -0,0 +1,10 @@
+create extension if not exists btree_gist;
+
+alter table lectures
+	add column period tsrange generated always as (
+		tsrange(date_trunc('hour', date), date_trunc('hour', date) + interval '1 hour')
+	) stored;
+
+alter table lectures
+	add constraint lectures_teacher_period_excl
+	exclude using gist (teacher_id with =, period with &&);
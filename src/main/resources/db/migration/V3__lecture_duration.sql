@@ -0,0 +1,15 @@
+alter table lectures
+	add column duration int4 not null default 60,
+	add constraint lectures_duration_check check (duration > 0);
+
+alter table lectures drop constraint lectures_teacher_period_excl;
+alter table lectures drop column period;
+
+alter table lectures
+	add column period tsrange generated always as (
+		tsrange(date, date + duration * interval '1 minute')
+	) stored;
+
+alter table lectures
+	add constraint lectures_teacher_period_excl
+	exclude using gist (teacher_id with =, period with &&);
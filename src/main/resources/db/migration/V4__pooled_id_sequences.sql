@@ -0,0 +1,3 @@
+alter sequence courses_course_id_seq increment by 50;
+alter sequence members_member_id_seq increment by 50;
+alter sequence lectures_lecture_id_seq increment by 50;
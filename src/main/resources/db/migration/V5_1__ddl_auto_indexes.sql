@@ -0,0 +1,4 @@
+-- V1 is never run on databases baselined from a ddl-auto schema, so the
+-- indexes it creates are added here where they are missing.
+create index if not exists lectures_teacher_id_date_idx on lectures (teacher_id, date);
+create index if not exists lecture_student_student_id_idx on lecture_student (student_id, lecture_id);
@@ -0,0 +1 @@
+create index lectures_date_lecture_id_idx on lectures (date, lecture_id);
@@ -0,0 +1,208 @@
+-- Lectures are split into monthly range partitions on date. A lecture may not
+-- last longer than 28 days, so a lecture can only overlap lectures of the
+-- same or the adjacent months and period lookups can be bounded by date.
+
+-- Databases baselined from a ddl-auto schema keep the foreign key name
+-- Hibernate generated, so the constraint is looked up rather than named.
+do $$
+declare
+	fk_name name;
+begin
+	for fk_name in select conname from pg_constraint
+			where conrelid = 'lecture_student'::regclass
+			and confrelid = 'lectures'::regclass and contype = 'f' loop
+		execute format('alter table lecture_student drop constraint %I', fk_name);
+	end loop;
+end $$;
+
+alter sequence lectures_lecture_id_seq owned by none;
+alter table lectures rename to lectures_unpartitioned;
+
+-- Longest lecture in minutes, shared by the duration check and the cross-month
+-- overlap check. Lecture.MAX_DURATION must hold the same value.
+create function lectures_max_duration() returns int4
+language sql immutable as $$ select 40320 $$;
+
+create table lectures (
+	lecture_id int4 not null default nextval('lectures_lecture_id_seq'),
+	date timestamp not null,
+	course_id int4 not null,
+	teacher_id int4 not null,
+	duration int4 not null default 60,
+	period tsrange generated always as (
+		tsrange(date, date + duration * interval '1 minute')
+	) stored,
+	constraint lectures_duration_check check (duration > 0 and duration <= lectures_max_duration()),
+	constraint lectures_course_id_fk foreign key (course_id) references courses,
+	constraint lectures_teacher_id_fk foreign key (teacher_id) references members
+) partition by range (date);
+
+create table lectures_default partition of lectures default;
+
+alter table lectures_default
+	add constraint lectures_default_teacher_period_excl
+	exclude using gist (teacher_id with =, period with &&);
+
+-- Creates the partition of the month containing the given date unless it
+-- exists. Lectures of that month kept by the default partition are moved over.
+create function lectures_create_partition(month date) returns boolean
+language plpgsql as $$
+declare
+	partition_name text := 'lectures_' || to_char(month, 'YYYY_MM');
+	from_ts timestamp := date_trunc('month', month);
+	to_ts timestamp := date_trunc('month', month) + interval '1 month';
+begin
+	if to_regclass(partition_name) is not null then
+		return false;
+	end if;
+
+	create temp table lectures_moved on commit drop as
+		select lecture_id, date, course_id, teacher_id, duration
+		from lectures_default where date >= from_ts and date < to_ts;
+	delete from lectures_default where date >= from_ts and date < to_ts;
+
+	execute format('create table %I partition of lectures for values from (%L) to (%L)',
+			partition_name, from_ts, to_ts);
+	execute format('alter table %I add constraint %I exclude using gist (teacher_id with =, period with &&)',
+			partition_name, partition_name || '_teacher_period_excl');
+	execute format('insert into %I (lecture_id, date, course_id, teacher_id, duration) '
+			|| 'select lecture_id, date, course_id, teacher_id, duration from lectures_moved',
+			partition_name);
+
+	drop table lectures_moved;
+	return true;
+end $$;
+
+-- Detaches the partition of the month containing the given date. Enrollments
+-- of its lectures are moved to a table named after the partition with a
+-- _students suffix, so both can be kept aside, dumped or dropped together.
+create function lectures_detach_partition(month date) returns boolean
+language plpgsql as $$
+declare
+	partition_name text := 'lectures_' || to_char(month, 'YYYY_MM');
+begin
+	if not exists (select 1 from pg_inherits
+			where inhparent = 'lectures'::regclass and inhrelid = to_regclass(partition_name)) then
+		return false;
+	end if;
+
+	execute format('alter table lectures detach partition %I', partition_name);
+	execute format('create table %I (like lecture_student)', partition_name || '_students');
+	execute format('with moved as (delete from lecture_student ls using %I l '
+			|| 'where ls.lecture_id = l.lecture_id returning ls.student_id, ls.lecture_id) '
+			|| 'insert into %I (student_id, lecture_id) select student_id, lecture_id from moved',
+			partition_name, partition_name || '_students');
+	return true;
+end $$;
+
+select lectures_create_partition(cast(month as date))
+from (
+	select distinct date_trunc('month', date) as month from lectures_unpartitioned
+	union
+	select generate_series(date_trunc('month', localtimestamp),
+			date_trunc('month', localtimestamp) + interval '12 months', interval '1 month')
+) months
+order by month;
+
+insert into lectures (lecture_id, date, course_id, teacher_id, duration)
+select lecture_id, date, course_id, teacher_id, duration from lectures_unpartitioned;
+
+drop table lectures_unpartitioned;
+
+alter sequence lectures_lecture_id_seq owned by lectures.lecture_id;
+
+alter table lectures add primary key (lecture_id, date);
+create index lectures_teacher_id_date_idx on lectures (teacher_id, date);
+create index lectures_date_lecture_id_idx on lectures (date, lecture_id);
+
+-- Foreign keys can only reference a partitioned table by a key including the
+-- partition key, so enrollments are checked against lectures by triggers.
+-- Rows just written have no statistics yet, so the checks probe lectures by
+-- index per changed row through a lateral subquery instead of leaving the
+-- join order to the planner. As with a real foreign key, the referenced
+-- lecture is locked for key share, so a concurrent delete either waits for
+-- the enrollment to commit and then fails its own check, or commits first and
+-- the enrollment finds no lecture.
+create function lecture_student_lecture_check() returns trigger
+language plpgsql as $$
+begin
+	if exists (select 1 from changed c
+			left join lateral (select true as found from lectures l
+				where l.lecture_id = c.lecture_id limit 1 for key share) l on true
+			where l.found is null) then
+		raise foreign_key_violation using
+			message = 'insert or update on table "lecture_student" violates foreign key constraint "lecture_student_lecture_id_fk"',
+			constraint = 'lecture_student_lecture_id_fk';
+	end if;
+	return null;
+end $$;
+
+create trigger lecture_student_lecture_insert after insert on lecture_student
+	referencing new table as changed
+	for each statement execute function lecture_student_lecture_check();
+
+create trigger lecture_student_lecture_update after update on lecture_student
+	referencing new table as changed
+	for each statement execute function lecture_student_lecture_check();
+
+-- The delete side locks the enrollments it finds for key share, the way the
+-- foreign key check of a real constraint does. It runs with a fresh snapshot,
+-- so it also sees enrollments committed while the delete waited for their
+-- lock on the lecture.
+create function lectures_lecture_student_check() returns trigger
+language plpgsql as $$
+begin
+	if exists (select 1 from changed c
+			cross join lateral (select 1 from lecture_student ls
+				where ls.lecture_id = c.lecture_id limit 1 for key share) ls
+			left join lateral (select true as found from lectures l
+				where l.lecture_id = c.lecture_id limit 1) l on true
+			where l.found is null) then
+		raise foreign_key_violation using
+			message = 'update or delete on table "lectures" violates foreign key constraint "lecture_student_lecture_id_fk" on table "lecture_student"',
+			constraint = 'lecture_student_lecture_id_fk';
+	end if;
+	return null;
+end $$;
+
+create trigger lectures_lecture_student_delete after delete on lectures
+	referencing old table as changed
+	for each statement execute function lectures_lecture_student_check();
+
+-- Exclusion constraints hold per partition only, so overlaps with lectures of
+-- the adjacent months are checked here. Checks of the same teacher are
+-- serialized by a transaction-level advisory lock on (6, teacher_id), taken in
+-- teacher order to avoid deadlocks. The first key keeps these locks apart from
+-- other advisory locks keyed by plain ids. The overlap query runs on a snapshot taken after the lock
+-- is granted, so under read committed it sees lectures committed by the
+-- transaction that held the lock before.
+create function lectures_teacher_period_check() returns trigger
+language plpgsql as $$
+begin
+	perform pg_advisory_xact_lock(6, t.teacher_id)
+	from (select distinct teacher_id from changed) t
+	order by t.teacher_id;
+
+	if exists (select 1 from changed c
+			cross join lateral (select 1 from lectures l
+				where l.teacher_id = c.teacher_id and l.period && c.period
+				and l.lecture_id <> c.lecture_id
+				and l.date > c.date - lectures_max_duration() * interval '1 minute'
+				and l.date < upper(c.period)
+				and date_trunc('month', l.date) <> date_trunc('month', c.date) limit 1) l) then
+		raise exclusion_violation using
+			message = 'conflicting key value violates exclusion constraint "lectures_teacher_period_excl"',
+			constraint = 'lectures_teacher_period_excl';
+	end if;
+	return null;
+end $$;
+
+create trigger lectures_teacher_period_insert after insert on lectures
+	referencing new table as changed
+	for each statement execute function lectures_teacher_period_check();
+
+create trigger lectures_teacher_period_update after update on lectures
+	referencing new table as changed
+	for each statement execute function lectures_teacher_period_check();
+
+analyze lectures;
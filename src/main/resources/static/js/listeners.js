@@ -51,6 +51,7 @@ function initEditorListeners(){
 				var value = $('#datetime-input').val();
 				
 				replaceFormValue('#form-date', value);
+				replaceFormValue('#form-duration', $('#duration-input').val());
 				replaceText('#table-date', value.replace('T', ' '));
 				break;
 				
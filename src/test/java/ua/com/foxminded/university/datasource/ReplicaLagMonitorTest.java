@@ -0,0 +1,115 @@
+package ua.com.foxminded.university.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Replica lag monitor")
+class ReplicaLagMonitorTest {
+
+	@Mock
+	DataSource replica;
+
+	@Mock
+	Connection connection;
+
+	@Mock
+	Statement statement;
+
+	@Mock
+	ResultSet resultSet;
+
+	@Mock
+	Clock clock;
+
+	ReplicaLagMonitor monitor;
+
+	@BeforeEach
+	void setUp() {
+		monitor = new ReplicaLagMonitor(replica, Duration.ofSeconds(5), Duration.ofSeconds(1), clock);
+	}
+
+
+	@Test
+	@DisplayName("accepts lag within tolerance")
+	void testWithinTolerance() throws SQLException {
+		when(clock.millis()).thenReturn(0L);
+		stubLag(4.5);
+
+		assertTrue(monitor.isReplicaUsable());
+	}
+
+
+	@Test
+	@DisplayName("rejects lag beyond tolerance")
+	void testBeyondTolerance() throws SQLException {
+		when(clock.millis()).thenReturn(0L);
+		stubLag(5.5);
+
+		assertFalse(monitor.isReplicaUsable());
+	}
+
+
+	@Test
+	@DisplayName("rejects unreachable replica")
+	void testUnreachable() throws SQLException {
+		when(clock.millis()).thenReturn(0L);
+		when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+		assertFalse(monitor.isReplicaUsable());
+	}
+
+
+	@Test
+	@DisplayName("checks replica once per interval")
+	void testInterval() throws SQLException {
+		when(clock.millis()).thenReturn(0L, 999L, 1000L);
+		stubLag(0);
+
+		monitor.isReplicaUsable();
+		monitor.isReplicaUsable();
+		monitor.isReplicaUsable();
+
+		verify(replica, times(2)).getConnection();
+	}
+
+
+	@Test
+	@DisplayName("keeps replica unavailable until next check")
+	void testMarkedUnavailable() throws SQLException {
+		when(clock.millis()).thenReturn(0L, 500L, 1000L);
+		stubLag(0);
+
+		monitor.markUnavailable();
+
+		assertFalse(monitor.isReplicaUsable());
+		assertTrue(monitor.isReplicaUsable());
+	}
+
+
+	void stubLag(double seconds) throws SQLException {
+		when(replica.getConnection()).thenReturn(connection);
+		when(connection.createStatement()).thenReturn(statement);
+		when(statement.executeQuery(ReplicaLagMonitor.LAG_QUERY)).thenReturn(resultSet);
+		when(resultSet.getDouble(1)).thenReturn(seconds);
+	}
+}
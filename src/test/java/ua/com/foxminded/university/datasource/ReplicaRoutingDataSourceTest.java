@@ -0,0 +1,224 @@
+package ua.com.foxminded.university.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Replica routing data source")
+class ReplicaRoutingDataSourceTest {
+
+	@Mock
+	DataSource primary;
+
+	@Mock
+	DataSource replica;
+
+	@Mock
+	ReplicaLagMonitor lagMonitor;
+
+	@Mock
+	Connection primaryConnection;
+
+	@Mock
+	Connection replicaConnection;
+
+
+	@Nested
+	@DisplayName("with fallback")
+	class WithFallback {
+
+		ReplicaRoutingDataSource dataSource;
+
+		@BeforeEach
+		void setUp() {
+			dataSource = new ReplicaRoutingDataSource(primary, replica, lagMonitor, true);
+		}
+
+		@AfterEach
+		void tearDown() {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		}
+
+
+		@Test
+		@DisplayName("sends writes to primary")
+		void testWrite() throws SQLException {
+			when(primary.getConnection()).thenReturn(primaryConnection);
+
+			assertSame(primaryConnection, dataSource.getConnection());
+			verify(replica, never()).getConnection();
+		}
+
+
+		@Test
+		@DisplayName("sends read-only transactions to replica")
+		void testRead() throws SQLException {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+			when(lagMonitor.isReplicaUsable()).thenReturn(true);
+			when(replica.getConnection()).thenReturn(replicaConnection);
+
+			assertSame(replicaConnection, dataSource.getConnection());
+			verify(primary, never()).getConnection();
+		}
+
+
+		@Test
+		@DisplayName("reads from primary while replica lags")
+		void testLagging() throws SQLException {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+			when(lagMonitor.isReplicaUsable()).thenReturn(false);
+			when(primary.getConnection()).thenReturn(primaryConnection);
+
+			assertSame(primaryConnection, dataSource.getConnection());
+			verify(replica, never()).getConnection();
+		}
+
+
+		@Test
+		@DisplayName("reads from primary when replica refuses connection")
+		void testUnreachable() throws SQLException {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+			when(lagMonitor.isReplicaUsable()).thenReturn(true);
+			when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+			when(primary.getConnection()).thenReturn(primaryConnection);
+
+			assertSame(primaryConnection, dataSource.getConnection());
+			verify(lagMonitor).markUnavailable();
+		}
+
+
+		@Test
+		@DisplayName("hands out connections for other credentials from primary")
+		void testCredentials() throws SQLException {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+			when(primary.getConnection("reporter", "secret")).thenReturn(primaryConnection);
+
+			assertSame(primaryConnection, dataSource.getConnection("reporter", "secret"));
+			verify(replica, never()).getConnection("reporter", "secret");
+		}
+	}
+
+
+	@Nested
+	@DisplayName("without fallback")
+	class WithoutFallback {
+
+		ReplicaRoutingDataSource dataSource;
+
+		@BeforeEach
+		void setUp() {
+			dataSource = new ReplicaRoutingDataSource(primary, replica, lagMonitor, false);
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		}
+
+		@AfterEach
+		void tearDown() {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		}
+
+
+		@Test
+		@DisplayName("reads from replica regardless of lag")
+		void testLagging() throws SQLException {
+			when(replica.getConnection()).thenReturn(replicaConnection);
+
+			assertSame(replicaConnection, dataSource.getConnection());
+			verify(lagMonitor, never()).isReplicaUsable();
+		}
+
+
+		@Test
+		@DisplayName("fails when replica refuses connection")
+		void testUnreachable() throws SQLException {
+			when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+			assertThrows(SQLException.class, dataSource::getConnection);
+			verify(primary, never()).getConnection();
+		}
+	}
+
+
+	@Nested
+	@DisplayName("behind lazy proxy")
+	class BehindLazyProxy {
+
+		EmbeddedDatabase primaryDatabase;
+		EmbeddedDatabase replicaDatabase;
+		JdbcTemplate jdbcTemplate;
+		TransactionTemplate transactionTemplate;
+
+		@BeforeEach
+		void setUp() {
+			primaryDatabase = embeddedDatabase("primary");
+			replicaDatabase = embeddedDatabase("replica");
+			DataSource dataSource = new LazyConnectionDataSourceProxy(
+					new ReplicaRoutingDataSource(primaryDatabase, replicaDatabase, lagMonitor, true));
+			jdbcTemplate = new JdbcTemplate(dataSource);
+			transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		}
+
+		@AfterEach
+		void tearDown() {
+			primaryDatabase.shutdown();
+			replicaDatabase.shutdown();
+		}
+
+
+		@Test
+		@DisplayName("routes read-only transaction to replica")
+		void testReadOnly() {
+			when(lagMonitor.isReplicaUsable()).thenReturn(true);
+			transactionTemplate.setReadOnly(true);
+
+			assertEquals("replica", transactionTemplate.execute(status -> queryRole()));
+		}
+
+
+		@Test
+		@DisplayName("routes read-write transaction to primary")
+		void testReadWrite() {
+			assertEquals("primary", transactionTemplate.execute(status -> queryRole()));
+		}
+
+
+		String queryRole() {
+			return jdbcTemplate.queryForObject("select role from server", String.class);
+		}
+
+		EmbeddedDatabase embeddedDatabase(String role) {
+			EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+					.setType(EmbeddedDatabaseType.H2)
+					.setName(role)
+					.build();
+			new JdbcTemplate(database).execute("create table server (role varchar(10))");
+			new JdbcTemplate(database).update("insert into server values (?)", role);
+			return database;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package ua.com.foxminded.university.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import ua.com.foxminded.university.domain.entities.Lecture;
+import ua.com.foxminded.university.domain.entities.Member;
+import ua.com.foxminded.university.domain.entities.Teacher;
+
+/**
+ * Times teacher conflict checks against the schedule index and against a
+ * walk over all lectures. Enable with {@code -Duniversity.test.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "university.test.benchmark", matches = "true")
+@DisplayName("Conflict check benchmark")
+class ConflictCheckBenchmarkTest {
+
+	static final int LECTURES = 100_000;
+	static final int TEACHERS = 500;
+	static final int PROBES = 10_000;
+	static final LocalDateTime START = LocalDateTime.of(2020, 9, 1, 0, 0);
+
+	LectureSchedule schedule;
+	List<Lecture> probes;
+
+	@BeforeEach
+	void setUp() {
+		List<Member> teachers = new ArrayList<>(TEACHERS);
+		for(int i = 0; i < TEACHERS; i++) {
+			Member teacher = new Teacher("Teacher", "No" + i);
+			teacher.setMemberId(i + 1);
+			teachers.add(teacher);
+		}
+
+		schedule = new LectureSchedule();
+		for(int i = 0; i < LECTURES; i++) {
+			schedule.addLecture(lecture(i + 1, teachers.get(i % TEACHERS), START.plusHours(i / TEACHERS)));
+		}
+
+		probes = new ArrayList<>(PROBES);
+		for(int i = 0; i < PROBES; i++) {
+			probes.add(lecture(LECTURES + i + 1, teachers.get(i % TEACHERS),
+					START.plusHours((i * 7L) % (LECTURES / TEACHERS)).plusMinutes(30)));
+		}
+	}
+
+
+	@Test
+	@DisplayName("finds teacher conflicts faster than a schedule walk")
+	void testTeacherConflicts(TestReporter reporter) {
+		long start = System.nanoTime();
+		int indexed = 0;
+		for(Lecture probe : probes) {
+			indexed += schedule.findTeacherConflicts(probe).size();
+		}
+		long indexedNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		int walked = 0;
+		for(Lecture probe : probes) {
+			walked += walkSchedule(probe);
+		}
+		long walkedNanos = System.nanoTime() - start;
+
+		reporter.publishEntry("indexed ns/check", String.valueOf(indexedNanos / PROBES));
+		reporter.publishEntry("walk ns/check", String.valueOf(walkedNanos / PROBES));
+		assertEquals(walked, indexed, "should find the same conflicts");
+	}
+
+
+	int walkSchedule(Lecture probe) {
+		int conflicts = 0;
+		for(Lecture lecture : schedule.getLectures()) {
+			if(lecture.getTeacher().getMemberId() == probe.getTeacher().getMemberId()
+					&& lecture.getDate().isBefore(probe.getEndDate())
+					&& probe.getDate().isBefore(lecture.getEndDate())) {
+				conflicts++;
+			}
+		}
+		return conflicts;
+	}
+
+	Lecture lecture(int id, Member teacher, LocalDateTime date) {
+		Lecture lecture = new Lecture();
+		lecture.setLectureId(id);
+		lecture.setTeacher(teacher);
+		lecture.setDate(date);
+		return lecture;
+	}
+}
@@ -0,0 +1,122 @@
+package ua.com.foxminded.university.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ua.com.foxminded.university.domain.entities.Lecture;
+import ua.com.foxminded.university.domain.entities.Member;
+import ua.com.foxminded.university.domain.entities.Student;
+import ua.com.foxminded.university.domain.entities.Teacher;
+
+@DisplayName("Conflict sweep")
+class ConflictSweepTest {
+
+	ConflictSweep sweep;
+	LocalDateTime dayStart;
+	Teacher teacher;
+	Student student;
+
+	@BeforeEach
+	void setUp() {
+		sweep = new ConflictSweep();
+		dayStart = LocalDateTime.of(2020, 9, 1, 0, 0);
+		teacher = new Teacher("Marla", "Singer");
+		teacher.setMemberId(1);
+		student = new Student("Ralph", "Cifaretto");
+		student.setMemberId(2);
+	}
+
+
+	@Test
+	@DisplayName("groups chained overlaps of one member")
+	void testGroupsChainedOverlaps() {
+		Lecture first = lecture(1, teacher, dayStart.withHour(9), 90);
+		Lecture second = lecture(2, teacher, dayStart.withHour(10), 60);
+		Lecture third = lecture(3, teacher, dayStart.withHour(10).plusMinutes(45), 60);
+		Lecture separate = lecture(4, teacher, dayStart.withHour(12), 60);
+
+		assertEquals(
+				Arrays.asList(new ScheduleConflict(teacher, Arrays.asList(first, second, third))),
+				sweep.findConflicts(Arrays.asList(separate, third, first, second)),
+				"should report one group of chained lectures");
+	}
+
+
+	@Test
+	@DisplayName("reports student clash under different teachers")
+	void testStudentConflict() {
+		Teacher otherTeacher = new Teacher("Tyler", "Durden");
+		otherTeacher.setMemberId(3);
+		Lecture first = lecture(1, teacher, dayStart.withHour(9), 60);
+		Lecture second = lecture(2, otherTeacher, dayStart.withHour(9).plusMinutes(30), 60);
+		first.addStudent(student);
+		second.addStudent(student);
+
+		List<ScheduleConflict> conflicts = sweep.findConflicts(Arrays.asList(first, second));
+
+		assertEquals(1, conflicts.size());
+		assertEquals(student, conflicts.get(0).getMember());
+		assertFalse(conflicts.get(0).isTeacherConflict());
+	}
+
+
+	@Test
+	@DisplayName("ignores back-to-back lectures")
+	void testBackToBack() {
+		assertTrue(sweep.findConflicts(Arrays.asList(
+				lecture(1, teacher, dayStart.withHour(9), 60),
+				lecture(2, teacher, dayStart.withHour(10), 60))).isEmpty());
+	}
+
+
+	@Test
+	@DisplayName("parallel pass matches sequential pass")
+	void testParallelMatchesSequential() {
+		Random random = new Random(7);
+		List<Member> members = new ArrayList<>();
+		List<Lecture> lectures = new ArrayList<>();
+
+		for(int i = 1; i <= 50; i++) {
+			Member member = i <= 10 ? new Teacher("T", "" + i) : new Student("S", "" + i);
+			member.setMemberId(i);
+			members.add(member);
+		}
+
+		for(int i = 1; i <= 3000; i++) {
+			Lecture lecture = lecture(i, members.get(random.nextInt(10)),
+					dayStart.plusMinutes(15L * random.nextInt(5000)).plusSeconds(i),
+					15 + random.nextInt(120));
+			for(int j = 0; j < 3; j++) {
+				lecture.addStudent(members.get(10 + random.nextInt(40)));
+			}
+			lectures.add(lecture);
+		}
+
+		List<ScheduleConflict> sequential = new ConflictSweep(Integer.MAX_VALUE).findConflicts(lectures);
+
+		assertFalse(sequential.isEmpty());
+		assertEquals(sequential, new ConflictSweep(1).findConflicts(lectures),
+				"should find same conflict groups on fork-join path");
+	}
+
+
+	private Lecture lecture(int id, Member teacher, LocalDateTime date, int duration) {
+		Lecture lecture = new Lecture();
+		lecture.setLectureId(id);
+		lecture.setTeacher(teacher);
+		lecture.setDate(date);
+		lecture.setDuration(duration);
+		return lecture;
+	}
+}
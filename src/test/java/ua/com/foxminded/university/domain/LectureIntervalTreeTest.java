@@ -0,0 +1,133 @@
+package ua.com.foxminded.university.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ua.com.foxminded.university.domain.entities.Lecture;
+
+@DisplayName("Lecture interval tree")
+class LectureIntervalTreeTest {
+
+	LectureIntervalTree tree;
+	LocalDateTime dayStart;
+
+	@BeforeEach
+	void setUp() {
+		tree = new LectureIntervalTree();
+		dayStart = LocalDateTime.of(2020, 9, 1, 0, 0);
+	}
+
+
+	@Test
+	@DisplayName("finds lectures overlapping period")
+	void testFindOverlapping() {
+		Lecture morning = lecture(1, dayStart.withHour(9), 90);
+		Lecture noon = lecture(2, dayStart.withHour(12), 60);
+		Lecture evening = lecture(3, dayStart.withHour(18), 60);
+		Arrays.asList(evening, morning, noon).forEach(tree::add);
+
+		assertEquals(
+				Arrays.asList(morning, noon),
+				tree.findOverlapping(dayStart.withHour(10), dayStart.withHour(12).plusMinutes(1)),
+				"should return overlapping lectures ordered by start");
+	}
+
+
+	@Test
+	@DisplayName("treats intervals as end-exclusive")
+	void testEndExclusive() {
+		tree.add(lecture(1, dayStart.withHour(10), 60));
+
+		assertTrue(tree.findOverlapping(dayStart.withHour(11), dayStart.withHour(12)).isEmpty(),
+				"lecture ending at period start should not overlap");
+		assertTrue(tree.findOverlapping(dayStart.withHour(9), dayStart.withHour(10)).isEmpty(),
+				"lecture starting at period end should not overlap");
+	}
+
+
+	@Test
+	@DisplayName("removes lecture sharing start with others")
+	void testRemove() {
+		Lecture first = lecture(1, dayStart.withHour(10), 60);
+		Lecture second = lecture(2, dayStart.withHour(10), 30);
+		tree.add(first);
+		tree.add(second);
+
+		assertTrue(tree.remove(second), "should report removal");
+		assertFalse(tree.remove(second), "should not remove twice");
+		assertEquals(1, tree.size());
+		assertEquals(Arrays.asList(first),
+				tree.findOverlapping(dayStart, dayStart.plusDays(1)));
+	}
+
+
+	@Test
+	@DisplayName("removes lecture rescheduled after insertion")
+	void testRemoveRescheduled() {
+		Lecture lecture = lecture(1, dayStart.withHour(10), 60);
+		tree.add(lecture);
+		lecture.setDate(dayStart.withHour(15));
+
+		assertTrue(tree.remove(lecture), "should report removal");
+		assertTrue(tree.isEmpty());
+		assertTrue(tree.findOverlapping(dayStart, dayStart.plusDays(1)).isEmpty(),
+				"should not keep the old interval");
+	}
+
+
+	@Test
+	@DisplayName("matches brute force search on random schedule")
+	void testMatchesBruteForce() {
+		Random random = new Random(42);
+		List<Lecture> lectures = new LinkedList<>();
+
+		for(int i = 1; i <= 2000; i++) {
+			Lecture lecture = lecture(i,
+					dayStart.plusMinutes(15L * random.nextInt(4000)).plusSeconds(i),
+					15 + random.nextInt(180));
+			lectures.add(lecture);
+			tree.add(lecture);
+		}
+
+		for(int i = 0; i < 500; i += 2) {
+			tree.remove(lectures.get(i));
+			lectures.remove(i);
+		}
+
+		for(int i = 0; i < 200; i++) {
+			LocalDateTime from = dayStart.plusMinutes(15L * random.nextInt(4000));
+			LocalDateTime to = from.plusMinutes(1 + random.nextInt(240));
+
+			List<Lecture> expected = lectures.stream()
+					.filter(l -> l.getDate().isBefore(to) && l.getEndDate().isAfter(from))
+					.sorted((a, b) -> a.getLectureId() - b.getLectureId())
+					.collect(Collectors.toList());
+			List<Lecture> actual = tree.findOverlapping(from, to).stream()
+					.sorted((a, b) -> a.getLectureId() - b.getLectureId())
+					.collect(Collectors.toList());
+
+			assertEquals(expected, actual, "should find same lectures as linear scan");
+		}
+	}
+
+
+	private Lecture lecture(int id, LocalDateTime date, int duration) {
+		Lecture lecture = new Lecture();
+		lecture.setLectureId(id);
+		lecture.setDate(date);
+		lecture.setDuration(duration);
+		return lecture;
+	}
+}
@@ -0,0 +1,91 @@
+package ua.com.foxminded.university.domain;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ua.com.foxminded.university.domain.entities.Lecture;
+
+@DisplayName("Student occupancy")
+class StudentOccupancyTest {
+
+	StudentOccupancy occupancy;
+	LocalDateTime dayStart;
+
+	@BeforeEach
+	void setUp() {
+		occupancy = new StudentOccupancy();
+		dayStart = LocalDateTime.of(2020, 9, 1, 0, 0);
+	}
+
+
+	@Test
+	@DisplayName("marks every hour touched by lecture")
+	void testOccupy() {
+		occupancy.occupy(1, dayStart.withHour(10).plusMinutes(30), dayStart.withHour(11).plusMinutes(15));
+
+		assertTrue(occupancy.isOccupied(1, dayStart.withHour(10), dayStart.withHour(10).plusMinutes(5)));
+		assertTrue(occupancy.isOccupied(1, dayStart.withHour(11).plusMinutes(45), dayStart.withHour(12)));
+		assertFalse(occupancy.isOccupied(1, dayStart.withHour(12), dayStart.withHour(13)),
+				"hour after lecture end should stay free");
+		assertFalse(occupancy.isOccupied(2, dayStart.withHour(10), dayStart.withHour(12)),
+				"other students should stay free");
+	}
+
+
+	@Test
+	@DisplayName("keeps slots shared with remaining lectures on release")
+	void testRelease() {
+		Lecture remaining = lecture(dayStart.withHour(10).plusMinutes(40), 20);
+		occupancy.occupy(1, dayStart.withHour(10), dayStart.withHour(10).plusMinutes(30));
+		occupancy.occupy(1, remaining.getDate(), remaining.getEndDate());
+
+		occupancy.release(1, dayStart.withHour(10), dayStart.withHour(10).plusMinutes(30),
+				Arrays.asList(remaining));
+		assertTrue(occupancy.isOccupied(1, dayStart.withHour(10), dayStart.withHour(11)));
+
+		occupancy.release(1, remaining.getDate(), remaining.getEndDate(), Collections.emptyList());
+		assertFalse(occupancy.isOccupied(1, dayStart.withHour(10), dayStart.withHour(11)));
+	}
+
+
+	@Test
+	@DisplayName("keeps slots when earlier lecture is occupied later")
+	void testEarlierLecture() {
+		occupancy.occupy(1, dayStart.withHour(10), dayStart.withHour(11));
+		occupancy.occupy(2, dayStart.minusDays(3).withHour(8), dayStart.minusDays(3).withHour(9));
+
+		assertTrue(occupancy.isOccupied(1, dayStart.withHour(10), dayStart.withHour(11)));
+		assertFalse(occupancy.isOccupied(1, dayStart.withHour(9), dayStart.withHour(10)));
+		assertTrue(occupancy.isOccupied(2, dayStart.minusDays(3), dayStart.minusDays(2)));
+	}
+
+
+	@Test
+	@DisplayName("checks window regardless of distant lectures")
+	void testDistantLectures() {
+		occupancy.occupy(1, dayStart.minusYears(30).withHour(8), dayStart.minusYears(30).withHour(9));
+		occupancy.occupy(1, dayStart.withHour(23), dayStart.plusDays(1).withHour(1));
+
+		assertTrue(occupancy.isOccupied(1, dayStart.minusYears(30).withHour(8), dayStart.minusYears(30).withHour(9)));
+		assertTrue(occupancy.isOccupied(1, dayStart.plusDays(1), dayStart.plusDays(1).plusMinutes(30)),
+				"should keep slots of lecture spanning midnight");
+		assertFalse(occupancy.isOccupied(1, dayStart.minusYears(1), dayStart.withHour(23)));
+		assertFalse(occupancy.isOccupied(1, dayStart.plusDays(1).withHour(1), dayStart.plusDays(2)));
+	}
+
+
+	private Lecture lecture(LocalDateTime date, int duration) {
+		Lecture lecture = new Lecture();
+		lecture.setDate(date);
+		lecture.setDuration(duration);
+		return lecture;
+	}
+}
@@ -1,5 +1,6 @@
 package ua.com.foxminded.university.domain;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -165,6 +166,161 @@ class UniversityTest {
 					"should throw DomainException if teacher time overlaps"
 					);
 		}
+		
+		@Test
+		@DisplayName("schedules same teacher for another hour")
+		void testTeacherNextHour() throws DomainException {
+			Lecture nextLecture = new Lecture();
+			nextLecture.setDate(currentDateTime.plusHours(1));
+			nextLecture.setCourse(course);
+			nextLecture.setTeacher((Teacher)teacher);
+			nextLecture.addStudent((Student)student1);
+			
+			university.scheduleLecture(predefinedLecture);
+			assertDoesNotThrow(
+					() -> university.scheduleLecture(nextLecture),
+					"should schedule lecture if teacher time does not overlap"
+					);
+		}
+		
+		@Test
+		@DisplayName("teacher conflict across hour boundary")
+		void testTeacherOverlapAcrossHours() throws DomainException {
+			predefinedLecture.setDate(LocalDateTime.of(2020, 9, 1, 10, 30));
+			Lecture overlapping = new Lecture();
+			overlapping.setDate(LocalDateTime.of(2020, 9, 1, 11, 0));
+			overlapping.setCourse(course);
+			overlapping.setTeacher((Teacher)teacher);
+			overlapping.addStudent((Student)student2);
+			
+			university.scheduleLecture(predefinedLecture);
+			assertThrows(
+					DomainException.class, 
+					() -> university.scheduleLecture(overlapping), 
+					"should throw DomainException if teacher time overlaps"
+					);
+		}
+		
+		@Test
+		@DisplayName("schedules back-to-back lectures of custom duration")
+		void testBackToBackLectures() throws DomainException {
+			predefinedLecture.setDate(LocalDateTime.of(2020, 9, 1, 10, 30));
+			predefinedLecture.setDuration(30);
+			Lecture following = new Lecture();
+			following.setDate(LocalDateTime.of(2020, 9, 1, 11, 0));
+			following.setDuration(45);
+			following.setCourse(course);
+			following.setTeacher((Teacher)teacher);
+			following.addStudent((Student)student2);
+			
+			university.scheduleLecture(predefinedLecture);
+			assertDoesNotThrow(
+					() -> university.scheduleLecture(following),
+					"should schedule lecture starting when previous one ends"
+					);
+		}
+		
+		@Test
+		@DisplayName("throws if lecture duration not positive")
+		void testScheduleThrowsIfNoDuration() {
+			predefinedLecture.setDuration(0);
+			assertThrows(
+					DomainException.class, 
+					() -> university.scheduleLecture(predefinedLecture),
+					"should throw DomainException if duration not positive"
+					);
+		}
+		
+		@Test
+		@DisplayName("releases teacher time slot on cancel")
+		void testTeacherSlotReleased() throws DomainException {
+			Lecture replacement = new Lecture();
+			replacement.setDate(currentDateTime);
+			replacement.setCourse(course);
+			replacement.setTeacher((Teacher)teacher);
+			replacement.addStudent((Student)student2);
+			
+			university.scheduleLecture(predefinedLecture);
+			university.cancelLecture(predefinedLecture);
+			university.scheduleLecture(replacement);
+			
+			assertEquals(replacement, university.getDailySchedule(teacher).getLectures().get(0),
+					"should schedule lecture into released time slot");
+		}
+		
+		@Test
+		@DisplayName("student schedule conflict")
+		void testStudentTimeConflict() throws DomainException {
+			Lecture badLecture = lectureOfOtherTeacher(currentDateTime.plusMinutes(30));
+			badLecture.addStudent((Student)student1);
+			
+			university.scheduleLecture(predefinedLecture);
+			assertThrows(
+					DomainException.class, 
+					() -> university.scheduleLecture(badLecture), 
+					"should throw DomainException if student time overlaps"
+					);
+			assertEquals(Arrays.asList(predefinedLecture), university.findStudentConflicts(badLecture),
+					"should report lecture student is booked for");
+		}
+		
+		@Test
+		@DisplayName("schedules student back-to-back within one hour")
+		void testStudentBackToBackWithinHour() throws DomainException {
+			predefinedLecture.setDate(LocalDateTime.of(2020, 9, 1, 10, 0));
+			predefinedLecture.setDuration(20);
+			Lecture following = lectureOfOtherTeacher(LocalDateTime.of(2020, 9, 1, 10, 20));
+			following.setDuration(40);
+			following.addStudent((Student)student1);
+			
+			university.scheduleLecture(predefinedLecture);
+			assertDoesNotThrow(
+					() -> university.scheduleLecture(following),
+					"should schedule student lecture sharing hour slot without overlap"
+					);
+		}
+		
+		@Test
+		@DisplayName("releases student time slot on cancel")
+		void testStudentSlotReleased() throws DomainException {
+			Lecture replacement = lectureOfOtherTeacher(currentDateTime);
+			replacement.addStudent((Student)student1);
+			
+			university.scheduleLecture(predefinedLecture);
+			university.cancelLecture(predefinedLecture);
+			
+			assertTrue(university.findStudentConflicts(replacement).isEmpty(),
+					"should not report conflicts after cancel");
+			assertDoesNotThrow(
+					() -> university.scheduleLecture(replacement),
+					"should schedule student into released time slot"
+					);
+		}
+		
+		@Test
+		@DisplayName("reports conflicts of loaded schedule")
+		void testFindAllConflicts() throws DomainException {
+			Lecture imported = lectureOfOtherTeacher(currentDateTime);
+			imported.addStudent((Student)student1);
+			UniversityData data = new UniversityData();
+			data.setLectures(Arrays.asList(predefinedLecture, imported));
+			
+			University loaded = new University(data);
+			
+			assertEquals(1, loaded.findAllConflicts().size(),
+					"should report student booked for both lectures");
+			assertEquals(student1, loaded.findAllConflicts().get(0).getMember());
+		}
+		
+		private Lecture lectureOfOtherTeacher(LocalDateTime date) {
+			Teacher otherTeacher = new Teacher("Artie", "Bucco");
+			otherTeacher.setMemberId(101);
+			Lecture lecture = new Lecture();
+			lecture.setDate(date);
+			lecture.setCourse(course);
+			lecture.setTeacher(otherTeacher);
+			return lecture;
+		}
 	}
 	
 	@Nested
@@ -256,5 +412,60 @@ class UniversityTest {
 			
 			assertEquals(expectedScheduleSize, actualScheduleSize);
 		}
+		
+		@Test
+		@DisplayName("retrieves lectures within period")
+		void testPeriodSchedule() throws DomainException {
+			LocalDateTime periodStart = LocalDateTime.of(2020, 3, 2, 0, 0);
+			predefinedLecture.setDate(periodStart.plusDays(6).withHour(23));
+			lecture2.setDate(periodStart.plusDays(7));
+			
+			university.scheduleLecture(predefinedLecture);
+			university.scheduleLecture(lecture2);
+			
+			LectureSchedule weeklySchedule = 
+					university.getSchedule(periodStart, periodStart.plusWeeks(1));
+			
+			assertEquals(Arrays.asList(predefinedLecture), weeklySchedule.getLectures(),
+					"should contain lectures from period start until period end only");
+		}
+		
+		@Test
+		@DisplayName("retrieves lectures of requested member only")
+		void testMemberSchedule() throws DomainException {
+			Teacher otherTeacher = new Teacher("Tyler", "Durden");
+			otherTeacher.setMemberId(101);
+			lecture2.setTeacher(otherTeacher);
+			lecture2.removeStudent(student1);
+			lecture2.addStudent(student2);
+			predefinedLecture.setDate(currentDateTime.toLocalDate().atTime(9, 0));
+			lecture2.setDate(currentDateTime.toLocalDate().atTime(11, 0));
+			
+			university.scheduleLecture(predefinedLecture);
+			university.scheduleLecture(lecture2);
+			
+			assertEquals(Arrays.asList(predefinedLecture), 
+					university.getDailySchedule(teacher).getLectures(),
+					"teacher schedule should not contain other teacher's lectures");
+			assertEquals(Arrays.asList(lecture2), 
+					university.getDailySchedule(otherTeacher).getLectures(),
+					"teacher schedule should not contain other teacher's lectures");
+			assertEquals(Arrays.asList(predefinedLecture, lecture2), 
+					university.getDailySchedule(student2).getLectures(),
+					"student schedule should contain all enrolled lectures");
+		}
+		
+		@Test
+		@DisplayName("retrieves weekly lectures")
+		void testWeeklySchedule() throws DomainException {
+			lecture2.setDate(currentDateTime.plusWeeks(1));
+			
+			university.scheduleLecture(predefinedLecture);
+			university.scheduleLecture(lecture2);
+			
+			assertEquals(Arrays.asList(predefinedLecture), 
+					university.getWeeklySchedule(student1).getLectures(),
+					"schedule should contain this week's lecture only");
+		}
 	}
 }
@@ -0,0 +1,69 @@
+package ua.com.foxminded.university.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@DisplayName("Keyset")
+class KeysetTest {
+
+	static Stream<Keyset> keysets() {
+		LocalDateTime date = LocalDateTime.of(2020, 9, 1, 10, 30, 15);
+		return Stream.of(
+				Keyset.first(Keyset.Order.ID),
+				Keyset.first(Keyset.Order.DATE),
+				Keyset.after(42),
+				Keyset.before(42),
+				Keyset.after(date, 42),
+				Keyset.before(date.withSecond(0), 42));
+	}
+
+
+	@ParameterizedTest
+	@MethodSource("keysets")
+	@DisplayName("parses its own cursor")
+	void testRoundTrip(Keyset keyset) {
+		assertEquals(keyset, Keyset.parse(keyset.toString()));
+	}
+
+
+	@Test
+	@DisplayName("formats readable cursors")
+	void testCursorFormat() {
+		assertEquals("id>42", Keyset.after(42).toString());
+		assertEquals("date<2020-09-01T10:00,7",
+				Keyset.before(LocalDateTime.of(2020, 9, 1, 10, 0), 7).toString());
+		assertTrue(Keyset.parse("date").isFirst());
+	}
+
+
+	@ParameterizedTest
+	@ValueSource(strings = {"", "id>", "id=42", "id>x", "name>42", "date>42", "date<2020-09-01,1"})
+	@DisplayName("rejects malformed cursor")
+	void testRejectsMalformed(String cursor) {
+		assertThrows(IllegalArgumentException.class, () -> Keyset.parse(cursor));
+	}
+
+
+	@Test
+	@DisplayName("flips backward scan into display order")
+	void testDisplayOrder() {
+		List<Integer> scanned = Arrays.asList(3, 2, 1);
+
+		assertEquals(Arrays.asList(1, 2, 3), Keyset.before(4).toDisplayOrder(scanned));
+		assertSame(scanned, Keyset.after(0).toDisplayOrder(scanned),
+				"should keep forward scan as is");
+	}
+}
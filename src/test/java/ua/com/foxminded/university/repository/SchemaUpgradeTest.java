@@ -0,0 +1,111 @@
+package ua.com.foxminded.university.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Enable with {@code -Duniversity.test.postgres=true}; runs in a scratch schema.
+ */
+@JdbcTest(properties = "logging.level.root=warn")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "university.test.postgres", matches = "true")
+@DisplayName("Schema upgrade")
+class SchemaUpgradeTest {
+
+	static final String SCHEMA = "ddl_auto_upgrade";
+
+	@Autowired
+	DataSource dataSource;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		jdbcTemplate.execute("drop schema if exists " + SCHEMA + " cascade");
+		jdbcTemplate.execute("create schema " + SCHEMA);
+
+		try(Connection connection = dataSource.getConnection();
+				Statement statement = connection.createStatement()) {
+			statement.execute("set search_path to " + SCHEMA);
+			try {
+				ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/ddl-auto-schema.sql"));
+			} finally {
+				statement.execute("reset search_path");
+			}
+		}
+
+		Flyway.configure()
+				.dataSource(dataSource)
+				.schemas(SCHEMA)
+				.baselineOnMigrate(true)
+				.baselineVersion("1")
+				.load()
+				.migrate();
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.execute("drop schema if exists " + SCHEMA + " cascade");
+	}
+
+
+	@Test
+	@DisplayName("partitions lectures and keeps their enrollments")
+	void testLecturesPartitioned() {
+		assertEquals("p", jdbcTemplate.queryForObject(
+				"select relkind from pg_class where oid = to_regclass(?)", String.class, SCHEMA + ".lectures"));
+		assertEquals(2, count("select count(*) from " + SCHEMA + ".lectures"));
+		assertEquals(2, count("select count(*) from " + SCHEMA + ".lecture_student"));
+	}
+
+
+	@Test
+	@DisplayName("drops lecture foreign key with generated name")
+	void testGeneratedForeignKeyDropped() {
+		assertNull(jdbcTemplate.queryForObject("select to_regclass(?)", String.class,
+				SCHEMA + ".lectures_unpartitioned"));
+		assertEquals(Arrays.asList("fkoe8g4dvkki0v88hvrtpq07eh"), jdbcTemplate.queryForList(
+				"select conname from pg_constraint where conrelid = to_regclass(?) and contype = 'f'",
+				String.class, SCHEMA + ".lecture_student"));
+	}
+
+
+	@Test
+	@DisplayName("adds indexes created by V1")
+	void testIndexesAdded() {
+		assertEquals(1, count("select count(*) from pg_indexes where schemaname = ? and indexname = ?",
+				SCHEMA, "lectures_teacher_id_date_idx"));
+		assertEquals(1, count("select count(*) from pg_indexes where schemaname = ? and indexname = ?",
+				SCHEMA, "lecture_student_student_id_idx"));
+	}
+
+
+	long count(String sql, Object... arguments) {
+		return jdbcTemplate.queryForObject(sql, Long.class, arguments);
+	}
+}
@@ -0,0 +1,245 @@
+package ua.com.foxminded.university.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import ua.com.foxminded.university.repository.EnrollmentRow;
+import ua.com.foxminded.university.repository.LectureExportRow;
+import ua.com.foxminded.university.repository.LectureRepository;
+import ua.com.foxminded.university.service.archives.ArchiveStore;
+import ua.com.foxminded.university.service.archives.ArchiveStore.PendingArchive;
+import ua.com.foxminded.university.service.caches.LectureWindowCache;
+import ua.com.foxminded.university.service.caches.ReferenceCache;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.partitions.LecturePartitionMaintenance;
+import ua.com.foxminded.university.service.results.ArchivedLecture;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Archive Service")
+class ArchiveServiceImplTest {
+	
+	static final LocalDateTime AUGUST = LocalDateTime.of(2019, 8, 1, 0, 0);
+	static final LocalDateTime SEPTEMBER = LocalDateTime.of(2019, 9, 1, 0, 0);
+	static final LocalDateTime OCTOBER = LocalDateTime.of(2019, 10, 1, 0, 0);
+	
+	@Mock
+	LectureRepository repository;
+	
+	@Mock
+	ArchiveStore store;
+	
+	@Mock
+	LecturePartitionMaintenance partitions;
+	
+	@Mock
+	ReferenceCache referenceCache;
+	
+	@Mock
+	PendingArchive pendingArchive;
+	
+	@Mock
+	LectureWindowCache windowCache;
+	
+	@Captor
+	ArgumentCaptor<List<ArchivedLecture>> archived;
+	
+	@InjectMocks
+	ArchiveServiceImpl archiveService = new ArchiveServiceImpl();
+	
+	
+	@Nested
+	@DisplayName("Archiving")
+	class ArchivingTest {
+		
+		@BeforeEach
+		void setUp() {
+			TransactionSynchronizationManager.initSynchronization();
+		}
+		
+		@AfterEach
+		void tearDown() {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		
+		
+		@Test
+		@DisplayName("archives months with lectures and removes them from live tables")
+		void testArchiveBefore() throws ServiceException, IOException {
+			when(repository.findFirstDateBefore(OCTOBER)).thenReturn(AUGUST.plusDays(14));
+			when(repository.streamExportRows(AUGUST, SEPTEMBER)).thenReturn(Stream.of(
+					new LectureExportRow(1, AUGUST.plusDays(14), 90, 5, "Chemistry", 7, "Walter", "White"),
+					new LectureExportRow(2, AUGUST.plusDays(15), 60, 5, "Chemistry", 7, "Walter", "White")));
+			when(repository.streamEnrollmentRows(AUGUST, SEPTEMBER)).thenReturn(Stream.of(
+					new EnrollmentRow(1, 8, "Jesse", "Pinkman"),
+					new EnrollmentRow(1, 9, "Skyler", "White")));
+			when(repository.streamExportRows(SEPTEMBER, OCTOBER)).thenReturn(Stream.empty());
+			when(repository.streamEnrollmentRows(SEPTEMBER, OCTOBER)).thenReturn(Stream.empty());
+			when(repository.deleteEnrollmentsBetween(AUGUST, SEPTEMBER)).thenReturn(2);
+			when(store.prepare(eq(YearMonth.of(2019, 8)), anyCollection())).thenReturn(pendingArchive);
+			
+			List<YearMonth> months = archiveService.archiveBefore(YearMonth.of(2019, 10));
+			
+			assertEquals(Collections.singletonList(YearMonth.of(2019, 8)), months);
+			verify(store).prepare(eq(YearMonth.of(2019, 8)), archived.capture());
+			assertEquals(Arrays.asList(
+					new ArchivedLecture(1, AUGUST.plusDays(14), 90, 5, "Chemistry", 7, "Walter", "White", 
+							Arrays.asList(8, 9)),
+					new ArchivedLecture(2, AUGUST.plusDays(15), 60, 5, "Chemistry", 7, "Walter", "White", 
+							Collections.emptyList())), 
+					archived.getValue());
+			verify(partitions).dropPartition(YearMonth.of(2019, 8));
+			verify(repository).deleteBetween(AUGUST, SEPTEMBER);
+			verify(partitions, never()).dropPartition(YearMonth.of(2019, 9));
+			verify(windowCache).invalidate();
+			verify(referenceCache).evictQueryResults();
+			verify(store, never()).publish(any());
+			
+			TransactionSynchronizationUtils.triggerAfterCommit();
+			TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+			verify(store).publish(pendingArchive);
+			verify(store, never()).discard(any());
+		}
+		
+		
+		@Test
+		@DisplayName("discards prepared archive if transaction rolls back")
+		void testRollback() throws ServiceException, IOException {
+			when(repository.findFirstDateBefore(SEPTEMBER)).thenReturn(AUGUST);
+			when(repository.streamExportRows(AUGUST, SEPTEMBER)).thenReturn(Stream.of(
+					new LectureExportRow(1, AUGUST, 90, 5, "Chemistry", 7, "Walter", "White")));
+			when(repository.streamEnrollmentRows(AUGUST, SEPTEMBER)).thenReturn(Stream.empty());
+			when(store.prepare(any(YearMonth.class), anyCollection())).thenReturn(pendingArchive);
+			
+			archiveService.archiveBefore(YearMonth.of(2019, 9));
+			TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+			
+			verify(store, never()).publish(any());
+			verify(store).discard(pendingArchive);
+		}
+		
+		
+		@Test
+		@DisplayName("archives nothing without lectures before cutoff")
+		void testNothingToArchive() throws ServiceException {
+			when(repository.findFirstDateBefore(OCTOBER)).thenReturn(null);
+			
+			assertTrue(archiveService.archiveBefore(YearMonth.of(2019, 10)).isEmpty());
+			verifyNoInteractions(store, partitions);
+		}
+		
+		
+		@Test
+		@DisplayName("throws exception for cutoff after current month")
+		void testFutureCutoff() {
+			assertThrows(ServiceException.class, 
+					() -> archiveService.archiveBefore(YearMonth.now().plusMonths(2)));
+			verifyNoInteractions(repository, store);
+		}
+		
+		
+		@Test
+		@DisplayName("keeps live rows if archive cannot be written")
+		void testWriteFailure() throws IOException {
+			when(repository.findFirstDateBefore(SEPTEMBER)).thenReturn(AUGUST);
+			when(repository.streamExportRows(AUGUST, SEPTEMBER)).thenReturn(Stream.of(
+					new LectureExportRow(1, AUGUST, 90, 5, "Chemistry", 7, "Walter", "White")));
+			when(repository.streamEnrollmentRows(AUGUST, SEPTEMBER)).thenReturn(Stream.empty());
+			when(store.prepare(any(YearMonth.class), anyCollection())).thenThrow(new IOException("disk full"));
+			
+			assertThrows(ServiceException.class, 
+					() -> archiveService.archiveBefore(YearMonth.of(2019, 9)));
+			verify(repository, never()).deleteEnrollmentsBetween(any(), any());
+			verifyNoInteractions(partitions);
+		}
+		
+		
+		@Test
+		@DisplayName("leaves scheduled archiving off without active months")
+		void testArchiveInactiveDisabled() throws ServiceException {
+			archiveService.archiveInactive();
+			
+			verifyNoInteractions(repository, store, partitions);
+		}
+	}
+	
+	
+	@Nested
+	@DisplayName("Historical query")
+	class QueryTest {
+		
+		@Test
+		@DisplayName("reads archive from start of first to end of last day")
+		void testRetrieveArchivedLectures() throws ServiceException, IOException {
+			List<ArchivedLecture> lectures = Collections.singletonList(new ArchivedLecture(1, 
+					AUGUST, 90, 5, "Chemistry", 7, "Walter", "White", Collections.emptyList()));
+			when(store.find(7, AUGUST, SEPTEMBER)).thenReturn(lectures);
+			
+			assertEquals(lectures, archiveService.retrieveArchivedLectures(7, 
+					LocalDate.of(2019, 8, 1), LocalDate.of(2019, 8, 31)));
+		}
+		
+		
+		@Test
+		@DisplayName("throws exception for invalid period")
+		void testInvalidPeriod() {
+			assertThrows(ServiceException.class, () -> archiveService.retrieveArchivedLectures(7, 
+					LocalDate.of(2019, 8, 31), LocalDate.of(2019, 8, 1)));
+			assertThrows(ServiceException.class, () -> archiveService.retrieveArchivedLectures(7, 
+					null, LocalDate.of(2019, 8, 1)));
+			verifyNoInteractions(store);
+		}
+		
+		
+		@Test
+		@DisplayName("throws exception for invalid member id")
+		void testInvalidMemberId() {
+			assertThrows(ServiceException.class, () -> archiveService.retrieveArchivedLectures(0, 
+					LocalDate.of(2019, 8, 1), LocalDate.of(2019, 8, 31)));
+			assertThrows(ServiceException.class, () -> archiveService.retrieveArchivedLectures(-7, 
+					LocalDate.of(2019, 8, 1), LocalDate.of(2019, 8, 31)));
+			verifyNoInteractions(store);
+		}
+		
+		
+		@Test
+		@DisplayName("throws exception if archive cannot be read")
+		void testReadFailure() throws IOException {
+			when(store.find(7, AUGUST, SEPTEMBER)).thenThrow(new IOException("corrupt"));
+			
+			assertThrows(ServiceException.class, () -> archiveService.retrieveArchivedLectures(7, 
+					LocalDate.of(2019, 8, 1), LocalDate.of(2019, 8, 31)));
+		}
+	}
+}
@@ -7,6 +7,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -19,9 +20,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import ua.com.foxminded.university.domain.entities.Course;
 import ua.com.foxminded.university.repository.CourseRepository;
+import ua.com.foxminded.university.repository.CourseRow;
+import ua.com.foxminded.university.service.caches.ReferenceCache;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
 import ua.com.foxminded.university.service.validators.EntityValidator;
 
@@ -35,6 +42,9 @@ class CourseServiceImplTest {
 	@Mock(name = "courseValidator")
 	EntityValidator<Course> validator;
 	
+	@Mock
+	ReferenceCache referenceCache;
+	
 	@InjectMocks
 	CourseService courseService = new CourseServiceImpl();
 	
@@ -112,6 +122,18 @@ class CourseServiceImplTest {
 			List<Course> actualCourses = courseService.retrieveAll();
 			assertArrayEquals(courses.toArray(), actualCourses.toArray());
 		}
+		
+		
+		@Test
+		@DisplayName("retrieves requested page of course rows")
+		void testRetrieveRows() throws ServiceException {
+			Pageable pageable = PageRequest.of(1, 10);
+			Page<CourseRow> page = new PageImpl<>(
+					Arrays.asList(new CourseRow(11, "Subject", "Description")), pageable, 11);
+			when(repository.findRows(pageable)).thenReturn(page);
+			
+			assertEquals(page, courseService.retrieveRows(pageable));
+		}
 	}
 	
 	
@@ -126,6 +148,13 @@ class CourseServiceImplTest {
 			verify(repository).save(course);
 		}
 		
+		@Test
+		@DisplayName("evicts cached courses after update")
+		void testEvictsCache() throws ServiceException {
+			courseService.update(course);
+			verify(referenceCache).evict(Course.class);
+		}
+		
 		@Test
 		@DisplayName("calls for proper parameter validation ")
 		void testCallsForValidation() throws ServiceException {
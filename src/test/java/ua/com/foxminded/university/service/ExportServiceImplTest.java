@@ -0,0 +1,121 @@
+package ua.com.foxminded.university.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import ua.com.foxminded.university.repository.EnrollmentRow;
+import ua.com.foxminded.university.repository.LectureExportRow;
+import ua.com.foxminded.university.repository.LectureRepository;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Export Service")
+class ExportServiceImplTest {
+	
+	@Mock
+	LectureRepository repository;
+	
+	@InjectMocks
+	ExportService exportService = new ExportServiceImpl();
+	
+	StringWriter writer;
+	
+	@BeforeEach
+	void setUp() {
+		writer = new StringWriter();
+	}
+	
+	
+	@Nested
+	@DisplayName("Lectures")
+	class LecturesTest {
+		
+		@Test
+		@DisplayName("writes header and one line per lecture")
+		void testExportLectures() throws ServiceException {
+			when(repository.streamExportRows()).thenReturn(Stream.of(
+					new LectureExportRow(1, LocalDateTime.of(2020, 9, 1, 9, 0), 90, 
+							5, "Chemistry", 7, "Walter", "White")));
+			
+			long count = exportService.exportLectures(writer);
+			
+			assertEquals(1, count);
+			assertEquals("lecture_id,date,duration,course_id,course_subject,teacher_id,"
+					+ "teacher_first_name,teacher_last_name\n"
+					+ "1,2020-09-01T09:00,90,5,Chemistry,7,Walter,White\n", writer.toString());
+		}
+		
+		
+		@Test
+		@DisplayName("quotes values with separators and quotes")
+		void testQuotesValues() throws ServiceException {
+			when(repository.streamExportRows()).thenReturn(Stream.of(
+					new LectureExportRow(1, LocalDateTime.of(2020, 9, 1, 9, 0), 60, 
+							5, "Cooking, \"advanced\"", 7, "Walter", null)));
+			
+			exportService.exportLectures(writer);
+			
+			assertTrue(writer.toString().endsWith("5,\"Cooking, \"\"advanced\"\"\",7,Walter,\n"), 
+					"should quote value and double quotes inside");
+		}
+		
+		
+		@Test
+		@DisplayName("closes row stream")
+		void testClosesStream() throws ServiceException {
+			AtomicBoolean closed = new AtomicBoolean();
+			when(repository.streamExportRows()).thenReturn(
+					Stream.<LectureExportRow>empty().onClose(() -> closed.set(true)));
+			
+			exportService.exportLectures(writer);
+			
+			assertTrue(closed.get(), "should release cursor after export");
+		}
+		
+		
+		@Test
+		@DisplayName("throws if rows can not be read")
+		void testThrows() {
+			when(repository.streamExportRows()).thenThrow(new QueryTimeoutException("timeout"));
+			
+			assertThrows(ServiceException.class, () -> exportService.exportLectures(writer));
+		}
+	}
+	
+	
+	@Nested
+	@DisplayName("Enrollments")
+	class EnrollmentsTest {
+		
+		@Test
+		@DisplayName("writes header and one line per enrollment")
+		void testExportEnrollments() throws ServiceException {
+			when(repository.streamEnrollmentRows()).thenReturn(Stream.of(
+					new EnrollmentRow(1, 8, "Jesse", "Pinkman"),
+					new EnrollmentRow(1, 9, "Skyler", "White")));
+			
+			long count = exportService.exportEnrollments(writer);
+			
+			assertEquals(2, count);
+			assertEquals("lecture_id,student_id,student_first_name,student_last_name\n"
+					+ "1,8,Jesse,Pinkman\n1,9,Skyler,White\n", writer.toString());
+		}
+	}
+}
@@ -0,0 +1,334 @@
+package ua.com.foxminded.university.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import ua.com.foxminded.university.domain.entities.Course;
+import ua.com.foxminded.university.domain.entities.Lecture;
+import ua.com.foxminded.university.domain.entities.Member;
+import ua.com.foxminded.university.domain.entities.Student;
+import ua.com.foxminded.university.domain.entities.Teacher;
+import ua.com.foxminded.university.repository.CourseRepository;
+import ua.com.foxminded.university.repository.Keyset;
+import ua.com.foxminded.university.repository.LectureRepository;
+import ua.com.foxminded.university.repository.LectureRow;
+import ua.com.foxminded.university.repository.MemberRepository;
+import ua.com.foxminded.university.repository.MemberRow;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+
+@DataJpaTest(properties = {
+		"spring.flyway.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"university.pagination.estimated-count-threshold=0",
+		"logging.level.root=warn"
+})
+@ComponentScan(basePackageClasses = UniversityService.class)
+@DisplayName("Fetch plans")
+class FetchPlanTest {
+	
+	@Autowired
+	TestEntityManager entityManager;
+	
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+	
+	@Autowired
+	MemberService memberService;
+	
+	@Autowired
+	LectureService lectureService;
+	
+	@Autowired
+	CourseService courseService;
+	
+	@Autowired
+	ExportService exportService;
+	
+	@Autowired
+	MemberRepository memberRepository;
+	
+	@Autowired
+	CourseRepository courseRepository;
+	
+	@Autowired
+	LectureRepository lectureRepository;
+	
+	Statistics statistics;
+	Course course;
+	Member teacher;
+	Member student;
+	
+	
+	@BeforeEach
+	void setUp() {
+		course = entityManager.persist(new Course("Glass blowing", "Molten glass"));
+		teacher = persistMember(new Teacher("Marla", "Singer"));
+		student = persistMember(new Student("Ralph", "Cifaretto"));
+		Member student2 = persistMember(new Student("Charmaine", "Bucco"));
+		
+		for(int i = 0; i < 3; i++) {
+			Lecture lecture = new Lecture();
+			lecture.setDate(LocalDateTime.of(2020, 9, 1, 9 + i, 0));
+			lecture.setCourse(course);
+			lecture.setTeacher(teacher);
+			lecture.addStudent(student);
+			lecture.addStudent(student2);
+			entityManager.persist(lecture);
+		}
+		entityManager.flush();
+		entityManager.clear();
+		
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+	
+	
+	@Test
+	@DisplayName("retrieves all members in one statement")
+	void testRetrieveAllMembers() throws ServiceException {
+		List<Member> members = memberService.retrieveAll();
+		
+		assertEquals(3, members.size());
+		assertEquals(1, statistics.getPrepareStatementCount(), 
+				"should not load lectures of retrieved members");
+	}
+	
+	
+	@Test
+	@DisplayName("retrieves all lectures with students in one statement")
+	void testRetrieveAllLectures() throws ServiceException {
+		List<Lecture> lectures = lectureService.retrieveAll();
+		
+		assertEquals(3, lectures.size());
+		assertEquals(2, lectures.get(0).getStudents().size());
+		assertEquals(1, statistics.getPrepareStatementCount(), 
+				"should fetch course, teacher and students along with lectures");
+	}
+	
+	
+	@Test
+	@DisplayName("retrieves page of lecture rows with student counts and total count")
+	void testRetrieveRows() throws ServiceException {
+		Page<LectureRow> page = lectureService.retrieveRows(PageRequest.of(0, 2));
+		List<LectureRow> rows = page.getContent();
+		
+		assertEquals(2, rows.size());
+		assertEquals(3, page.getTotalElements());
+		assertEquals("Singer", rows.get(0).getTeacherLastName());
+		assertEquals("Glass blowing", rows.get(0).getCourseSubject());
+		assertEquals(2, rows.get(0).getStudentCount());
+		assertEquals(0, statistics.getEntityLoadCount(), 
+				"should not load any entities for table view");
+		assertEquals(2, statistics.getPrepareStatementCount(), 
+				"should fetch page rows and total count only");
+	}
+	
+	
+	@Test
+	@DisplayName("seeks lecture rows by date and id without counting")
+	void testRetrieveRowsByKeyset() throws ServiceException {
+		List<LectureRow> firstRows = lectureService.retrieveRows(Keyset.first(Keyset.Order.DATE), 2);
+		LectureRow last = firstRows.get(1);
+		
+		List<LectureRow> nextRows = lectureService.retrieveRows(
+				Keyset.after(last.getDate(), last.getLectureId()), 2);
+		List<LectureRow> prevRows = lectureService.retrieveRows(
+				Keyset.before(nextRows.get(0).getDate(), nextRows.get(0).getLectureId()), 2);
+		
+		assertEquals(1, nextRows.size());
+		assertEquals(LocalDateTime.of(2020, 9, 1, 11, 0), nextRows.get(0).getDate());
+		assertEquals(firstRows, prevRows, "should step back to the first rows in display order");
+		assertEquals(3, statistics.getPrepareStatementCount(), 
+				"should issue one statement per page");
+	}
+	
+	
+	@Test
+	@DisplayName("retrieves lecture for editor in one statement")
+	void testRetrieveForEditor() throws ServiceException {
+		int lectureId = lectureService.retrieveRows(PageRequest.of(0, 1)).getContent().get(0).getLectureId();
+		entityManager.clear();
+		statistics.clear();
+		
+		Lecture lecture = lectureService.retrieveById(lectureId);
+		
+		assertEquals(2, lecture.getStudents().size());
+		assertEquals(1, statistics.getPrepareStatementCount(), 
+				"should fetch course, teacher and students along with lecture");
+	}
+	
+	
+	@Test
+	@DisplayName("retrieves page of member rows by type without loading entities")
+	void testRetrieveMemberRows() throws ServiceException {
+		Page<MemberRow> page = memberService.retrieveRows(
+				Student.MEMBER_TYPE, PageRequest.of(1, 1));
+		
+		assertEquals(1, page.getContent().size());
+		assertEquals("Bucco", page.getContent().get(0).getLastName());
+		assertEquals(2, page.getTotalElements());
+		assertEquals(0, statistics.getEntityLoadCount(), 
+				"should not load member entities");
+	}
+	
+	
+	@Test
+	@DisplayName("deletes student enrolled in lectures with one bulk statement")
+	void testDeleteStudent() throws ServiceException {
+		memberService.delete(student);
+		entityManager.flush();
+		
+		assertEquals(3, statistics.getPrepareStatementCount(), 
+				"should load member, delete enrollments and delete member only");
+		assertEquals(0, statistics.getCollectionLoadCount(), "should not load lectures");
+		assertEquals(3, countLectureStudents(), "should keep enrollments of other student");
+	}
+	
+	
+	@Test
+	@DisplayName("refuses to delete teacher with scheduled lectures")
+	void testDeleteTeacher() {
+		assertThrows(ServiceException.class, () -> memberService.delete(teacher));
+		
+		assertEquals(6, countLectureStudents());
+		assertEquals(3, lectureService.retrieveAll().size());
+	}
+	
+	
+	@Test
+	@DisplayName("retrieves schedule of member in one statement")
+	void testRetrieveMemberSchedule() throws ServiceException {
+		Member otherTeacher = persistMember(new Teacher("Tyler", "Durden"));
+		persistLecture(LocalDateTime.now(), teacher, student);
+		persistLecture(LocalDateTime.now(), otherTeacher, student);
+		persistLecture(LocalDateTime.now(), otherTeacher);
+		entityManager.flush();
+		entityManager.clear();
+		statistics.clear();
+		
+		List<Lecture> teacherSchedule = lectureService.retrieveDailyLectures(teacher);
+		List<Lecture> studentSchedule = lectureService.retrieveDailyLectures(student);
+		
+		assertEquals(1, teacherSchedule.size(), "should skip lectures of other days and teachers");
+		assertEquals(2, studentSchedule.size(), "should skip lectures student is not enrolled in");
+		assertEquals(1, studentSchedule.get(0).getStudents().size());
+		assertEquals(2, statistics.getPrepareStatementCount(), 
+				"should issue one statement per member type");
+	}
+	
+	
+	@Test
+	@DisplayName("streams export rows without managing entities")
+	void testExport() throws ServiceException {
+		StringWriter lectures = new StringWriter();
+		StringWriter enrollments = new StringWriter();
+		
+		assertEquals(3, exportService.exportLectures(lectures));
+		assertEquals(6, exportService.exportEnrollments(enrollments));
+		
+		assertTrue(lectures.toString().contains(",Glass blowing,"));
+		assertEquals(0, statistics.getEntityLoadCount(), "should read projections only");
+		assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics()
+				.getEntityCount(), "should keep persistence context empty");
+		assertEquals(2, statistics.getPrepareStatementCount());
+	}
+	
+	
+	@Test
+	@DisplayName("serves repeated course and member lookups from second-level cache")
+	void testReferenceDataCached() throws ServiceException {
+		TestTransaction.flagForCommit();
+		TestTransaction.end();
+		
+		try {
+			courseService.retrieveById(course.getCourseId());
+			memberService.retrieveById(teacher.getMemberId());
+			statistics.clear();
+			
+			assertEquals("Glass blowing", courseService.retrieveById(course.getCourseId()).getSubject());
+			assertEquals("Singer", memberService.retrieveById(teacher.getMemberId()).getLastName());
+			assertEquals(0, statistics.getPrepareStatementCount(), "should not query database");
+			assertEquals(2, statistics.getSecondLevelCacheHitCount());
+		} finally {
+			lectureRepository.deleteAll();
+			memberRepository.deleteAll();
+			courseRepository.deleteAll();
+		}
+	}
+	
+	
+	@Test
+	@DisplayName("keeps cached reference data when deleting enrollments")
+	void testEnrollmentDeleteKeepsCache() throws ServiceException {
+		TestTransaction.flagForCommit();
+		TestTransaction.end();
+		
+		try {
+			courseService.retrieveById(course.getCourseId());
+			memberService.retrieveById(teacher.getMemberId());
+			
+			TestTransaction.start();
+			memberRepository.deleteEnrollments(student.getMemberId());
+			TestTransaction.flagForCommit();
+			TestTransaction.end();
+			statistics.clear();
+			
+			assertEquals("Glass blowing", courseService.retrieveById(course.getCourseId()).getSubject());
+			assertEquals("Singer", memberService.retrieveById(teacher.getMemberId()).getLastName());
+			assertEquals(0, statistics.getPrepareStatementCount(), "should not evict cached entities");
+			assertEquals(2, statistics.getSecondLevelCacheHitCount());
+		} finally {
+			lectureRepository.deleteAll();
+			memberRepository.deleteAll();
+			courseRepository.deleteAll();
+		}
+	}
+	
+	
+	private long countLectureStudents() {
+		return ((Number) entityManager.getEntityManager()
+				.createNativeQuery("select count(*) from lecture_student")
+				.getSingleResult()).longValue();
+	}
+	
+	
+	private void persistLecture(LocalDateTime date, Member teacher, Member... students) {
+		Lecture lecture = new Lecture();
+		lecture.setDate(date);
+		lecture.setCourse(entityManager.find(Course.class, course.getCourseId()));
+		lecture.setTeacher(teacher);
+		for(Member student : students) {
+			lecture.addStudent(entityManager.find(Member.class, student.getMemberId()));
+		}
+		entityManager.persist(lecture);
+	}
+	
+	
+	private Member persistMember(Member member) {
+		Member entity = new Member(member);
+		return entityManager.persist(entity);
+	}
+}
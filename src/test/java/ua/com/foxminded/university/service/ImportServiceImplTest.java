@@ -0,0 +1,145 @@
+package ua.com.foxminded.university.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import ua.com.foxminded.university.domain.entities.Course;
+import ua.com.foxminded.university.domain.entities.Member;
+import ua.com.foxminded.university.service.caches.LectureWindowCache;
+import ua.com.foxminded.university.service.caches.ReferenceCache;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.imports.ImportFile;
+import ua.com.foxminded.university.service.imports.StagingArea;
+import ua.com.foxminded.university.service.results.ImportReport;
+import ua.com.foxminded.university.service.results.RowRejection;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Import Service")
+class ImportServiceImplTest {
+	
+	@Mock
+	StagingArea stagingArea;
+	
+	@Mock
+	ReferenceCache referenceCache;
+	
+	@Mock
+	LectureWindowCache windowCache;
+	
+	@InjectMocks
+	ImportService importService = new ImportServiceImpl();
+	
+	Map<ImportFile, InputStream> files;
+	InputStream members;
+	InputStream enrollments;
+	
+	@BeforeEach
+	void setUp() {
+		members = new ByteArrayInputStream("ref,first_name,last_name,type_id\n".getBytes());
+		enrollments = new ByteArrayInputStream("lecture_ref,student_ref\n".getBytes());
+		files = new EnumMap<>(ImportFile.class);
+		files.put(ImportFile.MEMBERS, members);
+		files.put(ImportFile.ENROLLMENTS, enrollments);
+	}
+	
+	
+	@Test
+	@DisplayName("stages, validates and merges files in one pass")
+	void testImportSteps() throws Exception {
+		importService.importCsv(files);
+		
+		InOrder inOrder = inOrder(stagingArea);
+		inOrder.verify(stagingArea).create();
+		inOrder.verify(stagingArea).copy(ImportFile.MEMBERS, members);
+		inOrder.verify(stagingArea).copy(ImportFile.ENROLLMENTS, enrollments);
+		inOrder.verify(stagingArea).validate();
+		inOrder.verify(stagingArea).merge();
+		inOrder.verify(stagingArea).getRejections();
+	}
+	
+	
+	@Test
+	@DisplayName("reports imported counts and rejected rows")
+	void testReport() throws ServiceException {
+		Map<ImportFile, Long> imported = new EnumMap<>(ImportFile.class);
+		imported.put(ImportFile.MEMBERS, 2L);
+		List<RowRejection> rejections = Arrays.asList(
+				new RowRejection(ImportFile.MEMBERS, 3, "Reference is missing"));
+		when(stagingArea.merge()).thenReturn(imported);
+		when(stagingArea.getRejections()).thenReturn(rejections);
+		
+		ImportReport report = importService.importCsv(files);
+		
+		assertEquals(2, report.getImportedCount(ImportFile.MEMBERS));
+		assertEquals(0, report.getImportedCount(ImportFile.LECTURES));
+		assertEquals(rejections, report.getRejections());
+	}
+	
+	
+	@Test
+	@DisplayName("invalidates cached members, courses and lecture windows")
+	void testInvalidatesCaches() throws ServiceException {
+		importService.importCsv(files);
+		
+		verify(windowCache).invalidate();
+		verify(referenceCache).evict(Member.class);
+		verify(referenceCache).evict(Course.class);
+		verify(referenceCache).evictQueryResults();
+	}
+	
+	
+	@Test
+	@DisplayName("throws with file name if file can not be copied")
+	void testThrowsOnMalformedFile() throws Exception {
+		when(stagingArea.copy(ImportFile.MEMBERS, members))
+				.thenThrow(new SQLException("missing data for column \"last_name\""));
+		
+		ServiceException e = assertThrows(ServiceException.class, () -> importService.importCsv(files));
+		assertTrue(e.getMessage().contains("members"), "should name failed file");
+		verify(stagingArea, never()).merge();
+	}
+	
+	
+	@Test
+	@DisplayName("throws if staged rows can not be merged")
+	void testThrowsOnDataAccessFailure() {
+		when(stagingArea.merge()).thenThrow(new QueryTimeoutException("timeout"));
+		
+		assertThrows(ServiceException.class, () -> importService.importCsv(files));
+		verify(windowCache, never()).invalidate();
+	}
+	
+	
+	@Test
+	@DisplayName("throws if no files passed")
+	void testThrowsIfEmpty() throws Exception {
+		assertThrows(ServiceException.class, () -> importService.importCsv(Collections.emptyMap()));
+		verify(stagingArea, never()).create();
+		verify(stagingArea, never()).copy(any(), any());
+	}
+}
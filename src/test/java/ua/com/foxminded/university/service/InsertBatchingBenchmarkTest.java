@@ -0,0 +1,125 @@
+package ua.com.foxminded.university.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.ComponentScan;
+
+import ua.com.foxminded.university.domain.entities.Course;
+import ua.com.foxminded.university.domain.entities.Lecture;
+import ua.com.foxminded.university.domain.entities.Member;
+import ua.com.foxminded.university.domain.entities.Student;
+import ua.com.foxminded.university.domain.entities.Teacher;
+import ua.com.foxminded.university.repository.MemberRepository;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.results.SchedulingResult;
+
+/**
+ * Runs against the configured PostgreSQL database; enable with {@code -Duniversity.test.postgres=true}.
+ */
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"logging.level.root=warn"
+})
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ComponentScan(basePackageClasses = UniversityService.class)
+@EnabledIfSystemProperty(named = "university.test.postgres", matches = "true")
+@DisplayName("Insert batching benchmark")
+class InsertBatchingBenchmarkTest {
+
+	static final int LECTURES = 5000;
+	static final int TEACHERS = 50;
+	static final int STUDENTS_PER_LECTURE = 3;
+	static final int BATCH_SIZE = 50;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	MemberRepository memberRepository;
+
+	@Autowired
+	LectureService lectureService;
+
+	Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+
+
+	@Test
+	@DisplayName("inserts members and lectures in batches")
+	void testBatchedInserts(TestReporter reporter) throws ServiceException {
+		List<Member> members = new ArrayList<>(LECTURES);
+		for(int i = 0; i < LECTURES; i++) {
+			members.add(new Member(i < TEACHERS ?
+					new Teacher("Teacher", "No" + i) : new Student("Student", "No" + i)));
+		}
+
+		statistics.clear();
+		long start = System.nanoTime();
+		memberRepository.saveAll(members);
+		entityManager.flush();
+		long memberNanos = System.nanoTime() - start;
+
+		reporter.publishEntry("members/s", String.valueOf(perSecond(LECTURES, memberNanos)));
+		assertBatched("members", statistics.getPrepareStatementCount(), LECTURES);
+
+		Course course = entityManager.persistAndFlush(new Course("Glass blowing", "Molten glass"));
+		List<Member> students = members.subList(TEACHERS, members.size());
+		List<Lecture> lectures = new ArrayList<>(LECTURES);
+		for(int i = 0; i < LECTURES; i++) {
+			Lecture lecture = new Lecture();
+			lecture.setDate(LocalDateTime.of(1990, 1, 1, 0, 0).plusHours(i / TEACHERS));
+			lecture.setCourse(course);
+			lecture.setTeacher(members.get(i % TEACHERS));
+			for(int j = 0; j < STUDENTS_PER_LECTURE; j++) {
+				lecture.addStudent(students.get((i % TEACHERS) * STUDENTS_PER_LECTURE + j));
+			}
+			lectures.add(lecture);
+		}
+		entityManager.clear();
+
+		statistics.clear();
+		start = System.nanoTime();
+		List<SchedulingResult> results = lectureService.createAll(lectures);
+		long lectureNanos = System.nanoTime() - start;
+
+		reporter.publishEntry("lectures/s", String.valueOf(perSecond(LECTURES, lectureNanos)));
+		assertTrue(results.stream().allMatch(SchedulingResult::isScheduled), "should schedule all lectures");
+		assertBatched("lectures", statistics.getPrepareStatementCount(),
+				LECTURES * (1 + STUDENTS_PER_LECTURE));
+	}
+
+
+	void assertBatched(String rows, long statements, int rowCount) {
+		assertTrue(statements <= 3 * rowCount / BATCH_SIZE,
+				rows + " should take one statement per batch and sequence block, took " + statements);
+	}
+
+	long perSecond(int rowCount, long nanos) {
+		return rowCount * 1_000_000_000L / Math.max(1, nanos);
+	}
+}
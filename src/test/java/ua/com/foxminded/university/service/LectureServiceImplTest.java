@@ -2,10 +2,23 @@ package ua.com.foxminded.university.service;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -17,11 +30,33 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
 
+import ua.com.foxminded.university.domain.entities.Course;
 import ua.com.foxminded.university.domain.entities.Lecture;
+import ua.com.foxminded.university.domain.entities.Member;
+import ua.com.foxminded.university.domain.entities.Student;
+import ua.com.foxminded.university.domain.entities.Teacher;
+import ua.com.foxminded.university.repository.BookedPeriod;
+import ua.com.foxminded.university.repository.Keyset;
 import ua.com.foxminded.university.repository.LectureRepository;
+import ua.com.foxminded.university.repository.LectureRow;
+import ua.com.foxminded.university.repository.MemberRepository;
+import ua.com.foxminded.university.service.caches.LectureWindowCache;
+import ua.com.foxminded.university.service.counters.RowCounter;
+import ua.com.foxminded.university.service.exceptions.EntityValidationException;
+import ua.com.foxminded.university.service.exceptions.ScheduleConflictException;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.results.CountedPage;
+import ua.com.foxminded.university.service.results.SchedulingResult;
 import ua.com.foxminded.university.service.validators.LectureValidator;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +69,15 @@ class LectureServiceImplTest {
 	@Mock(name = "lectureValidator")
 	LectureValidator validator;
 	
+	@Mock
+	MemberRepository memberRepository;
+	
+	@Spy
+	RowCounter rowCounter = new RowCounter(100);
+	
+	@Spy
+	LectureWindowCache windowCache = new LectureWindowCache();
+	
 	@InjectMocks
 	LectureService lectureService = new LectureServiceImpl();
 	
@@ -44,6 +88,8 @@ class LectureServiceImplTest {
 	void setUp() throws Exception {
 		lecture = new Lecture();
 		lecture.setLectureId(999);
+		lecture.setDate(LocalDateTime.of(2020, 9, 1, 10, 30));
+		lecture.setTeacher(new Teacher());
 	}
 	
 	
@@ -55,7 +101,7 @@ class LectureServiceImplTest {
 		@DisplayName("calls creation method")
 		void testCreate() throws ServiceException {
 			lectureService.create(lecture);
-			verify(repository).save(lecture);
+			verify(repository).saveAndFlush(lecture);
 		}
 		
 		@Test
@@ -64,6 +110,251 @@ class LectureServiceImplTest {
 			lectureService.create(lecture);
 			verify(validator).validateCreateable(lecture);
 		}
+		
+		@Test
+		@DisplayName("checks teacher conflicts within lecture time span")
+		void testChecksTeacherConflicts() throws ServiceException {
+			lecture.setDuration(90);
+			lectureService.create(lecture);
+			verify(repository).existsTeacherConflict(0, 
+					LocalDateTime.of(2020, 9, 1, 10, 30), LocalDateTime.of(2020, 9, 1, 12, 0), 
+					lecture.getLectureId());
+		}
+		
+		@Test
+		@DisplayName("throws and doesn't save if teacher is busy")
+		void testThrowsOnTeacherConflict() throws ServiceException {
+			when(repository.existsTeacherConflict(anyInt(), any(), any(), anyInt()))
+				.thenReturn(true);
+			
+			assertThrows(
+					ScheduleConflictException.class,
+					() -> lectureService.create(lecture),
+					"should throw ScheduleConflictException if teacher is busy"
+					);
+			verify(repository, never()).saveAndFlush(lecture);
+		}
+		
+		@Test
+		@DisplayName("throws and doesn't save if student is busy")
+		void testThrowsOnStudentConflict() throws ServiceException {
+			Student student = new Student();
+			student.setMemberId(12);
+			lecture.addStudent(student);
+			when(repository.existsStudentConflict(
+					eq(Collections.singletonList(12)), any(), any(), anyInt()))
+				.thenReturn(true);
+			
+			assertThrows(
+					ScheduleConflictException.class,
+					() -> lectureService.create(lecture),
+					"should throw ScheduleConflictException if student is busy"
+					);
+			verify(repository, never()).saveAndFlush(lecture);
+		}
+		
+		@Test
+		@DisplayName("translates exclusion constraint violation")
+		void testTranslatesExclusionViolation() {
+			when(repository.saveAndFlush(lecture)).thenThrow(
+					new DataIntegrityViolationException("conflicting key value", 
+							new SQLException("conflicting key value", "23P01")));
+			
+			assertThrows(
+					ScheduleConflictException.class,
+					() -> lectureService.create(lecture),
+					"should throw ScheduleConflictException on exclusion violation"
+					);
+		}
+		
+		@Test
+		@DisplayName("doesn't report other write failures as conflicts")
+		void testOtherWriteFailures() {
+			when(repository.saveAndFlush(lecture)).thenThrow(
+					new DataIntegrityViolationException("null value", 
+							new SQLException("null value", "23502")));
+			
+			ServiceException e = assertThrows(
+					ServiceException.class,
+					() -> lectureService.create(lecture),
+					"should throw ServiceException on write failure"
+					);
+			assertFalse(e instanceof ScheduleConflictException, 
+					"should not be reported as schedule conflict");
+		}
+		
+		@Test
+		@DisplayName("skips student conflict check if no students")
+		void testSkipsStudentCheck() throws ServiceException {
+			lectureService.create(lecture);
+			verify(repository, never()).existsStudentConflict(
+					anyCollection(), any(), any(), anyInt());
+		}
+	}
+	
+	
+	@Nested
+	@DisplayName("Create batch")
+	class CreateAllTest {
+		
+		Teacher teacher;
+		Student student;
+		
+		@BeforeEach
+		void setUp() {
+			teacher = new Teacher();
+			teacher.setMemberId(5);
+			student = new Student();
+			student.setMemberId(12);
+		}
+		
+		@Test
+		@DisplayName("saves accepted lectures at once and loads bookings once")
+		void testSavesAcceptedLectures() throws ServiceException {
+			Lecture first = batchLecture(LocalDateTime.of(2020, 9, 1, 9, 0));
+			Lecture second = batchLecture(LocalDateTime.of(2020, 9, 1, 10, 0));
+			
+			List<SchedulingResult> results = lectureService.createAll(Arrays.asList(first, second));
+			
+			assertTrue(results.stream().allMatch(SchedulingResult::isScheduled));
+			verify(repository).saveAll(Arrays.asList(first, second));
+			verify(repository).flush();
+			verify(repository, times(1)).findBookedPeriods(anyCollection(), 
+					eq(LocalDateTime.of(2020, 9, 1, 9, 0)), eq(LocalDateTime.of(2020, 9, 1, 11, 0)));
+			verify(repository, never()).saveAndFlush(any());
+		}
+		
+		@Test
+		@DisplayName("rejects lecture overlapping another one in batch")
+		void testRejectsBatchConflict() throws ServiceException {
+			Lecture first = batchLecture(LocalDateTime.of(2020, 9, 1, 9, 0));
+			Lecture second = batchLecture(LocalDateTime.of(2020, 9, 1, 9, 30));
+			
+			List<SchedulingResult> results = lectureService.createAll(Arrays.asList(first, second));
+			
+			assertTrue(results.get(0).isScheduled());
+			assertFalse(results.get(1).isScheduled());
+			assertTrue(results.get(1).getRejectionReason().startsWith("Teacher"));
+			verify(repository).saveAll(Arrays.asList(first));
+		}
+		
+		@Test
+		@DisplayName("rejects lecture overlapping stored student booking")
+		void testRejectsStoredConflict() throws ServiceException {
+			Lecture lecture = batchLecture(LocalDateTime.of(2020, 9, 1, 9, 0));
+			lecture.addStudent(student);
+			when(repository.findBookedPeriods(anyCollection(), any(), any())).thenReturn(
+					Arrays.asList(bookedPeriod(40, 12, false, LocalDateTime.of(2020, 9, 1, 9, 45))));
+			
+			List<SchedulingResult> results = lectureService.createAll(Arrays.asList(lecture));
+			
+			assertFalse(results.get(0).isScheduled());
+			assertTrue(results.get(0).getRejectionReason().startsWith("Student"));
+			verify(repository).saveAll(Collections.emptyList());
+		}
+		
+		@Test
+		@DisplayName("reports invalid lecture and keeps others")
+		void testRejectsInvalidLecture() throws ServiceException {
+			Lecture invalid = new Lecture();
+			Lecture valid = batchLecture(LocalDateTime.of(2020, 9, 1, 9, 0));
+			doThrow(new EntityValidationException("has date set"))
+				.when(validator).validateCreateable(invalid);
+			
+			List<SchedulingResult> results = lectureService.createAll(Arrays.asList(invalid, valid));
+			
+			assertEquals("has date set", results.get(0).getRejectionReason());
+			assertTrue(results.get(1).isScheduled());
+			verify(repository).saveAll(Arrays.asList(valid));
+		}
+		
+		@Test
+		@DisplayName("throws if list is null")
+		void testThrowsIfNull() {
+			assertThrows(
+					ServiceException.class,
+					() -> lectureService.createAll(null),
+					"should throw ServiceException if argument is null"
+					);
+		}
+		
+		private Lecture batchLecture(LocalDateTime date) {
+			Lecture lecture = new Lecture();
+			lecture.setDate(date);
+			lecture.setTeacher(teacher);
+			return lecture;
+		}
+		
+		private BookedPeriod bookedPeriod(int lectureId, int memberId, boolean teaching, 
+				LocalDateTime date) {
+			return new BookedPeriod() {
+				@Override public Integer getLectureId() { return lectureId; }
+				@Override public Integer getMemberId() { return memberId; }
+				@Override public Boolean getTeaching() { return teaching; }
+				@Override public LocalDateTime getDate() { return date; }
+				@Override public Integer getDuration() { return Lecture.DEFAULT_DURATION; }
+			};
+		}
+	}
+	
+	
+	@Nested
+	@DisplayName("Student validation")
+	class StudentValidationTest {
+		
+		Student student;
+		
+		@BeforeEach
+		void setUp() throws Exception {
+			ReflectionTestUtils.setField(lectureService, "validator", new LectureValidator());
+			((LectureServiceImpl) lectureService).afterPropertiesSet();
+			
+			lecture.setCourse(new Course("Glass blowing", "Molten glass"));
+			student = new Student();
+			student.setMemberId(12);
+			lecture.addStudent(student);
+		}
+		
+		@Test
+		@DisplayName("validates stored members instead of submitted ones")
+		void testValidatesStoredStudents() throws ServiceException {
+			Member stored = new Student("Ralph", "Cifaretto");
+			stored.setMemberId(12);
+			when(memberRepository.findAllById(Arrays.asList(12))).thenReturn(Arrays.asList(stored));
+			
+			lectureService.create(lecture);
+			
+			assertSame(stored, lecture.getStudents().get(0));
+			verify(repository).saveAndFlush(lecture);
+		}
+		
+		@Test
+		@DisplayName("throws and doesn't save if student id belongs to teacher")
+		void testRejectsTeacherAsStudent() {
+			Member stored = new Teacher("Marla", "Singer");
+			stored.setMemberId(12);
+			when(memberRepository.findAllById(Arrays.asList(12))).thenReturn(Arrays.asList(stored));
+			
+			assertThrows(
+					EntityValidationException.class,
+					() -> lectureService.create(lecture),
+					"should throw EntityValidationException if student is not a student"
+					);
+			verify(repository, never()).saveAndFlush(lecture);
+		}
+		
+		@Test
+		@DisplayName("rejects batch lecture if student id belongs to teacher")
+		void testRejectsTeacherAsStudentInBatch() throws ServiceException {
+			Member stored = new Teacher("Marla", "Singer");
+			stored.setMemberId(12);
+			when(memberRepository.findAllById(Arrays.asList(12))).thenReturn(Arrays.asList(stored));
+			
+			List<SchedulingResult> results = lectureService.createAll(Arrays.asList(lecture));
+			
+			assertFalse(results.get(0).isScheduled());
+			verify(repository).saveAll(Collections.emptyList());
+		}
 	}
 	
 	
@@ -109,6 +400,66 @@ class LectureServiceImplTest {
 					"should return correct lectures list"
 				);
 		}
+		
+		@Test
+		@DisplayName("retrieves requested page of lecture rows for table view")
+		void testRetrieveRows() throws ServiceException {
+			Pageable pageable = PageRequest.of(0, 10);
+			List<LectureRow> rows = Collections.nCopies(2, new LectureRow(
+					1, lecture.getDate(), lecture.getDuration(), "Subject", "First", "Last", 2));
+			when(repository.findRows(pageable)).thenReturn(rows);
+			
+			Page<LectureRow> page = lectureService.retrieveRows(pageable);
+			
+			assertEquals(rows, page.getContent(), "should return rows from projection query");
+			assertEquals(2, page.getTotalElements());
+			verify(repository, never()).count();
+		}
+		
+		
+		@Test
+		@DisplayName("estimates total of large lecture table")
+		void testRetrieveRowsEstimated() throws ServiceException {
+			Pageable pageable = PageRequest.of(0, 2);
+			List<LectureRow> rows = Collections.nCopies(2, new LectureRow(
+					1, lecture.getDate(), lecture.getDuration(), "Subject", "First", "Last", 2));
+			when(repository.findRows(pageable)).thenReturn(rows);
+			when(repository.estimateCount()).thenReturn(30_000L);
+			
+			Page<LectureRow> page = lectureService.retrieveRows(pageable);
+			
+			assertEquals(15_000, page.getTotalPages());
+			assertTrue(((CountedPage<LectureRow>) page).isApproximate());
+			verify(repository, never()).count();
+		}
+		
+		
+		@Test
+		@DisplayName("retrieves lecture rows after keyset in date order")
+		void testRetrieveRowsByDateAfter() throws ServiceException {
+			List<LectureRow> rows = Collections.nCopies(2, new LectureRow(
+					1, lecture.getDate(), lecture.getDuration(), "Subject", "First", "Last", 2));
+			when(repository.findRowsByDateAfter(lecture.getDate(), 1, PageRequest.of(0, 11)))
+				.thenReturn(rows);
+			
+			assertEquals(rows, lectureService.retrieveRows(Keyset.after(lecture.getDate(), 1), 11));
+		}
+		
+		
+		@Test
+		@DisplayName("retrieves lecture rows before keyset in display order")
+		void testRetrieveRowsBefore() throws ServiceException {
+			LectureRow first = new LectureRow(
+					1, lecture.getDate(), lecture.getDuration(), "Subject", "First", "Last", 2);
+			LectureRow second = new LectureRow(
+					2, lecture.getDate(), lecture.getDuration(), "Subject", "First", "Last", 2);
+			when(repository.findRowsBefore(3, PageRequest.of(0, 11)))
+				.thenReturn(Arrays.asList(second, first));
+			
+			assertEquals(Arrays.asList(first, second), 
+					lectureService.retrieveRows(Keyset.before(3), 11));
+			verify(repository, never()).findAllByOrderByLectureIdAsc();
+		}
 	}
 	
 	
@@ -120,7 +471,7 @@ class LectureServiceImplTest {
 		@DisplayName("calls method to update lecture")
 		void testUpdate() throws ServiceException {
 			lectureService.update(lecture);
-			verify(repository).save(lecture);
+			verify(repository).saveAndFlush(lecture);
 		}
 					
 		@Test
@@ -132,6 +483,107 @@ class LectureServiceImplTest {
 	}
 
 	
+	@Nested
+	@DisplayName("Date windows")
+	class DateWindowTest {
+		
+		@Test
+		@DisplayName("queries daily lectures once for repeated requests")
+		void testDailyLecturesCached() {
+			when(repository.findByDateBetween(any(), any())).thenReturn(Arrays.asList(lecture));
+			
+			lectureService.retrieveDailyLectures();
+			
+			assertEquals(Arrays.asList(lecture), lectureService.retrieveDailyLectures());
+			verify(repository, times(1)).findByDateBetween(any(), any());
+		}
+		
+		
+		@Test
+		@DisplayName("queries windows again after lecture deletion")
+		void testInvalidatedOnDelete() throws ServiceException {
+			when(repository.findByDateBetween(any(), any())).thenReturn(Arrays.asList(lecture));
+			
+			lectureService.retrieveMonthlyLectures();
+			lectureService.delete(lecture);
+			lectureService.retrieveMonthlyLectures();
+			
+			verify(repository, times(2)).findByDateBetween(any(), any());
+		}
+		
+		
+		@Test
+		@DisplayName("loads cached windows outside read-only transactions")
+		void testWindowsLoadedFromPrimary() throws NoSuchMethodException {
+			for(String method : Arrays.asList("retrieveDailyLectures", "retrieveMonthlyLectures")) {
+				Transactional transactional = LectureServiceImpl.class.getMethod(method)
+						.getAnnotation(Transactional.class);
+				Transactional memberTransactional = LectureServiceImpl.class.getMethod(method, Member.class)
+						.getAnnotation(Transactional.class);
+				
+				assertFalse(transactional.readOnly(), method);
+				assertFalse(memberTransactional.readOnly(), method);
+			}
+		}
+		
+		
+		@Test
+		@DisplayName("queries only taught lectures of teacher")
+		void testTeacherLectures() throws ServiceException {
+			Teacher teacher = new Teacher("Walter", "White");
+			teacher.setMemberId(7);
+			when(repository.findTaughtBetween(eq(7), any(), any())).thenReturn(Arrays.asList(lecture));
+			
+			assertEquals(Arrays.asList(lecture), lectureService.retrieveMonthlyLectures(teacher));
+			verify(repository, never()).findAttendedBetween(anyInt(), any(), any());
+			verify(repository, never()).findByDateBetween(any(), any());
+		}
+		
+		
+		@Test
+		@DisplayName("queries only attended lectures of student")
+		void testStudentLectures() throws ServiceException {
+			Student student = new Student("Jesse", "Pinkman");
+			student.setMemberId(8);
+			when(repository.findAttendedBetween(eq(8), any(), any())).thenReturn(Arrays.asList(lecture));
+			
+			assertEquals(Arrays.asList(lecture), lectureService.retrieveDailyLectures(student));
+			verify(repository, never()).findTaughtBetween(anyInt(), any(), any());
+			verify(repository, never()).findByDateBetween(any(), any());
+		}
+		
+		
+		@Test
+		@DisplayName("queries member windows once for repeated requests")
+		void testMemberLecturesCached() throws ServiceException {
+			Teacher teacher = new Teacher("Walter", "White");
+			teacher.setMemberId(7);
+			Teacher otherTeacher = new Teacher("Gustavo", "Fring");
+			otherTeacher.setMemberId(9);
+			when(repository.findTaughtBetween(anyInt(), any(), any())).thenReturn(Arrays.asList(lecture));
+			
+			lectureService.retrieveDailyLectures(teacher);
+			lectureService.retrieveDailyLectures(teacher);
+			lectureService.retrieveDailyLectures(otherTeacher);
+			lectureService.retrieveMonthlyLectures(teacher);
+			
+			verify(repository, times(1)).findTaughtBetween(eq(9), any(), any());
+			verify(repository, times(2)).findTaughtBetween(eq(7), any(), any());
+		}
+		
+		
+		@Test
+		@DisplayName("throws if member lectures not retrieved")
+		void testMemberLecturesThrow() {
+			Student student = new Student("Jesse", "Pinkman");
+			when(repository.findAttendedBetween(anyInt(), any(), any()))
+					.thenThrow(new QueryTimeoutException("timeout"));
+			
+			assertThrows(ServiceException.class, () -> lectureService.retrieveDailyLectures(student));
+		}
+	}
+	
+	
 	@Nested
 	@DisplayName("Delete")
 	class DeleteTest {
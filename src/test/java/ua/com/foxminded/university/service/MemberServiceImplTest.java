@@ -2,13 +2,18 @@ package ua.com.foxminded.university.service;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -19,14 +24,27 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import ua.com.foxminded.university.domain.entities.Member;
 import ua.com.foxminded.university.domain.entities.Student;
+import ua.com.foxminded.university.domain.entities.Teacher;
+import ua.com.foxminded.university.repository.Keyset;
 import ua.com.foxminded.university.repository.MemberRepository;
+import ua.com.foxminded.university.repository.MemberRow;
+import ua.com.foxminded.university.service.caches.LectureWindowCache;
+import ua.com.foxminded.university.service.caches.ReferenceCache;
+import ua.com.foxminded.university.service.counters.RowCounter;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.results.CountedPage;
 import ua.com.foxminded.university.service.trackers.MemberTracker;
 import ua.com.foxminded.university.service.validators.EntityValidator;
 
@@ -46,6 +64,15 @@ class MemberServiceImplTest {
 	@Mock(name="memberTracker")
 	MemberTracker typeTracker;
 	
+	@Spy
+	RowCounter rowCounter = new RowCounter(100);
+	
+	@Mock
+	ReferenceCache referenceCache;
+	
+	@Mock
+	LectureWindowCache windowCache;
+	
 	@InjectMocks
 	MemberService memberService = new MemberServiceImpl();
 	
@@ -153,6 +180,70 @@ class MemberServiceImplTest {
 	}
 	
 	
+	@Nested
+	@DisplayName("RetrieveRows")
+	class RetrieveRowsTest {
+		
+		Pageable pageable = PageRequest.of(0, 10);
+		
+		@Test
+		@DisplayName("retrieves requested page of rows and tracks their types")
+		void testRetrieveRows() throws ServiceException {
+			MemberRow row = new MemberRow(1, Student.MEMBER_TYPE, "First", "Last");
+			when(repository.findRows(pageable)).thenReturn(Arrays.asList(row));
+			
+			assertEquals(new PageImpl<>(Arrays.asList(row), pageable, 1), 
+					memberService.retrieveRows(pageable));
+			verify(typeTracker).trackType(row.toMember());
+		}
+		
+		
+		@Test
+		@DisplayName("counts members exactly when table is small")
+		void testRetrieveRowsCountedExactly() throws ServiceException {
+			Pageable firstPage = PageRequest.of(0, 1);
+			MemberRow row = new MemberRow(1, Student.MEMBER_TYPE, "First", "Last");
+			when(repository.findRows(firstPage)).thenReturn(Arrays.asList(row));
+			when(repository.estimateCount()).thenReturn(50L);
+			when(repository.count()).thenReturn(42L);
+			
+			Page<MemberRow> page = memberService.retrieveRows(firstPage);
+			
+			assertEquals(42, page.getTotalElements());
+			assertFalse(((CountedPage<MemberRow>) page).isApproximate());
+		}
+		
+		
+		@Test
+		@DisplayName("retrieves requested page of rows filtered by type")
+		void testRetrieveRowsOfType() throws ServiceException {
+			Page<MemberRow> page = new PageImpl<>(new ArrayList<>(), pageable, 0);
+			when(repository.findRowsByTypeId(Teacher.MEMBER_TYPE, pageable)).thenReturn(page);
+			
+			assertEquals(page, memberService.retrieveRows(Teacher.MEMBER_TYPE, pageable));
+		}
+		
+		
+		@Test
+		@DisplayName("retrieves rows after keyset and tracks their types")
+		void testRetrieveRowsAfter() throws ServiceException {
+			MemberRow row = new MemberRow(43, Student.MEMBER_TYPE, "First", "Last");
+			when(repository.findRowsAfter(42, PageRequest.of(0, 11))).thenReturn(Arrays.asList(row));
+			
+			assertEquals(Arrays.asList(row), memberService.retrieveRows(Keyset.after(42), 11));
+			verify(typeTracker).trackType(row.toMember());
+		}
+		
+		
+		@Test
+		@DisplayName("rejects date ordered keyset")
+		void testRejectsDateOrder() {
+			assertThrows(ServiceException.class, 
+					() -> memberService.retrieveRows(Keyset.first(Keyset.Order.DATE), 11));
+		}
+	}
+	
+	
 	@Nested
 	@DisplayName("Get lecture count")
 	class LectureCountTest {
@@ -227,14 +318,77 @@ class MemberServiceImplTest {
 		void testDelete() throws ServiceException {
 			student = new Member("Ronald", "McDonald");
 			student.setMemberId(ThreadLocalRandom.current().nextInt(2, 99));
+			when(repository.findById(student.getMemberId())).thenReturn(Optional.of(student));
 			memberService.delete(student);
 			verify(repository).delete(student);
 		}
 		
 		
+		@Test
+		@DisplayName("deletes student enrollments in bulk before deletion")
+		void testRemovesFromLectures() throws ServiceException {
+			student = new Student("Ronald", "McDonald");
+			student.setMemberId(12);
+			when(repository.findById(12)).thenReturn(Optional.of(student));
+			
+			memberService.delete(student);
+			
+			InOrder inOrder = inOrder(repository);
+			inOrder.verify(repository).deleteEnrollments(12);
+			inOrder.verify(repository).delete(student);
+			verify(repository, never()).countTaughtLectures(anyInt());
+			verify(referenceCache).evict(Member.class);
+		}
+		
+		
+		@Test
+		@DisplayName("deletes teacher without scheduled lectures")
+		void testDeletesIdleTeacher() throws ServiceException {
+			Member teacher = new Teacher("Marla", "Singer");
+			teacher.setMemberId(7);
+			when(repository.findById(7)).thenReturn(Optional.of(teacher));
+			when(repository.countTaughtLectures(7)).thenReturn(0L);
+			
+			memberService.delete(teacher);
+			
+			verify(repository).delete(teacher);
+			verify(repository, never()).deleteEnrollments(anyInt());
+		}
+		
+		
+		@Test
+		@DisplayName("throws and doesn't delete teacher with scheduled lectures")
+		void testThrowsIfTeacherHasLectures() {
+			Member teacher = new Teacher("Marla", "Singer");
+			teacher.setMemberId(7);
+			when(repository.findById(7)).thenReturn(Optional.of(teacher));
+			when(repository.countTaughtLectures(7)).thenReturn(2L);
+			
+			assertThrows(
+					ServiceException.class, 
+					() -> memberService.delete(teacher),
+					"should throw ServiceException if teacher has lectures"
+					);
+			verify(repository, never()).delete(any(Member.class));
+		}
+		
+		
+		@Test
+		@DisplayName("throws if member not found")
+		void testThrowsIfNotFound() {
+			assertThrows(
+					ServiceException.class, 
+					() -> memberService.delete(new Member()),
+					"should throw ServiceException if member not found"
+					);
+		}
+		
+		
 		@Test
 		@DisplayName("calls for proper object validation ")
 		void testCallsForValidation() throws ServiceException {
+			when(repository.findById(anyInt()))
+				.thenReturn(Optional.of(new Member()));
 			memberService.delete(new Member());
 			verify(validator).validateDeletable(any(Member.class));
 		}
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -20,6 +21,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import ua.com.foxminded.university.domain.ScheduleConflict;
 import ua.com.foxminded.university.domain.University;
 import ua.com.foxminded.university.domain.entities.Lecture;
 import ua.com.foxminded.university.domain.entities.Member;
@@ -99,6 +101,28 @@ class UniversityServiceImplTest {
 	}
 	
 	
+	@Nested
+	@DisplayName("Retrieve Schedule Conflicts")
+	class RetrieveScheduleConflictsTest {
+		
+		@Test
+		@DisplayName("reports conflicts among all lectures")
+		void testReportsConflicts() throws ServiceException {
+			Teacher teacher = new Teacher("Marla", "Singer");
+			teacher.setMemberId(1);
+			Lecture first = new Lecture(LocalDateTime.of(2020, 9, 1, 10, 0), null, teacher);
+			Lecture second = new Lecture(LocalDateTime.of(2020, 9, 1, 10, 30), null, teacher);
+			when(lectureService.retrieveAll()).thenReturn(Arrays.asList(second, first));
+			
+			List<ScheduleConflict> conflicts = universityService.retrieveScheduleConflicts();
+			
+			assertEquals(
+					Arrays.asList(new ScheduleConflict(teacher, Arrays.asList(first, second))), 
+					conflicts, "should report overlapping lectures of teacher");
+		}
+	}
+	
+	
 	@Nested
 	@DisplayName("Schedule Lecture")
 	class ScheduleLectureTest {
@@ -112,6 +136,15 @@ class UniversityServiceImplTest {
 			verify(lectureService).create(lecture);
 		}
 		
+		@Test
+		@DisplayName("calls lecture service to schedule batch of lectures")
+		void testCallsServiceToScheduleLectures() throws ServiceException {
+			List<Lecture> lectures = Arrays.asList(new Lecture(), new Lecture());
+			universityService.scheduleLectures(lectures);
+			
+			verify(lectureService).createAll(lectures);
+		}
+		
 		@Test
 		@DisplayName("throws if lecture is null")
 		void testScheduleLectureThrowsIfNull() {
@@ -203,7 +236,7 @@ class UniversityServiceImplTest {
 			teacher.setMemberId(999);
 			lecture.setTeacher(teacher);
 			List<Lecture> lectures = Collections.nCopies(2, lecture);
-			when(lectureService.retrieveMonthlyLectures()).thenReturn(lectures);
+			when(lectureService.retrieveMonthlyLectures(teacher)).thenReturn(lectures);
 			
 			List<Lecture> actualSchedule = 
 					universityService.retrieveMonthlySchedule(teacher);
@@ -244,7 +277,7 @@ class UniversityServiceImplTest {
 			teacher.setMemberId(999);
 			lecture.setTeacher(teacher);
 			List<Lecture> lectures = Collections.nCopies(2, lecture);
-			when(lectureService.retrieveDailyLectures()).thenReturn(lectures);
+			when(lectureService.retrieveDailyLectures(teacher)).thenReturn(lectures);
 			
 			List<Lecture> actualSchedule = 
 					universityService.retrieveDailySchedule(teacher);
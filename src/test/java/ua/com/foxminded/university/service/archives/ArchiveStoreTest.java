@@ -0,0 +1,183 @@
+package ua.com.foxminded.university.service.archives;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ua.com.foxminded.university.service.results.ArchivedLecture;
+
+@DisplayName("Archive store")
+class ArchiveStoreTest {
+	
+	static final YearMonth MONTH = YearMonth.of(2019, 3);
+	
+	@TempDir
+	Path directory;
+	
+	ArchiveStore store;
+	
+	@BeforeEach
+	void setUp() {
+		store = new ArchiveStore(directory);
+	}
+	
+	
+	@Test
+	@DisplayName("finds lectures by teacher and by student within period")
+	void testFind() throws IOException {
+		ArchivedLecture first = lecture(1, LocalDateTime.of(2019, 3, 4, 9, 0, 30), 10, 20, 21);
+		ArchivedLecture second = lecture(2, LocalDateTime.of(2019, 3, 4, 11, 0), 11, 20);
+		ArchivedLecture third = lecture(3, LocalDateTime.of(2019, 3, 18, 9, 0), 10, 21);
+		store.write(MONTH, Arrays.asList(third, first, second));
+		
+		assertEquals(Arrays.asList(first, third), store.find(10, 
+				LocalDateTime.of(2019, 3, 1, 0, 0), LocalDateTime.of(2019, 4, 1, 0, 0)), 
+				"should find taught lectures in order of date");
+		assertEquals(Arrays.asList(first, second), store.find(20, 
+				LocalDateTime.of(2019, 3, 4, 0, 0), LocalDateTime.of(2019, 3, 5, 0, 0)), 
+				"should find attended lectures");
+		assertEquals(Collections.singletonList(third), store.find(21, 
+				LocalDateTime.of(2019, 3, 4, 9, 0, 31), LocalDateTime.of(2019, 3, 19, 0, 0)), 
+				"should leave out lectures starting before period");
+		assertTrue(store.find(99, LocalDateTime.of(2019, 1, 1, 0, 0), 
+				LocalDateTime.of(2020, 1, 1, 0, 0)).isEmpty(), "should find nothing for unknown member");
+	}
+	
+	
+	@Test
+	@DisplayName("reads many lectures across row groups and months")
+	void testFindAcrossMonths() throws IOException {
+		List<ArchivedLecture> march = new ArrayList<>();
+		List<ArchivedLecture> april = new ArrayList<>();
+		for(int i = 0; i < 1500; i++) {
+			march.add(lecture(i, LocalDateTime.of(2019, 3, 1, 0, 0).plusMinutes(i * 20L), i % 7, 
+					1000 + i % 50, 2000));
+			april.add(lecture(2000 + i, LocalDateTime.of(2019, 4, 1, 0, 0).plusMinutes(i * 20L), i % 7, 
+					1000 + i % 50));
+		}
+		store.write(MONTH, march);
+		store.write(MONTH.plusMonths(1), april);
+		
+		List<ArchivedLecture> found = store.find(2000, 
+				LocalDateTime.of(2019, 3, 1, 0, 0), LocalDateTime.of(2019, 5, 1, 0, 0));
+		assertEquals(march, found);
+		
+		List<Integer> ids = store.find(3, LocalDateTime.of(2019, 3, 15, 0, 0), 
+				LocalDateTime.of(2019, 4, 15, 0, 0)).stream()
+				.map(ArchivedLecture::getLectureId).collect(Collectors.toList());
+		List<Integer> expected = new ArrayList<>();
+		for(ArchivedLecture lecture : march.subList(14 * 24 * 3, 1500)) {
+			if(lecture.getTeacherId() == 3) {
+				expected.add(lecture.getLectureId());
+			}
+		}
+		for(ArchivedLecture lecture : april.subList(0, 14 * 24 * 3)) {
+			if(lecture.getTeacherId() == 3) {
+				expected.add(lecture.getLectureId());
+			}
+		}
+		assertEquals(expected, ids);
+	}
+	
+	
+	@Test
+	@DisplayName("merges lectures into month archived before")
+	void testMerge() throws IOException {
+		ArchivedLecture first = lecture(1, LocalDateTime.of(2019, 3, 4, 9, 0), 10);
+		ArchivedLecture second = lecture(2, LocalDateTime.of(2019, 3, 5, 9, 0), 10);
+		store.write(MONTH, Arrays.asList(first, second));
+		
+		ArchivedLecture replaced = lecture(2, LocalDateTime.of(2019, 3, 6, 9, 0), 10, 20);
+		ArchivedLecture added = lecture(3, LocalDateTime.of(2019, 3, 1, 9, 0), 10);
+		assertEquals(3, store.write(MONTH, Arrays.asList(replaced, added)));
+		
+		assertEquals(Arrays.asList(added, first, replaced), store.find(10, 
+				MONTH.atDay(1).atStartOfDay(), MONTH.plusMonths(1).atDay(1).atStartOfDay()));
+	}
+	
+	
+	@Test
+	@DisplayName("keeps published month until prepared archive is published")
+	void testPublish() throws IOException {
+		ArchivedLecture first = lecture(1, LocalDateTime.of(2019, 3, 4, 9, 0), 10);
+		ArchivedLecture second = lecture(2, LocalDateTime.of(2019, 3, 5, 9, 0), 10);
+		store.write(MONTH, Collections.singletonList(first));
+		
+		ArchiveStore.PendingArchive archive = store.prepare(MONTH, Collections.singletonList(second));
+		assertEquals(Collections.singletonList(first), store.find(10, 
+				MONTH.atDay(1).atStartOfDay(), MONTH.plusMonths(1).atDay(1).atStartOfDay()));
+		
+		store.publish(archive);
+		assertEquals(Arrays.asList(first, second), store.find(10, 
+				MONTH.atDay(1).atStartOfDay(), MONTH.plusMonths(1).atDay(1).atStartOfDay()));
+	}
+	
+	
+	@Test
+	@DisplayName("leaves no files behind discarded archive")
+	void testDiscard() throws IOException {
+		store.discard(store.prepare(MONTH, Collections.singletonList(
+				lecture(1, LocalDateTime.of(2019, 3, 4, 9, 0), 10))));
+		
+		try(Stream<Path> files = Files.list(directory)) {
+			assertEquals(0, files.count());
+		}
+		assertTrue(store.find(10, MONTH.atDay(1).atStartOfDay(), 
+				MONTH.plusMonths(1).atDay(1).atStartOfDay()).isEmpty());
+	}
+	
+	
+	@Test
+	@DisplayName("rebuilds index missing or left from another write")
+	void testRebuildIndex() throws IOException {
+		ArchivedLecture lecture = lecture(1, LocalDateTime.of(2019, 3, 4, 9, 0), 10, 20);
+		store.write(MONTH, Collections.singletonList(lecture));
+		Path index = directory.resolve("lectures-2019-03.idx");
+		Files.delete(index);
+		
+		assertEquals(Collections.singletonList(lecture), new ArchiveStore(directory).find(20, 
+				MONTH.atDay(1).atStartOfDay(), MONTH.plusMonths(1).atDay(1).atStartOfDay()));
+		assertTrue(Files.exists(index), "should write index again");
+		
+		MonthArchiveWriter.writeIndex(index, MONTH, Collections.emptyList(), 0);
+		assertEquals(Collections.singletonList(lecture), new ArchiveStore(directory).find(10, 
+				MONTH.atDay(1).atStartOfDay(), MONTH.plusMonths(1).atDay(1).atStartOfDay()));
+	}
+	
+	
+	@Test
+	@DisplayName("compresses columns of repeated values")
+	void testCompression() throws IOException {
+		List<ArchivedLecture> lectures = new ArrayList<>();
+		for(int i = 0; i < 2000; i++) {
+			lectures.add(lecture(i, LocalDateTime.of(2019, 3, 1, 8, 0).plusMinutes(i * 15L), i % 20, 
+					100 + i % 30, 200 + i % 30, 300 + i % 30));
+		}
+		store.write(MONTH, lectures);
+		
+		long size = Files.size(directory.resolve("lectures-2019-03.dat"));
+		assertTrue(size < 2000 * 4 * 5, "should take less than raw int columns, took " + size);
+	}
+	
+	
+	private ArchivedLecture lecture(int id, LocalDateTime date, int teacherId, Integer... studentIds) {
+		return new ArchivedLecture(id, date, 90, teacherId % 3, "Subject " + teacherId % 3, teacherId, 
+				"First " + teacherId, "Last " + teacherId, Arrays.asList(studentIds));
+	}
+}
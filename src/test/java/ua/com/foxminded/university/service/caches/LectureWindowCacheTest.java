@@ -0,0 +1,160 @@
+package ua.com.foxminded.university.service.caches;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import ua.com.foxminded.university.domain.entities.Lecture;
+
+@DisplayName("Lecture window cache")
+class LectureWindowCacheTest {
+
+	LectureWindowCache cache;
+	AtomicInteger loads;
+	Supplier<List<Lecture>> loader;
+	LocalDateTime today;
+
+	@BeforeEach
+	void setUp() {
+		cache = new LectureWindowCache();
+		loads = new AtomicInteger();
+		loader = () -> {
+			loads.incrementAndGet();
+			return new ArrayList<>(Arrays.asList(new Lecture()));
+		};
+		today = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.unbindResourceIfPossible(cache);
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+
+	@Test
+	@DisplayName("loads window once")
+	void testLoadsOnce() {
+		cache.get(today, today.plusDays(1), loader);
+		List<Lecture> lectures = cache.get(today, today.plusDays(1), loader);
+
+		assertEquals(1, lectures.size());
+		assertEquals(1, loads.get(), "should serve repeated lookup from cache");
+	}
+
+
+	@Test
+	@DisplayName("keys windows by start and end")
+	void testKeysByWindow() {
+		cache.get(today, today.plusDays(1), loader);
+		cache.get(today, today.plusMonths(1), loader);
+		cache.get(today.plusDays(1), today.plusDays(2), loader);
+
+		assertEquals(3, loads.get());
+	}
+
+
+	@Test
+	@DisplayName("keys member windows by member")
+	void testKeysByMember() {
+		cache.get(today, today.plusDays(1), loader);
+		cache.get(1, today, today.plusDays(1), loader);
+		cache.get(2, today, today.plusDays(1), loader);
+		cache.get(1, today, today.plusDays(1), loader);
+
+		assertEquals(3, loads.get());
+	}
+
+
+	@Test
+	@DisplayName("reloads after invalidation")
+	void testInvalidate() {
+		cache.get(today, today.plusDays(1), loader);
+		cache.invalidate();
+		cache.get(today, today.plusDays(1), loader);
+
+		assertEquals(2, loads.get());
+	}
+
+
+	@Test
+	@DisplayName("invalidates after writing transaction commits")
+	void testInvalidateAfterCommit() {
+		cache.get(today, today.plusDays(1), loader);
+		TransactionSynchronizationManager.initSynchronization();
+		cache.invalidate();
+		cache.get(today, today.plusDays(1), loader);
+
+		assertEquals(2, loads.get(), "should bypass windows inside writing transaction");
+
+		TransactionSynchronizationUtils.triggerAfterCommit();
+		TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		cache.get(today, today.plusDays(1), loader);
+		cache.get(today, today.plusDays(1), loader);
+
+		assertEquals(3, loads.get(), "should reload window once after commit");
+	}
+
+
+	@Test
+	@DisplayName("keeps windows when writing transaction rolls back")
+	void testKeepsOnRollback() {
+		cache.get(today, today.plusDays(1), loader);
+		TransactionSynchronizationManager.initSynchronization();
+		cache.invalidate();
+		TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+		cache.get(today, today.plusDays(1), loader);
+
+		assertEquals(1, loads.get());
+	}
+
+
+	@Test
+	@DisplayName("drops windows that have ended")
+	void testDropsEndedWindows() {
+		LocalDateTime yesterday = today.minusDays(1);
+		cache.get(yesterday, today, loader);
+		cache.get(yesterday, today, loader);
+
+		assertEquals(2, loads.get(), "should not keep window ended before lookup");
+	}
+
+
+	@Test
+	@DisplayName("does not store window loaded during invalidation")
+	void testSkipsRacingLoad() {
+		cache.get(today, today.plusDays(1), () -> {
+			cache.invalidate();
+			return loader.get();
+		});
+		cache.get(today, today.plusDays(1), loader);
+
+		assertEquals(2, loads.get());
+	}
+
+
+	@Test
+	@DisplayName("returns unmodifiable lectures")
+	void testUnmodifiable() {
+		List<Lecture> lectures = cache.get(today, today.plusDays(1), loader);
+
+		assertThrows(UnsupportedOperationException.class, () -> lectures.add(new Lecture()));
+	}
+}
@@ -0,0 +1,82 @@
+package ua.com.foxminded.university.service.caches;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import ua.com.foxminded.university.domain.entities.Course;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Reference cache")
+class ReferenceCacheTest {
+
+	@Mock
+	EntityManagerFactory entityManagerFactory;
+
+	@Mock
+	Cache cache;
+
+	@InjectMocks
+	ReferenceCache referenceCache;
+
+	@BeforeEach
+	void setUp() {
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+
+	@Test
+	@DisplayName("evicts region after transaction commits")
+	void testEvictAfterCommit() {
+		when(entityManagerFactory.getCache()).thenReturn(cache);
+		referenceCache.evict(Course.class);
+
+		verify(cache, never()).evict(Course.class);
+
+		TransactionSynchronizationUtils.triggerAfterCommit();
+		verify(cache).evict(Course.class);
+	}
+
+
+	@Test
+	@DisplayName("keeps region when transaction rolls back")
+	void testKeepOnRollback() {
+		referenceCache.evict(Course.class);
+		TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		verify(entityManagerFactory, never()).getCache();
+	}
+
+
+	@Test
+	@DisplayName("evicts region at once outside of transaction")
+	void testEvictWithoutTransaction() {
+		TransactionSynchronizationManager.clearSynchronization();
+		when(entityManagerFactory.getCache()).thenReturn(cache);
+		referenceCache.evict(Course.class);
+
+		verify(cache).evict(Course.class);
+	}
+}
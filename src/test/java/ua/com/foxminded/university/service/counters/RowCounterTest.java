@@ -0,0 +1,97 @@
+package ua.com.foxminded.university.service.counters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import ua.com.foxminded.university.service.results.CountedPage;
+
+@DisplayName("Row counter")
+class RowCounterTest {
+
+	static final LongSupplier NOT_CALLED = () -> fail("should not query count");
+
+	RowCounter counter;
+	List<Integer> fullPage;
+
+	@BeforeEach
+	void setUp() {
+		counter = new RowCounter(100);
+		fullPage = Collections.nCopies(10, 1);
+	}
+
+
+	@Test
+	@DisplayName("takes total from partial page")
+	void testPartialPage() {
+		CountedPage<Integer> page = counter.toPage(Collections.nCopies(3, 1),
+				PageRequest.of(4, 10), NOT_CALLED, NOT_CALLED);
+
+		assertEquals(43, page.getTotalElements());
+		assertFalse(page.isApproximate());
+	}
+
+
+	@Test
+	@DisplayName("estimates total of large table")
+	void testEstimated() {
+		CountedPage<Integer> page = counter.toPage(fullPage,
+				PageRequest.of(0, 10), () -> 30_000, NOT_CALLED);
+
+		assertEquals(3000, page.getTotalPages());
+		assertTrue(page.isApproximate());
+	}
+
+
+	@Test
+	@DisplayName("keeps next page reachable when estimate falls short")
+	void testEstimateBelowOffset() {
+		CountedPage<Integer> page = counter.toPage(fullPage,
+				PageRequest.of(20, 10), () -> 150, NOT_CALLED);
+
+		assertTrue(page.hasNext(), "should not end on a full page");
+		assertTrue(page.isApproximate());
+	}
+
+
+	@Test
+	@DisplayName("counts small table exactly")
+	void testExact() {
+		CountedPage<Integer> page = counter.toPage(fullPage,
+				PageRequest.of(0, 10), () -> 90, () -> 95);
+
+		assertEquals(95, page.getTotalElements());
+		assertFalse(page.isApproximate());
+	}
+
+
+	@Test
+	@DisplayName("counts exactly past the end of data")
+	void testPastEnd() {
+		CountedPage<Integer> page = counter.toPage(Collections.emptyList(),
+				PageRequest.of(9000, 10), NOT_CALLED, () -> 29_995);
+
+		assertEquals(3000, page.getTotalPages());
+		assertFalse(page.isApproximate());
+	}
+
+
+	@Test
+	@DisplayName("counts exactly when estimates are disabled")
+	void testDisabled() {
+		CountedPage<Integer> page = new RowCounter(0).toPage(fullPage,
+				PageRequest.of(0, 10), NOT_CALLED, () -> 30_000);
+
+		assertFalse(page.isApproximate());
+	}
+}
@@ -0,0 +1,88 @@
+package ua.com.foxminded.university.service.partitions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Lecture partition maintenance")
+class LecturePartitionMaintenanceTest {
+
+	static final YearMonth CURRENT = YearMonth.of(2020, 9);
+
+	@Mock
+	JdbcTemplate jdbcTemplate;
+
+
+	@Test
+	@DisplayName("creates partitions from current month on")
+	void testCreatePartitions() {
+		LecturePartitionMaintenance maintenance = maintenance(2);
+		when(jdbcTemplate.queryForObject(eq(LecturePartitionMaintenance.CREATE_PARTITION),
+				eq(Boolean.class), any(LocalDate.class))).thenReturn(false, true, true);
+
+		List<YearMonth> created = maintenance.createPartitions(CURRENT);
+
+		assertEquals(Arrays.asList(YearMonth.of(2020, 10), YearMonth.of(2020, 11)), created);
+		verify(jdbcTemplate).queryForObject(LecturePartitionMaintenance.CREATE_PARTITION,
+				Boolean.class, LocalDate.of(2020, 9, 1));
+		verify(jdbcTemplate).queryForObject(LecturePartitionMaintenance.CREATE_PARTITION,
+				Boolean.class, LocalDate.of(2020, 11, 1));
+	}
+
+
+	@Test
+	@DisplayName("drops detached partition with its enrollments")
+	void testDropPartition() {
+		LecturePartitionMaintenance maintenance = maintenance(0);
+		when(jdbcTemplate.queryForObject(LecturePartitionMaintenance.DETACH_PARTITION,
+				Boolean.class, LocalDate.of(2020, 1, 1))).thenReturn(true);
+		when(jdbcTemplate.queryForObject(LecturePartitionMaintenance.DETACH_PARTITION,
+				Boolean.class, LocalDate.of(2020, 2, 1))).thenReturn(false);
+
+		assertTrue(maintenance.dropPartition(YearMonth.of(2020, 1)));
+		assertFalse(maintenance.dropPartition(YearMonth.of(2020, 2)));
+
+		verify(jdbcTemplate).execute("drop table lectures_2020_01, lectures_2020_01_students");
+		verify(jdbcTemplate, times(1)).execute(any(String.class));
+	}
+
+
+	@Test
+	@DisplayName("maintains partitions around today")
+	void testMaintain() {
+		Clock clock = Clock.fixed(LocalDate.of(2020, 9, 15).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+		LecturePartitionMaintenance maintenance = new LecturePartitionMaintenance(jdbcTemplate, 0, clock);
+		when(jdbcTemplate.queryForObject(LecturePartitionMaintenance.CREATE_PARTITION,
+				Boolean.class, LocalDate.of(2020, 9, 1))).thenReturn(false);
+
+		maintenance.maintain();
+
+		verify(jdbcTemplate).queryForObject(LecturePartitionMaintenance.CREATE_PARTITION,
+				Boolean.class, LocalDate.of(2020, 9, 1));
+	}
+
+
+	LecturePartitionMaintenance maintenance(int monthsAhead) {
+		return new LecturePartitionMaintenance(jdbcTemplate, monthsAhead, Clock.systemUTC());
+	}
+}
@@ -0,0 +1,198 @@
+package ua.com.foxminded.university.service.partitions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.persistence.PersistenceException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import ua.com.foxminded.university.domain.entities.Course;
+import ua.com.foxminded.university.domain.entities.Lecture;
+import ua.com.foxminded.university.domain.entities.Member;
+import ua.com.foxminded.university.domain.entities.Student;
+import ua.com.foxminded.university.domain.entities.Teacher;
+import ua.com.foxminded.university.repository.LectureRepository;
+
+/**
+ * Runs against the configured PostgreSQL database, as partitioning is not
+ * available on H2. Enable with {@code -Duniversity.test.postgres=true}.
+ */
+@DataJpaTest(properties = "logging.level.root=warn")
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@EnabledIfSystemProperty(named = "university.test.postgres", matches = "true")
+@DisplayName("Lecture partitions")
+class LecturePartitionsTest {
+
+	static final Pattern PARTITION = Pattern.compile("lectures_(\\d{4}_\\d{2}|default)");
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	LecturePartitionMaintenance maintenance;
+	Course course;
+	Member teacher;
+	Member student;
+
+	@BeforeEach
+	void setUp() {
+		maintenance = new LecturePartitionMaintenance(jdbcTemplate, 3, Clock.systemDefaultZone());
+		maintenance.createPartitions(YearMonth.of(2001, 7));
+
+		course = entityManager.persist(new Course("Glass blowing", "Molten glass"));
+		teacher = entityManager.persist(new Member(new Teacher("Marla", "Singer")));
+		student = entityManager.persist(new Member(new Student("Ralph", "Cifaretto")));
+	}
+
+
+	@Test
+	@DisplayName("prunes date window to its month")
+	void testDateWindowPruning() {
+		Set<String> scanned = scannedPartitions(jdbcTemplate.queryForList(
+				"explain select l.lecture_id from lectures l where l.teacher_id = ? and l.date between ? and ?",
+				String.class, teacher.getMemberId(),
+				LocalDateTime.of(2001, 9, 1, 0, 0), LocalDateTime.of(2001, 9, 30, 23, 59)));
+
+		assertEquals(new HashSet<>(Arrays.asList("lectures_2001_09")), scanned);
+	}
+
+
+	@Test
+	@DisplayName("prunes period lookup to its month and the one before")
+	void testPeriodPruning() {
+		MapSqlParameterSource parameters = new MapSqlParameterSource()
+				.addValue("teacherId", teacher.getMemberId())
+				.addValue("from", LocalDateTime.of(2001, 9, 2, 10, 0))
+				.addValue("to", LocalDateTime.of(2001, 9, 2, 11, 0));
+
+		Set<String> scanned = scannedPartitions(new NamedParameterJdbcTemplate(jdbcTemplate).queryForList(
+				"explain select 1 from lectures l where l.teacher_id = :teacherId and "
+				+ LectureRepository.PERIOD_OVERLAPS, parameters, String.class));
+
+		assertEquals(new HashSet<>(Arrays.asList("lectures_2001_08", "lectures_2001_09")), scanned);
+	}
+
+
+	@Test
+	@DisplayName("moves lectures from default partition into a new one")
+	void testCreateFromDefault() {
+		Lecture lecture = persistLecture(LocalDateTime.of(2001, 12, 3, 9, 0), 60);
+		assertEquals("lectures_default", partitionOf(lecture));
+
+		assertTrue(maintenance.createPartitions(YearMonth.of(2001, 12)).contains(YearMonth.of(2001, 12)));
+		assertEquals("lectures_2001_12", partitionOf(lecture));
+	}
+
+
+	@Test
+	@DisplayName("drops partition with its enrollments")
+	void testDropPartition() {
+		Lecture lecture = new Lecture();
+		lecture.setDate(LocalDateTime.of(2001, 7, 3, 9, 0));
+		lecture.setCourse(course);
+		lecture.setTeacher(teacher);
+		lecture.addStudent(student);
+		entityManager.persistAndFlush(lecture);
+
+		assertTrue(maintenance.dropPartition(YearMonth.of(2001, 7)));
+		assertEquals(0, count("select count(*) from lectures where lecture_id = ?", lecture.getLectureId()));
+		assertEquals(0, count("select count(*) from lecture_student where lecture_id = ?", lecture.getLectureId()));
+		assertEquals(0, count("select count(*) from pg_class where relname = 'lectures_2001_07_students'"));
+	}
+
+
+	@Test
+	@DisplayName("rejects teacher overlap across months")
+	void testOverlapAcrossMonths() {
+		persistLecture(LocalDateTime.of(2001, 8, 31, 23, 0), 120);
+		Lecture overlapping = new Lecture();
+		overlapping.setDate(LocalDateTime.of(2001, 9, 1, 0, 30));
+		overlapping.setCourse(course);
+		overlapping.setTeacher(teacher);
+		entityManager.persist(overlapping);
+
+		assertThrows(PersistenceException.class, entityManager::flush);
+	}
+
+
+	@Test
+	@DisplayName("locks teacher of overlap check in its own lock space")
+	void testTeacherAdvisoryLock() {
+		persistLecture(LocalDateTime.of(2001, 9, 3, 9, 0), 60);
+
+		assertEquals(1, count("select count(*) from pg_locks where pid = pg_backend_pid() "
+				+ "and locktype = 'advisory' and classid = 6 and objid = cast(? as oid) and objsubid = 2",
+				teacher.getMemberId()));
+	}
+
+
+	@Test
+	@DisplayName("bounds duration as the entity does")
+	void testMaxDuration() {
+		assertEquals(Lecture.MAX_DURATION, count("select lectures_max_duration()"));
+	}
+
+
+	@Test
+	@DisplayName("rejects enrollment to missing lecture")
+	void testMissingLecture() {
+		assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+				"insert into lecture_student (student_id, lecture_id) values (?, ?)", student.getMemberId(), -1));
+	}
+
+
+	Lecture persistLecture(LocalDateTime date, int duration) {
+		Lecture lecture = new Lecture();
+		lecture.setDate(date);
+		lecture.setCourse(course);
+		lecture.setTeacher(teacher);
+		lecture.setDuration(duration);
+		return entityManager.persistAndFlush(lecture);
+	}
+
+	String partitionOf(Lecture lecture) {
+		return jdbcTemplate.queryForObject("select cast(tableoid as regclass) from lectures where lecture_id = ?",
+				String.class, lecture.getLectureId());
+	}
+
+	long count(String sql, Object... arguments) {
+		return jdbcTemplate.queryForObject(sql, Long.class, arguments);
+	}
+
+	Set<String> scannedPartitions(Iterable<String> plan) {
+		Set<String> partitions = new TreeSet<>();
+		for(String line : plan) {
+			Matcher matcher = PARTITION.matcher(line);
+			while(matcher.find()) {
+				partitions.add(matcher.group());
+			}
+		}
+		return partitions;
+	}
+}
@@ -77,6 +77,8 @@ class ValidationRulesTest {
 				LectureRules.HAS_ID.getRule().getDefinition();
 		Predicate<Lecture> hasDate = 
 				LectureRules.HAS_DATE.getRule().getDefinition();
+		Predicate<Lecture> hasDuration = 
+				LectureRules.HAS_DURATION.getRule().getDefinition();
 		Predicate<Lecture> hasCourse = 
 				LectureRules.HAS_COURSE.getRule().getDefinition();
 		Predicate<Lecture> hasTeacher = 
@@ -96,10 +98,12 @@ class ValidationRulesTest {
 		@DisplayName("return false if lecture fields not set")
 		void testInvalidLecture() {
 			lecture.addStudent(new Teacher());
+			lecture.setDuration(0);
 			String message = "Should return false";
 			
 			assertFalse(hasId.test(lecture), message);
 			assertFalse(hasDate.test(lecture), message);
+			assertFalse(hasDuration.test(lecture), message);
 			assertFalse(hasCourse.test(lecture), message);
 			assertFalse(hasTeacher.test(lecture), message);
 			assertFalse(validTeacher.test(lecture), message);
@@ -119,11 +123,23 @@ class ValidationRulesTest {
 			
 			assertTrue(hasId.test(lecture), message);
 			assertTrue(hasDate.test(lecture), message);
+			assertTrue(hasDuration.test(lecture), message);
 			assertTrue(hasCourse.test(lecture), message);
 			assertTrue(hasTeacher.test(lecture), message);
 			assertTrue(validTeacher.test(lecture), message);
 			assertTrue(validStudents.test(lecture), message);
-		}	
+		}
+
+
+		@Test
+		@DisplayName("limit duration to 28 days")
+		void testMaxDuration() {
+			lecture.setDuration(Lecture.MAX_DURATION);
+			assertTrue(hasDuration.test(lecture), "Should accept 28 days");
+
+			lecture.setDuration(Lecture.MAX_DURATION + 1);
+			assertFalse(hasDuration.test(lecture), "Should reject longer duration");
+		}
 	}
 	
 	
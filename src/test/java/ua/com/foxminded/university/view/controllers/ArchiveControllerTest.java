@@ -0,0 +1,57 @@
+package ua.com.foxminded.university.view.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import ua.com.foxminded.university.service.ArchiveService;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.results.ArchivedLecture;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Archive Controller")
+class ArchiveControllerTest {
+	
+	@Mock
+	private ArchiveService archiveService;
+	
+	@InjectMocks
+	private ArchiveController archiveController = new ArchiveController();
+	
+	@Test
+	@DisplayName("returns archived lectures of member")
+	public void testArchivedLectures() throws ServiceException {
+		LocalDate from = LocalDate.of(2019, 9, 1);
+		LocalDate to = LocalDate.of(2019, 12, 31);
+		List<ArchivedLecture> lectures = Collections.singletonList(new ArchivedLecture(1, 
+				LocalDateTime.of(2019, 9, 2, 9, 0), 90, 5, "Chemistry", 7, "Walter", "White", 
+				Collections.singletonList(8)));
+		when(archiveService.retrieveArchivedLectures(7, from, to)).thenReturn(lectures);
+		
+		assertSame(lectures, archiveController.archivedLectures(7, from, to));
+	}
+	
+	
+	@Test
+	@DisplayName("archives lectures before month and returns archived months")
+	public void testArchive() throws ServiceException {
+		List<YearMonth> months = Arrays.asList(YearMonth.of(2019, 8), YearMonth.of(2019, 9));
+		when(archiveService.archiveBefore(YearMonth.of(2019, 10))).thenReturn(months);
+		
+		assertEquals(months, archiveController.archive(YearMonth.of(2019, 10)));
+	}
+}
@@ -2,8 +2,8 @@ package ua.com.foxminded.university.view.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -14,14 +14,19 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import ua.com.foxminded.university.domain.entities.Course;
+import ua.com.foxminded.university.repository.CourseRow;
 import ua.com.foxminded.university.service.CourseService;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
 import ua.com.foxminded.university.view.paginator.EntryQueryablePaginator;
+import ua.com.foxminded.university.view.paginator.PageSource;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Course Controller")
@@ -31,7 +36,10 @@ class CourseControllerTest {
 	private CourseService courseService;
 	
 	@Mock(name="coursePaginator")
-	private EntryQueryablePaginator<Course> pagination;
+	private EntryQueryablePaginator<CourseRow> pagination;
+	
+	@Captor
+	private ArgumentCaptor<PageSource<CourseRow>> pageSource;
 	
 	@InjectMocks
 	private CourseController courseController = new CourseController();
@@ -43,10 +51,9 @@ class CourseControllerTest {
 		@Test
 		@DisplayName("returns proper view")
 		public void testReturnProperView() throws ServiceException {
-			when(pagination.hasValidCache()).thenReturn(true);
 			String expectedView = CourseController.TABLE_FRAGMENT;
 			String actualView = 
-					courseController.listCourses(1, null).getViewName();
+					courseController.listCourses(1).getViewName();
 			
 			assertEquals(expectedView, actualView);
 		}
@@ -57,31 +64,13 @@ class CourseControllerTest {
 	class getCoursesPageDataTest {
 		
 		@Test
-		@DisplayName("calls service with fetch param present")
-		public void testCallToService() throws ServiceException {
-			courseController.getCoursesPageData(1, "");
-			
-			verify(courseService).retrieveAll();
-		}
-		
-		
-		@Test
-		@DisplayName("doesn't call service with fetch=null if cache valid")
-		public void testNoCallToService() throws ServiceException {
-			when(pagination.hasValidCache()).thenReturn(true);
-			courseController.getCoursesPageData(1, null);
-			
-			verify(courseService, times(0)).retrieveAll();
-		}
-		
-		
-		@Test
-		@DisplayName("calls service with fetch=null if cache invalid")
-		public void testCallServiceIfInvalidCache() throws ServiceException {
-			when(pagination.hasValidCache()).thenReturn(false);
-			courseController.getCoursesPageData(1, null);
+		@DisplayName("requests page from paginator with service as page source")
+		void testFetchesPageFromService() throws ServiceException {
+			courseController.getCoursesPageData(1);
 			
-			verify(courseService, times(1)).retrieveAll();
+			verify(pagination).getPageData(eq(1), pageSource.capture());
+			pageSource.getValue().fetch(PageRequest.of(0, 10));
+			verify(courseService).retrieveRows(PageRequest.of(0, 10));
 		}
 	}
 	
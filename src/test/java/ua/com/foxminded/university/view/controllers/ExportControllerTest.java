@@ -0,0 +1,56 @@
+package ua.com.foxminded.university.view.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import ua.com.foxminded.university.service.ExportService;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Export Controller")
+class ExportControllerTest {
+	
+	@Mock
+	private ExportService exportService;
+	
+	@InjectMocks
+	private ExportController exportController = new ExportController();
+	
+	@Test
+	@DisplayName("writes lectures to response as CSV attachment")
+	public void testExportLectures() throws ServiceException, IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		
+		exportController.exportLectures(response);
+		
+		verify(exportService).exportLectures(any(Writer.class));
+		assertEquals(ExportController.CSV_CONTENT_TYPE, response.getContentType());
+		assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("lectures.csv"));
+	}
+	
+	
+	@Test
+	@DisplayName("writes enrollments to response as CSV attachment")
+	public void testExportEnrollments() throws ServiceException, IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		
+		exportController.exportEnrollments(response);
+		
+		verify(exportService).exportEnrollments(any(Writer.class));
+		assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("enrollments.csv"));
+	}
+}
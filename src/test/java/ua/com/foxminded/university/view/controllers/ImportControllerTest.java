@@ -0,0 +1,56 @@
+package ua.com.foxminded.university.view.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+
+import ua.com.foxminded.university.service.ImportService;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.imports.ImportFile;
+import ua.com.foxminded.university.service.results.ImportReport;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Import Controller")
+class ImportControllerTest {
+	
+	@Mock
+	private ImportService importService;
+	
+	@Captor
+	private ArgumentCaptor<Map<ImportFile, InputStream>> files;
+	
+	@InjectMocks
+	private ImportController importController = new ImportController();
+	
+	@Test
+	@DisplayName("imports uploaded files and returns report")
+	public void testImportFiles() throws ServiceException {
+		ImportReport report = new ImportReport(new EnumMap<>(ImportFile.class), Collections.emptyList());
+		when(importService.importCsv(anyMap())).thenReturn(report);
+		MockMultipartFile members = new MockMultipartFile("members", "ref,first_name\n".getBytes());
+		MockMultipartFile courses = new MockMultipartFile("courses", new byte[0]);
+		
+		assertSame(report, importController.importFiles(members, courses, null, null));
+		
+		verify(importService).importCsv(files.capture());
+		assertEquals(Collections.singleton(ImportFile.MEMBERS), files.getValue().keySet(), 
+				"should skip missing and empty uploads");
+	}
+}
@@ -1,16 +1,24 @@
 package ua.com.foxminded.university.view.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.when;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 import javax.servlet.http.HttpServletRequest;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import ua.com.foxminded.university.service.caches.ReferenceCache;
+import ua.com.foxminded.university.service.caches.RegionStatistics;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
 
 @ExtendWith(MockitoExtension.class)
@@ -20,6 +28,10 @@ class IndexControllerTest {
 	@Mock
 	private HttpServletRequest request;
 	
+	@Mock
+	private ReferenceCache referenceCache;
+	
+	@InjectMocks
 	private IndexController indexController = new IndexController();
 
 	@Test
@@ -31,5 +43,24 @@ class IndexControllerTest {
 		
 		assertEquals(expectedView, actualView);
 	}
+	
+	
+	@Test
+	@DisplayName("returns cache region statistics")
+	public void testReturnsCacheStatistics() throws ServiceException {
+		Map<String, RegionStatistics> statistics = new TreeMap<>();
+		when(referenceCache.getRegionStatistics()).thenReturn(statistics);
+		
+		assertSame(statistics, indexController.getCacheStatistics());
+	}
+	
+	
+	@Test
+	@DisplayName("reports disabled cache statistics")
+	public void testReportsDisabledStatistics() throws ServiceException {
+		when(referenceCache.getRegionStatistics()).thenThrow(new ServiceException("disabled"));
+		
+		assertThrows(ServiceException.class, indexController::getCacheStatistics);
+	}
 
 }
@@ -1,10 +1,11 @@
 package ua.com.foxminded.university.view.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -15,16 +16,23 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import ua.com.foxminded.university.domain.entities.Lecture;
 import ua.com.foxminded.university.domain.entities.Student;
 import ua.com.foxminded.university.domain.entities.Teacher;
+import ua.com.foxminded.university.repository.Keyset;
+import ua.com.foxminded.university.repository.LectureRow;
 import ua.com.foxminded.university.service.LectureService;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.view.paginator.KeysetSource;
 import ua.com.foxminded.university.view.paginator.LecturePaginator;
+import ua.com.foxminded.university.view.paginator.PageSource;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Lecture Controller")
@@ -40,7 +48,13 @@ class LectureControllerTest {
 	private MemberController memberController;
 	
 	@Mock(name="lecturePaginator")
-	private LecturePaginator<Lecture> pagination;
+	private LecturePaginator<LectureRow> pagination;
+	
+	@Captor
+	private ArgumentCaptor<PageSource<LectureRow>> pageSource;
+	
+	@Captor
+	private ArgumentCaptor<KeysetSource<LectureRow>> keysetSource;
 	
 	@InjectMocks
 	private LectureController lectureController = new LectureController();
@@ -52,46 +66,46 @@ class LectureControllerTest {
 		@Test
 		@DisplayName("returns proper view")
 		void testReturnsProperView() throws ServiceException {
-			when(pagination.hasValidCache()).thenReturn(true);
 			String expectedView = LectureController.TABLE_FRAGMENT;
 			String actualView = 
-					lectureController.listLectures(1, null).getViewName();
+					lectureController.listLectures(1, Optional.empty()).getViewName();
 			
 			assertEquals(expectedView, actualView);
 		}
-	}
-	
-	@Nested
-	@DisplayName("Get lectures pageData")
-	class GetLecturesPageDataTest {
+		
 		
 		@Test
-		@DisplayName("calls service with fetch param present")
-		void testCallToService() throws ServiceException {
-			lectureController.getLecturesPageData(1, "");
+		@DisplayName("requests keyset page if cursor present")
+		void testRequestsKeysetPage() throws ServiceException {
+			lectureController.listLectures(1, Optional.of("id>42"));
 			
-			verify(lectureService).retrieveAll();
+			verify(pagination).getPageData(eq(Keyset.after(42)), keysetSource.capture());
+			keysetSource.getValue().fetch(Keyset.after(42), 11);
+			verify(lectureService).retrieveRows(Keyset.after(42), 11);
 		}
 		
 		
 		@Test
-		@DisplayName("doesn't call service with fetch=null if cache valid")
-		void testNoCallToService() throws ServiceException {
-			when(pagination.hasValidCache()).thenReturn(true);
-			lectureController.getLecturesPageData(1, null);
-			
-			verify(lectureService, times(0)).retrieveAll();
+		@DisplayName("rejects malformed cursor")
+		void testRejectsMalformedCursor() {
+			assertThrows(IllegalArgumentException.class, 
+					() -> lectureController.listLectures(1, Optional.of("id>")));
 		}
-		
+	}
+	
+	@Nested
+	@DisplayName("Get lectures pageData")
+	class GetLecturesPageDataTest {
 		
 		@Test
-		@DisplayName("calls service with fetch=null if cache invalid")
-		void testCallServiceIfInvalidCache() throws ServiceException {
-			when(pagination.hasValidCache()).thenReturn(false);
-			lectureController.getLecturesPageData(1, null);
+		@DisplayName("requests page from paginator with service as page source")
+		void testFetchesPageFromService() throws ServiceException {
+			lectureController.getLecturesPageData(1);
 			
-			verify(lectureService, times(1)).retrieveAll();
-		}		
+			verify(pagination).getPageData(eq(1), pageSource.capture());
+			pageSource.getValue().fetch(PageRequest.of(0, 10));
+			verify(lectureService).retrieveRows(PageRequest.of(0, 10));
+		}
 	}
 	
 
@@ -137,7 +151,7 @@ class LectureControllerTest {
 		@DisplayName("requests Teacher objects by member type 1")
 		void testRequestsTeachers() throws ServiceException {
 			lectureController.pickMember(1, 1);
-			verify(memberController).getMembersPageData(1, null, Teacher.class);
+			verify(memberController).getMembersPageData(1, Teacher.class);
 		}
 		
 		
@@ -155,7 +169,7 @@ class LectureControllerTest {
 		@DisplayName("requests Student objects by member type 2")
 		void testRequestsStudents() throws ServiceException {
 			lectureController.pickMember(2, 1);
-			verify(memberController).getMembersPageData(1, null, Student.class);
+			verify(memberController).getMembersPageData(1, Student.class);
 		}
 		
 		
@@ -199,7 +213,7 @@ class LectureControllerTest {
 		void testReturnsProperView() throws ServiceException {
 			assertEquals(
 					LectureController.DATE_PICKER,
-					lectureController.pickDate(1, "2020-10-10T16:16:16").getViewName(),
+					lectureController.pickDate(1, "2020-10-10T16:16:16", Optional.empty()).getViewName(),
 					"should return proper date picker view"
 				);
 		}
@@ -209,7 +223,7 @@ class LectureControllerTest {
 		@DisplayName("sets generated date to model if null date passed")
 		void testGeneratesDateIfNull() throws ServiceException {
 			Object dateTime = 
-					lectureController.pickDate(1, null).getModelMap().get("dateTime"); 
+					lectureController.pickDate(1, null, Optional.empty()).getModelMap().get("dateTime"); 
 			assertTrue(dateTime != null, "dateTime should be mapped to default");
 			}
 		
@@ -1,9 +1,10 @@
 package ua.com.foxminded.university.view.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -14,14 +15,25 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import ua.com.foxminded.university.domain.entities.Member;
+import ua.com.foxminded.university.domain.entities.Student;
+import ua.com.foxminded.university.domain.entities.Teacher;
+import ua.com.foxminded.university.repository.Keyset;
+import ua.com.foxminded.university.repository.MemberRow;
 import ua.com.foxminded.university.service.MemberService;
 import ua.com.foxminded.university.service.exceptions.ServiceException;
 import ua.com.foxminded.university.view.paginator.EntryQueryablePaginator;
+import ua.com.foxminded.university.view.paginator.KeysetSource;
+import ua.com.foxminded.university.view.paginator.PageSource;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Member Controller")
@@ -31,7 +43,13 @@ class MemberControllerTest {
 	private MemberService memberService;
 	
 	@Mock(name="memberPaginator")
-	private EntryQueryablePaginator<Member> pagination;
+	private EntryQueryablePaginator<MemberRow> pagination;
+	
+	@Captor
+	private ArgumentCaptor<PageSource<MemberRow>> pageSource;
+	
+	@Captor
+	private ArgumentCaptor<KeysetSource<MemberRow>> keysetSource;
 	
 	@InjectMocks
 	private MemberController memberController = new MemberController();
@@ -43,46 +61,59 @@ class MemberControllerTest {
 		@Test
 		@DisplayName("returns proper view")
 		public void testReturnProperView() throws ServiceException {
-			when(pagination.hasValidCache()).thenReturn(true);
 			String expectedView = MemberController.TABLE_FRAGMENT;
 			String actualView = 
-					memberController.listMembers(1, null).getViewName();
+					memberController.listMembers(1, Optional.empty()).getViewName();
 			
 			assertEquals(expectedView, actualView);
 		}
 		
-	}
-	
-	@Nested
-	@DisplayName("Get members page data")
-	class getMembersPageDataTest {
 		
 		@Test
-		@DisplayName("calls service with fetch param present")
-		public void testCallToService() throws ServiceException {
-			memberController.getMembersPageData(1, "");
+		@DisplayName("requests keyset page if cursor present")
+		void testRequestsKeysetPage() throws ServiceException {
+			memberController.listMembers(1, Optional.of("id>42"));
 			
-			verify(memberService).retrieveAll();
+			verify(pagination).getPageData(eq(Keyset.after(42)), keysetSource.capture());
+			keysetSource.getValue().fetch(Keyset.after(42), 11);
+			verify(memberService).retrieveRows(Keyset.after(42), 11);
 		}
 		
 		
 		@Test
-		@DisplayName("doesn't call service with fetch=null if cache valid")
-		public void testNoCallToService() throws ServiceException {
-			when(pagination.hasValidCache()).thenReturn(true);
-			memberController.getMembersPageData(1, null);
-			
-			verify(memberService, times(0)).retrieveAll();
+		@DisplayName("rejects malformed cursor")
+		void testRejectsMalformedCursor() {
+			assertThrows(IllegalArgumentException.class, 
+					() -> memberController.listMembers(1, Optional.of("id>")));
 		}
 		
+	}
+	
+	@Nested
+	@DisplayName("Get members page data")
+	class getMembersPageDataTest {
 		
 		@Test
-		@DisplayName("calls service with fetch=null if cache invalid")
-		public void testCallServiceIfInvalidCache() throws ServiceException {
-			when(pagination.hasValidCache()).thenReturn(false);
-			memberController.getMembersPageData(1, null);
+		@DisplayName("requests page of all members without class filter")
+		void testFetchesAllMembers() throws ServiceException {
+			memberController.getMembersPageData(1);
+			
+			verify(pagination).getPageData(eq(1), pageSource.capture());
+			pageSource.getValue().fetch(PageRequest.of(0, 10));
+			verify(memberService).retrieveRows(PageRequest.of(0, 10));
+		}
+		
+		
+		@ParameterizedTest
+		@ValueSource(classes = {Teacher.class, Student.class})
+		@DisplayName("requests page of members filtered by type")
+		void testFetchesMembersOfType(Class<?> memberClass) throws ServiceException {
+			int typeId = (memberClass == Teacher.class)? Teacher.MEMBER_TYPE : Student.MEMBER_TYPE;
+			memberController.getMembersPageData(1, memberClass);
 			
-			verify(memberService, times(1)).retrieveAll();
+			verify(pagination).getPageData(eq(1), pageSource.capture());
+			pageSource.getValue().fetch(PageRequest.of(0, 10));
+			verify(memberService).retrieveRows(typeId, PageRequest.of(0, 10));
 		}
 	}
 	
@@ -240,11 +271,13 @@ class MemberControllerTest {
 		@DisplayName("calls delete method")
 		void testCallsDelete() throws ServiceException {
 			when(pagination.hasValidCache()).thenReturn(true);
-			when(pagination.getEntry(anyInt())).thenReturn(Optional.of(member));
+			MemberRow row = new MemberRow(
+					member.getMemberId(), Student.MEMBER_TYPE, "First", "Last");
+			when(pagination.getEntry(anyInt())).thenReturn(Optional.of(row));
 			
 			memberController.delete(member.getMemberId(), Optional.of(1));
 			
-			verify(memberService).delete(member);
+			verify(memberService).delete(row.toMember());
 		}
 	}
 }
@@ -12,22 +12,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
-import ua.com.foxminded.university.domain.entities.Course;
+import ua.com.foxminded.university.repository.CourseRow;
 
 @DisplayName("Course paginator")
 class CoursePaginatorTest {
 	
-	EntryQueryablePaginator<Course> paginator;
-	List<Course> courses;
+	EntryQueryablePaginator<CourseRow> paginator;
+	List<CourseRow> courses;
 
 	@BeforeEach
 	void setUp() {
 		paginator = new CoursePaginator<>();
 		courses = new LinkedList<>();
 		for(int i = 0; i < 5; i++) {
-			Course course = new Course();
-			course.setCourseId(i + 1);
-			courses.add(course);
+			courses.add(new CourseRow(i + 1, "Subject", "Description"));
 		}
 		paginator.setData(courses);
 	}
@@ -47,12 +45,11 @@ class CoursePaginatorTest {
 	@DisplayName("Returns first found entry")
 	void testGetsFirstFound() {
 		int id = courses.size();
-		Course addedCourse = new Course();
-		addedCourse.setCourseId(id);
+		CourseRow addedCourse = new CourseRow(id, "Subject", "Description");
 		courses.add(addedCourse);
 		paginator.setData(courses);
 		
-		Course firstFoundCourse = paginator.getEntry(id).get();
+		CourseRow firstFoundCourse = paginator.getEntry(id).get();
 		assertFalse(addedCourse == firstFoundCourse,
 				"should not be the same course");
 	}
@@ -60,7 +57,7 @@ class CoursePaginatorTest {
 	@Test
 	@DisplayName("Returns empty Optional if no entry found")
 	void testIfNotFound() {
-		Optional<Course> course = paginator.getEntry(Integer.MAX_VALUE);
+		Optional<CourseRow> course = paginator.getEntry(Integer.MAX_VALUE);
 		assertFalse(course.isPresent());
 	}
 
@@ -3,6 +3,7 @@ package ua.com.foxminded.university.view.paginator;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
+import java.time.LocalDateTime;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
@@ -13,22 +14,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
-import ua.com.foxminded.university.domain.entities.Lecture;
+import ua.com.foxminded.university.repository.LectureRow;
 
 @DisplayName("Lecture paginator")
 class LecturePaginatorTest {
 	
-	EntryQueryablePaginator<Lecture> paginator;
-	List<Lecture> lectures;
+	EntryQueryablePaginator<LectureRow> paginator;
+	List<LectureRow> lectures;
 
 	@BeforeEach
 	void setUp() {
 		paginator = new LecturePaginator<>();
 		lectures = new LinkedList<>();
 		for(int i = 0; i < 5; i++) {
-			Lecture lecture = new Lecture();
-			lecture.setLectureId(i + 1);
-			lectures.add(lecture);
+			lectures.add(lectureRow(i + 1));
 		}
 		paginator.setData(lectures);
 	}
@@ -47,12 +46,11 @@ class LecturePaginatorTest {
 	@DisplayName("Returns first found entry")
 	void testGetsFirstFound() {
 		int id = lectures.size();
-		Lecture addedLecture = new Lecture();
-		addedLecture.setLectureId(id);
+		LectureRow addedLecture = lectureRow(id);
 		lectures.add(addedLecture);
 		paginator.setData(lectures);
 		
-		Lecture firstFoundLecture = paginator.getEntry(id).get();
+		LectureRow firstFoundLecture = paginator.getEntry(id).get();
 		assertFalse(addedLecture == firstFoundLecture,
 				"should not be the same lecture");
 	}
@@ -61,7 +59,13 @@ class LecturePaginatorTest {
 	@Test
 	@DisplayName("Returns empty Optional if no entry found")
 	void testIfNotFound() {
-		Optional<Lecture> lecture = paginator.getEntry(Integer.MAX_VALUE);
+		Optional<LectureRow> lecture = paginator.getEntry(Integer.MAX_VALUE);
 		assertFalse(lecture.isPresent());
 	}
+	
+	
+	private LectureRow lectureRow(int id) {
+		return new LectureRow(id, LocalDateTime.of(2020, 9, 1, 10, 0), 90,
+				"Subject", "First", "Last", 0);
+	}
 }
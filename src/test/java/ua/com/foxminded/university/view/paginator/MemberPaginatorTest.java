@@ -12,22 +12,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
-import ua.com.foxminded.university.domain.entities.Member;
+import ua.com.foxminded.university.domain.entities.Student;
+import ua.com.foxminded.university.domain.entities.Teacher;
+import ua.com.foxminded.university.repository.MemberRow;
 
 @DisplayName("Member paginator")
 class MemberPaginatorTest {
 	
-	EntryQueryablePaginator<Member> paginator;
-	List<Member> members;
+	EntryQueryablePaginator<MemberRow> paginator;
+	List<MemberRow> members;
 
 	@BeforeEach
 	void setUp() {
 		paginator = new MemberPaginator<>();
 		members = new LinkedList<>();
 		for(int i = 0; i < 5; i++) {
-			Member member = new Member();
-			member.setMemberId(i + 1);
-			members.add(member);
+			members.add(new MemberRow(i + 1, Student.MEMBER_TYPE, "First", "Last"));
 		}
 		paginator.setData(members);
 	}
@@ -47,12 +47,11 @@ class MemberPaginatorTest {
 	@DisplayName("Returns first found entry")
 	void testGetsFirstFound() {
 		int id = members.size();
-		Member addedMember = new Member();
-		addedMember.setMemberId(id);
+		MemberRow addedMember = new MemberRow(id, Student.MEMBER_TYPE, "First", "Last");
 		members.add(addedMember);
 		paginator.setData(members);
 		
-		Member firstFoundMember = paginator.getEntry(id).get();
+		MemberRow firstFoundMember = paginator.getEntry(id).get();
 		assertFalse(addedMember == firstFoundMember,
 				"should not be the same member");
 	}
@@ -61,8 +60,21 @@ class MemberPaginatorTest {
 	@Test
 	@DisplayName("Returns empty Optional if no entry found")
 	void testIfNotFound() {
-		Optional<Member> member = paginator.getEntry(Integer.MAX_VALUE);
+		Optional<MemberRow> member = paginator.getEntry(Integer.MAX_VALUE);
 		assertFalse(member.isPresent());
 	}
+	
+	
+	@Test
+	@DisplayName("Indexes rows by member type")
+	void testIndexesByType() {
+		members.add(new MemberRow(members.size() + 1, Teacher.MEMBER_TYPE, "First", "Last"));
+		paginator.setData(members, Student.class, Teacher.class);
+		
+		assertEquals(1, paginator.getPageData(1, Teacher.class).getPageSize(),
+				"should index teacher row under Teacher class");
+		assertEquals(5, paginator.getPageData(1, Student.class).getPageSize(),
+				"should index student rows under Student class");
+	}
 
 }
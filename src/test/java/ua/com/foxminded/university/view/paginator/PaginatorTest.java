@@ -1,18 +1,22 @@
 package ua.com.foxminded.university.view.paginator;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -21,10 +25,16 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import ua.com.foxminded.university.domain.entities.Member;
 import ua.com.foxminded.university.domain.entities.Student;
 import ua.com.foxminded.university.domain.entities.Teacher;
+import ua.com.foxminded.university.repository.Keyset;
+import ua.com.foxminded.university.service.exceptions.ServiceException;
+import ua.com.foxminded.university.service.results.CountedPage;
 
 @DisplayName("Paginator")
 class PaginatorTest {
@@ -221,6 +231,193 @@ class PaginatorTest {
 	}
 	
 	
+	@Nested
+	@DisplayName("Getting PageData from page source")
+	class GetSourcePageDataTest {
+		
+		Paginator<Integer> paginator;
+		List<Integer> entries;
+		List<Pageable> requests;
+		PageSource<Integer> source;
+		
+		@BeforeEach
+		void setUp() {
+			paginator = new Paginator<>(60, 10);
+			entries = IntStream.rangeClosed(1, 25).boxed().collect(Collectors.toList());
+			requests = new ArrayList<>();
+			source = pageable -> {
+				requests.add(pageable);
+				int from = (int) Math.min(pageable.getOffset(), entries.size());
+				int to = Math.min(from + pageable.getPageSize(), entries.size());
+				return new PageImpl<>(entries.subList(from, to), pageable, entries.size());
+			};
+		}
+		
+		
+		@Test
+		@DisplayName("fetches only requested page")
+		void testFetchesRequestedPage() throws ServiceException {
+			PageData<Integer> pageData = paginator.getPageData(2, source);
+			
+			assertIterableEquals(entries.subList(10, 20), pageData.getPageContent());
+			assertEquals(2, pageData.getPageNumber());
+			assertEquals(3, pageData.getPageCount());
+			assertEquals(Arrays.asList(PageRequest.of(1, 10)), requests,
+					"should request single page of configured size");
+		}
+		
+		
+		@Test
+		@DisplayName("marks page count estimated by source as approximate")
+		void testApproximatePageCount() throws ServiceException {
+			PageData<Integer> pageData = paginator.getPageData(1, 
+					pageable -> new CountedPage<>(entries.subList(0, 10), pageable, 30_000, true));
+			
+			assertEquals(3000, pageData.getPageCount());
+			assertTrue(pageData.isPageCountApproximate());
+			assertFalse(paginator.getPageData(1, source).isPageCountApproximate());
+		}
+		
+		
+		@ParameterizedTest
+		@ValueSource(ints = {4, Integer.MAX_VALUE})
+		@DisplayName("falls back to last page if requested page out of range")
+		void testFetchesLastPage(int pageNumber) throws ServiceException {
+			PageData<Integer> pageData = paginator.getPageData(pageNumber, source);
+			
+			assertIterableEquals(entries.subList(20, 25), pageData.getPageContent());
+			assertEquals(3, pageData.getPageNumber());
+		}
+		
+		
+		@Test
+		@DisplayName("falls back to first page if requested page below one")
+		void testFetchesFirstPage() throws ServiceException {
+			assertEquals(1, paginator.getPageData(Integer.MIN_VALUE, source).getPageNumber());
+		}
+		
+		
+		@Test
+		@DisplayName("returns empty PageData if source is empty")
+		void testEmptySource() throws ServiceException {
+			entries = new ArrayList<>();
+			
+			assertEquals(new PageData<>(), paginator.getPageData(1, source));
+			assertFalse(paginator.hasValidCache());
+		}
+		
+		
+		@Test
+		@DisplayName("keeps fetched page for entry lookups")
+		void testKeepsFetchedPage() throws ServiceException {
+			paginator.getPageData(3, source);
+			
+			assertTrue(paginator.hasValidCache());
+			assertIterableEquals(entries.subList(20, 25), paginator.getData());
+		}
+	}
+	
+	
+	@Nested
+	@DisplayName("Getting PageData from keyset source")
+	class GetKeysetPageDataTest {
+		
+		Paginator<Integer> paginator;
+		List<Integer> entries;
+		KeysetSource<Integer> source;
+		
+		@BeforeEach
+		void setUp() {
+			paginator = new Paginator<Integer>(60, 10) {
+				@Override
+				protected Keyset getKeyset(Integer entry, Keyset.Order order, boolean backward) {
+					return backward? Keyset.before(entry) : Keyset.after(entry);
+				}
+			};
+			entries = IntStream.rangeClosed(1, 25).boxed().collect(Collectors.toList());
+			source = (keyset, limit) -> {
+				Stream<Integer> scan = keyset.isBackward()? 
+						entries.stream().sorted(Collections.reverseOrder()) : entries.stream();
+				if(!keyset.isFirst()) {
+					scan = scan.filter(i -> keyset.isBackward()? 
+							i < keyset.getId() : i > keyset.getId());
+				}
+				return keyset.toDisplayOrder(scan.limit(limit).collect(Collectors.toList()));
+			};
+		}
+		
+		
+		@Test
+		@DisplayName("serves first page with next cursor only")
+		void testFirstPage() throws ServiceException {
+			PageData<Integer> pageData = paginator.getPageData(Keyset.first(Keyset.Order.ID), source);
+			
+			assertIterableEquals(entries.subList(0, 10), pageData.getPageContent());
+			assertNull(pageData.getPrevCursor());
+			assertEquals("id>10", pageData.getNextCursor());
+		}
+		
+		
+		@Test
+		@DisplayName("serves page after cursor with both cursors")
+		void testPageAfter() throws ServiceException {
+			PageData<Integer> pageData = paginator.getPageData(Keyset.after(10), source);
+			
+			assertIterableEquals(entries.subList(10, 20), pageData.getPageContent());
+			assertEquals("id<11", pageData.getPrevCursor());
+			assertEquals("id>20", pageData.getNextCursor());
+		}
+		
+		
+		@Test
+		@DisplayName("serves last page without next cursor")
+		void testLastPage() throws ServiceException {
+			PageData<Integer> pageData = paginator.getPageData(Keyset.after(20), source);
+			
+			assertIterableEquals(entries.subList(20, 25), pageData.getPageContent());
+			assertNull(pageData.getNextCursor());
+		}
+		
+		
+		@Test
+		@DisplayName("serves page before cursor in ascending order")
+		void testPageBefore() throws ServiceException {
+			PageData<Integer> pageData = paginator.getPageData(Keyset.before(11), source);
+			
+			assertIterableEquals(entries.subList(0, 10), pageData.getPageContent());
+			assertNull(pageData.getPrevCursor());
+			assertEquals("id>10", pageData.getNextCursor());
+		}
+		
+		
+		@Test
+		@DisplayName("falls back to first page if nothing found at cursor")
+		void testStaleCursor() throws ServiceException {
+			PageData<Integer> pageData = paginator.getPageData(Keyset.after(100), source);
+			
+			assertIterableEquals(entries.subList(0, 10), pageData.getPageContent());
+		}
+		
+		
+		@Test
+		@DisplayName("hides page numbers in keyset mode")
+		void testNoPageCount() throws ServiceException {
+			assertEquals(0, paginator.getPageData(Keyset.after(5), source).getPageCount());
+		}
+		
+		
+		@Test
+		@DisplayName("adds cursors to offset pages")
+		void testOffsetPageCursors() throws ServiceException {
+			PageData<Integer> pageData = paginator.getPageData(2, pageable -> new PageImpl<>(
+					entries.subList(10, 20), pageable, entries.size()));
+			
+			assertEquals("id<11", pageData.getPrevCursor());
+			assertEquals("id>20", pageData.getNextCursor());
+		}
+	}
+	
+	
 	
 	@Nested
 	@DisplayName("Cache validation")
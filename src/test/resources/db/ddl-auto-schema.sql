@@ -0,0 +1,15 @@
+-- Schema as generated by ddl-auto=update before Flyway took over, with the
+-- foreign key names Hibernate derives from table and column names.
+create table courses (course_id  serial not null, description varchar(255), subject varchar(255) not null, primary key (course_id));
+create table lecture_student (lecture_id int4 not null, student_id int4 not null, primary key (lecture_id, student_id));
+create table lectures (lecture_id  serial not null, date timestamp not null, course_id int4 not null, teacher_id int4 not null, primary key (lecture_id));
+create table members (member_id  serial not null, first_name varchar(255) not null, last_name varchar(255) not null, type_id int4 not null, primary key (member_id));
+alter table if exists lecture_student add constraint FKp27ktaid7j2e0kolsf11m6dh4 foreign key (lecture_id) references lectures;
+alter table if exists lecture_student add constraint FKoe8g4dvkki0v88hvrtpq07eh foreign key (student_id) references members;
+alter table if exists lectures add constraint FKsj4m8ipr4qnehoyxk7kbu3ide foreign key (course_id) references courses;
+alter table if exists lectures add constraint FKa9f4b0t0naxw3tjc7dkqjbmgb foreign key (teacher_id) references members;
+
+insert into courses (subject, description) values ('Glass blowing', 'Molten glass');
+insert into members (first_name, last_name, type_id) values ('Marla', 'Singer', 1), ('Ralph', 'Cifaretto', 2);
+insert into lectures (date, course_id, teacher_id) values ('2001-07-03 09:00', 1, 1), ('2001-08-31 23:00', 1, 1);
+insert into lecture_student (lecture_id, student_id) values (1, 2), (2, 2);